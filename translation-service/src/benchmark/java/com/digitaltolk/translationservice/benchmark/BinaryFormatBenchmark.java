@@ -0,0 +1,123 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.config.BinaryFormatsConfig;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.observation.ObservationRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON, CBOR and Smile for the translation list payload: encoded and gzipped size, and serialization
+ * and deserialization throughput. The data mirrors {@code createSeedTranslations()} and the mappers are built
+ * the way the application builds them, so the numbers match what {@code GET /api/translations} sends.
+ * <p>
+ * Usage: {@code ./gradlew binaryFormatBenchmark [-Ptranslations=100000] [-Piterations=20]}
+ */
+public class BinaryFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args[0]);
+        int translations = Integer.parseInt(System.getProperty("translations", "100000"));
+        int iterations = Integer.parseInt(System.getProperty("iterations", "20"));
+
+        List<TranslationDto> payload = seed(translations);
+        BinaryFormatsConfig config = new BinaryFormatsConfig();
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", builder().build());
+        ObjectProvider<ObservationRegistry> noObservations = new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class);
+        mappers.put("cbor", config.cborHttpMessageConverter(builder(), noObservations).getObjectMapper());
+        mappers.put("smile", config.smileHttpMessageConverter(builder(), noObservations).getObjectMapper());
+
+        List<String> lines = new ArrayList<>();
+        lines.add("translations: " + translations + ", iterations: " + iterations);
+        lines.add(String.format("%-6s %12s %12s %14s %14s %14s", "format", "bytes", "gzip bytes",
+                "write ms p50", "read ms p50", "write MB/s"));
+
+        long jsonBytes = 0;
+        for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+            ObjectWriter writer = entry.getValue().writerFor(TranslationDto[].class);
+            ObjectReader reader = entry.getValue().readerFor(TranslationDto[].class);
+            TranslationDto[] array = payload.toArray(TranslationDto[]::new);
+
+            byte[] encoded = writer.writeValueAsBytes(array);
+            TranslationDto[] decoded = reader.readValue(encoded);
+            if (!Arrays.asList(decoded).equals(payload)) {
+                throw new IllegalStateException(entry.getKey() + " does not round-trip the payload");
+            }
+            if (entry.getKey().equals("json")) {
+                jsonBytes = encoded.length;
+            }
+
+            long[] writes = new long[iterations];
+            long[] reads = new long[iterations];
+            for (int i = -WARMUP_ITERATIONS; i < iterations; i++) {
+                long start = System.nanoTime();
+                byte[] bytes = writer.writeValueAsBytes(array);
+                long written = System.nanoTime();
+                reader.readValue(bytes);
+                long read = System.nanoTime();
+                if (i >= 0) {
+                    writes[i] = written - start;
+                    reads[i] = read - written;
+                }
+            }
+            Arrays.sort(writes);
+            Arrays.sort(reads);
+
+            long writeNanos = writes[iterations / 2];
+            lines.add(String.format("%-6s %12d %12d %14.1f %14.1f %14.1f", entry.getKey(), encoded.length, gzip(encoded),
+                    writeNanos / 1e6, reads[iterations / 2] / 1e6,
+                    encoded.length / (1024.0 * 1024.0) / (writeNanos / 1e9)));
+            lines.add(String.format("%-6s size vs json: %.2f", "", (double) encoded.length / jsonBytes));
+        }
+        lines.add("");
+
+        String result = String.join("\n", lines);
+        System.out.print(result);
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, result);
+    }
+
+    /**
+     * Same settings Spring Boot applies to its builder with this application's configuration.
+     */
+    private static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static List<TranslationDto> seed(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TranslationDto> translations = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Set<String> tags = new HashSet<>();
+            tags.add("tag" + (i % 10));
+            tags.add("tag" + (i % 20));
+            translations.add(new TranslationDto(new ObjectId().toHexString(), "default", "key_" + i,
+                    "Sample content for translation " + i, i % 2 == 0 ? "en" : "fr", tags, now, now));
+        }
+        return translations;
+    }
+
+    private static long gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,137 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.export.*;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Streams a synthetic catalog through every {@link ExportFormat} into a discarding stream and reports throughput,
+ * output size and the peak heap seen while exporting. The catalog is generated as the store cursor is read, so the
+ * peak heap is what the export itself holds; the task runs with a small heap to make growth fail loudly. Android,
+ * the only format that checks names across keys, also runs with snake_case keys.
+ * <p>
+ * Usage: {@code ./gradlew exportBenchmark [-Pkeys=1000000] [-Plocales=2]}
+ */
+public class ExportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args[0]);
+        int keys = Integer.parseInt(System.getProperty("keys", "1000000"));
+        int locales = Integer.parseInt(System.getProperty("locales", "2"));
+
+        List<String> localeCodes = IntStream.range(0, locales).mapToObj(l -> l == 0 ? "en" : "l" + l).toList();
+        List<String> targets = localeCodes.size() > 1 ? localeCodes.subList(1, localeCodes.size()) : localeCodes;
+
+        List<String> lines = new ArrayList<>();
+        lines.add("%d keys, exporting %s with source en, max heap %d MB".formatted(keys, targets,
+                Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        lines.add("");
+        lines.add("%-10s %-12s %12s %12s %12s %14s".formatted("format", "keys", "seconds", "output MB", "MB/s",
+                "peak heap MB"));
+        List<Run> runs = new ArrayList<>();
+        for (String format : List.of("xliff12", "xliff20", "po", "android", "strings")) {
+            runs.add(new Run(format, "dotted", "app.screen%d.label%07d"));
+        }
+        runs.add(new Run("android", "snake_case", "app_screen%d_label%07d"));
+        for (Run run : runs) {
+            TranslationExportService service = exportService(generatedStore(keys, run.keyFormat()));
+            HeapSampler sampler = new HeapSampler();
+            CountingSink sink = new CountingSink();
+            System.gc();
+            sampler.start();
+            long start = System.nanoTime();
+            service.write(service.prepare(run.format(), targets, "en"), sink);
+            double seconds = (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+            long peak = sampler.stop();
+            double megabytes = sink.bytes / (1024.0 * 1024);
+            lines.add("%-10s %-12s %12.2f %12.1f %12.1f %14.1f".formatted(run.format(), run.keys(), seconds,
+                    megabytes, megabytes / seconds, peak / (1024.0 * 1024)));
+        }
+
+        String result = String.join("\n", lines) + "\n";
+        System.out.print(result);
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, result);
+    }
+
+    private static TranslationExportService exportService(TranslationStore store) {
+        return new TranslationExportService(store, new LocaleFallbackProperties(), List.of(
+                new Xliff12Format(), new Xliff20Format(), new GettextFormat(), new AndroidStringsFormat(), new AppleStringsFormat()));
+    }
+
+    /**
+     * A store whose only query generates every locale of every key in key order, like a cursor.
+     */
+    private static TranslationStore generatedStore(int keys, String keyFormat) {
+        return (TranslationStore) Proxy.newProxyInstance(TranslationStore.class.getClassLoader(),
+                new Class<?>[]{TranslationStore.class}, (proxy, method, methodArgs) -> {
+                    if (!method.getName().equals("streamByLocales")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String project = (String) methodArgs[0];
+                    List<String> wanted = ((Collection<?>) methodArgs[1]).stream().map(String::valueOf).sorted().toList();
+                    return IntStream.range(0, keys).boxed().flatMap(k -> wanted.stream().map(locale -> Translation.builder()
+                            .projectId(project)
+                            .key(keyFormat.formatted(k % 50, k))
+                            .locale(locale)
+                            .content("Label %d in %s with \"quotes\", <markup> & an apostrophe's worth".formatted(k, locale))
+                            .build()));
+                });
+    }
+
+    private record Run(String format, String keys, String keyFormat) {
+    }
+
+    private static final class CountingSink extends OutputStream {
+
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            bytes += len;
+        }
+    }
+
+    private static final class HeapSampler {
+
+        private volatile boolean running = true;
+        private long peak;
+        private Thread thread;
+
+        void start() {
+            thread = Thread.ofPlatform().daemon().start(() -> {
+                Runtime runtime = Runtime.getRuntime();
+                while (running) {
+                    peak = Math.max(peak, runtime.totalMemory() - runtime.freeMemory());
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        long stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            return peak;
+        }
+    }
+}
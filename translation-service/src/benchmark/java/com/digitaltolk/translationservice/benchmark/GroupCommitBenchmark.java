@@ -0,0 +1,125 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.service.GroupCommitWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares one {@code save} per create with {@link GroupCommitWriter} at several batch windows, using
+ * concurrent producers against a real MongoDB. Reports throughput and per-create latency for each setting.
+ * <p>
+ * Usage: {@code ./gradlew groupCommitBenchmark [-PmongoUri=...] [-Pproducers=64] [-Pseconds=10]
+ * [-Pdelays=1,2,5] [-PbatchSizes=64,256]}
+ */
+public class GroupCommitBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args[0]);
+        String uri = System.getProperty("mongoUri", "mongodb://localhost:27017/translation_benchmark");
+        int producers = Integer.parseInt(System.getProperty("producers", "64"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("seconds", "10")));
+
+        SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(uri);
+        MongoTemplate mongoTemplate = new MongoTemplate(factory);
+
+        List<String> lines = new ArrayList<>();
+        lines.add("%-24s %12s %10s %10s %10s".formatted("mode", "creates/s", "p50 ms", "p99 ms", "max ms"));
+
+        lines.add(run("direct save", producers, duration, mongoTemplate, mongoTemplate::save));
+
+        for (String delay : System.getProperty("delays", "1,2,5").split(",")) {
+            for (String size : System.getProperty("batchSizes", "64,256").split(",")) {
+                GroupCommitProperties properties = new GroupCommitProperties();
+                properties.setEnabled(true);
+                properties.setMaxDelay(Duration.ofMillis(Long.parseLong(delay.trim())));
+                properties.setMaxBatchSize(Integer.parseInt(size.trim()));
+                properties.setMaxPending(Integer.MAX_VALUE);
+
+                GroupCommitWriter writer = new GroupCommitWriter(mongoTemplate, event -> {
+                }, properties, new SimpleMeterRegistry());
+                writer.start();
+                try {
+                    lines.add(run("group %sms/%s".formatted(delay.trim(), size.trim()), producers, duration,
+                            mongoTemplate, writer::write));
+                } finally {
+                    writer.stop();
+                }
+            }
+        }
+
+        factory.destroy();
+        String result = String.join("\n", lines) + "\n";
+        System.out.print(result);
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, result);
+    }
+
+    private static String run(String mode, int producers, Duration duration, MongoTemplate mongoTemplate,
+                              Consumer<Translation> create) throws Exception {
+        mongoTemplate.dropCollection(Translation.class);
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                results.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        Translation translation = new Translation();
+                        translation.setKey("key_" + producer + "_" + count);
+                        translation.setLocale("en");
+                        translation.setContent("Benchmark content " + count);
+                        translation.setTags(Set.of("benchmark"));
+                        translation.setCreatedAt(LocalDateTime.now());
+                        translation.setUpdatedAt(LocalDateTime.now());
+
+                        long start = System.nanoTime();
+                        create.accept(translation);
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = results.stream().map(GroupCommitBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        double throughput = all.length / (double) duration.toSeconds();
+        return "%-24s %12.0f %10.2f %10.2f %10.2f".formatted(mode, throughput,
+                millis(all, 0.5), millis(all, 0.99), millis(all, 1.0));
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.min(sorted.length - 1, (int) (sorted.length * quantile));
+        return sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,334 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.TranslationServiceApplication;
+import com.digitaltolk.translationservice.migration.IndexMigration;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.service.TranslationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test: starts the application against a local or embedded mongod, seeds it through
+ * {@link TranslationService#createSeedTranslations()} and replays a fixed, seeded sequence of requests from
+ * {@code concurrency} closed-loop clients. Latencies are recorded per operation in HdrHistograms and checked
+ * against the objectives in {@code load-test.properties}; the process exits non-zero when one is missed.
+ * <p>
+ * Usage: {@code ./gradlew loadTest [-PloadTest.requests=50000] [-PloadTest.mongoUri=mongodb://localhost/lt]}
+ * <p>
+ * Closed-loop clients wait for each response before sending the next request, so under overload the
+ * percentiles understate what an open arrival stream would see.
+ */
+public class LoadTest {
+
+    enum Operation {
+        GET_BY_ID("getById"),
+        GET_BY_LOCALE("getByLocale"),
+        SEARCH("search"),
+        CREATE("create"),
+        UPDATE("update"),
+        EXPORT("export");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final String[] LOCALES = {"en", "fr"};
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Properties config;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    private String baseUrl;
+    private String token;
+    private List<String> ids;
+
+    LoadTest(Properties config) {
+        this.config = config;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path reportDir = Path.of(args[0]);
+        Properties config = new Properties();
+        try (InputStream defaults = LoadTest.class.getResourceAsStream("/load-test.properties")) {
+            config.load(defaults);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> config.containsKey(name) || name.startsWith("mix.") || name.startsWith("slo."))
+                .forEach(name -> config.setProperty(name, System.getProperty(name)));
+
+        String mongoUri = config.getProperty("mongoUri", "").trim();
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+        if (mongoUri.isEmpty()) {
+            mongod = Mongod.instance().start(Version.Main.V7_0);
+            mongoUri = "mongodb://" + mongod.current().getServerAddress() + "/translation_load_test";
+        }
+
+        List<String> violations;
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(TranslationServiceApplication.class).run(
+                    "--server.port=0",
+                    "--spring.data.mongodb.uri=" + mongoUri,
+                    "--translation.admission.enabled=false",
+                    "--logging.level.root=WARN");
+
+            LoadTest loadTest = new LoadTest(config);
+            loadTest.prepare(context);
+            violations = loadTest.run(reportDir);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.err.println("SLO violated: " + violation));
+            System.exit(1);
+        }
+    }
+
+    private void prepare(ConfigurableApplicationContext context) throws Exception {
+        MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        mongoTemplate.getDb().drop();
+        context.getBean(IndexMigration.class).migrate();
+
+        long start = System.nanoTime();
+        context.getBean(TranslationService.class).createSeedTranslations();
+        System.out.printf("seeded in %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        Query sample = new Query().limit(2_000);
+        sample.fields().include("_id");
+        ids = mongoTemplate.find(sample, Translation.class).stream().map(Translation::getId).toList();
+
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        String credentials = objectMapper.writeValueAsString(Map.of("username", "load-test", "password", "load-test"));
+        send(post("/auth/register", credentials));
+        HttpResponse<String> login = send(post("/auth/login", credentials));
+        token = objectMapper.readTree(login.body()).path("token").asText();
+        if (token.isEmpty()) {
+            throw new IllegalStateException("Login failed: " + login.statusCode() + " " + login.body());
+        }
+    }
+
+    private List<String> run(Path reportDir) throws Exception {
+        long seed = Long.parseLong(config.getProperty("seed"));
+        int concurrency = Integer.parseInt(config.getProperty("concurrency"));
+        int warmup = Integer.parseInt(config.getProperty("warmupRequests"));
+        int requests = Integer.parseInt(config.getProperty("requests"));
+
+        Operation[] schedule = schedule(new Random(seed), warmup + requests);
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                executor.submit(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < schedule.length) {
+                        execute(schedule[index], new Random(seed + index), index >= warmup);
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        return report(reportDir, requests, seconds);
+    }
+
+    private void execute(Operation operation, Random random, boolean measured) {
+        HttpRequest request = request(operation, random);
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            status = -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        if (measured) {
+            histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (status != 304 && (status < 200 || status >= 300)) {
+                errors.get(operation).incrementAndGet();
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation, Random random) {
+        String id = ids.get(random.nextInt(ids.size()));
+        String locale = LOCALES[random.nextInt(LOCALES.length)];
+        return switch (operation) {
+            case GET_BY_ID -> get("/api/translations/" + id);
+            case GET_BY_LOCALE -> get("/api/translations/locale/" + locale);
+            case SEARCH -> switch (random.nextInt(3)) {
+                case 0 -> get("/api/translations/search/key?key=" + encode("key_" + (1 + random.nextInt(100_000))));
+                case 1 -> get("/api/translations/search/tags?tags=tag" + random.nextInt(20));
+                default -> get("/api/translations/search/content?content=" + encode("translation " + random.nextInt(100_000)));
+            };
+            case CREATE -> post("/api/translations", body("load_" + random.nextLong(), locale, random));
+            case UPDATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/translations/" + id))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body("key_" + random.nextInt(100_000), locale, random)))
+                    .build();
+            case EXPORT -> get(random.nextBoolean() ? "/api/translations/export/json" : "/api/translations/export/csv");
+        };
+    }
+
+    private String body(String key, String locale, Random random) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "key", key,
+                    "locale", locale,
+                    "content", "Load test content " + random.nextInt(),
+                    "tags", List.of("tag" + random.nextInt(20))));
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private List<String> report(Path reportDir, int requests, double seconds) throws IOException {
+        Files.createDirectories(reportDir);
+        double errorRateObjective = Double.parseDouble(config.getProperty("slo.errorRate", "1"));
+        List<String> violations = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        lines.add("%-12s %8s %7s %9s %9s %9s %9s".formatted("operation", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+
+        long totalErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long failed = errors.get(operation).get();
+            totalErrors += failed;
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+
+            double p50 = millis(histogram, 50);
+            double p99 = millis(histogram, 99);
+            double p999 = millis(histogram, 99.9);
+            lines.add("%-12s %8d %7d %9.2f %9.2f %9.2f %9.2f".formatted(operation.key, histogram.getTotalCount(), failed,
+                    p50, p99, p999, histogram.getMaxValue() / 1000.0));
+
+            check(operation, "p99", p99, violations);
+            check(operation, "p999", p999, violations);
+
+            try (PrintStream out = new PrintStream(reportDir.resolve(operation.key + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        double errorRate = (double) totalErrors / requests;
+        lines.add("");
+        lines.add("throughput: %.0f requests/s, error rate: %.4f".formatted(requests / seconds, errorRate));
+        if (errorRate > errorRateObjective) {
+            violations.add("error rate %.4f > %.4f".formatted(errorRate, errorRateObjective));
+        }
+        violations.forEach(violation -> lines.add("VIOLATION: " + violation));
+
+        String summary = String.join("\n", lines) + "\n";
+        System.out.print(summary);
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+        return violations;
+    }
+
+    private void check(Operation operation, String percentile, double measured, List<String> violations) {
+        String objective = config.getProperty("slo." + operation.key + "." + percentile);
+        if (objective != null && measured > Double.parseDouble(objective)) {
+            violations.add("%s %s %.2f ms > %s ms".formatted(operation.key, percentile, measured, objective));
+        }
+    }
+
+    private Operation[] schedule(Random random, int length) {
+        List<Operation> weighted = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(config.getProperty("mix." + operation.key, "0").trim());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix is empty");
+        }
+        Operation[] schedule = new Operation[length];
+        for (int i = 0; i < length; i++) {
+            schedule[i] = weighted.get(random.nextInt(weighted.size()));
+        }
+        return schedule;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,142 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.similarity.MinHashLshIndex;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a {@link MinHashLshIndex} over synthetic translation strings and reports its memory footprint,
+ * build time, query latency and recall@10 against a brute-force exact Jaccard scan.
+ * <p>
+ * Usage: {@code ./gradlew similarityBenchmark [-Pentries=1000000] [-Pqueries=200] [-PrecallQueries=20]}
+ */
+public class SimilarityIndexBenchmark {
+
+    private static final String[] LOCALES = {"en", "fr", "de", "es"};
+    private static final int TOP = 10;
+    private static final double MIN_SCORE = 0.3;
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args[0]);
+        int entries = Integer.parseInt(System.getProperty("entries", "1000000"));
+        int queries = Integer.parseInt(System.getProperty("queries", "200"));
+        int recallQueries = Integer.parseInt(System.getProperty("recallQueries", "20"));
+
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 5000);
+        String[] texts = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            // Every fifth entry is a light edit of an earlier one, as real catalogs repeat phrasing.
+            texts[i] = i > 0 && i % 5 == 0 ? mutate(texts[random.nextInt(i)], vocabulary, random) : sentence(vocabulary, random);
+        }
+
+        MinHashLshIndex index = new MinHashLshIndex(8, 4, 3, 2000);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < entries; i++) {
+            index.put(Integer.toString(i), LOCALES[i % LOCALES.length], texts[i]);
+        }
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long heapDelta = usedHeap() - heapBefore;
+
+        long[] latencies = new long[queries];
+        double recallSum = 0;
+        int recalled = 0;
+        for (int q = 0; q < queries; q++) {
+            int source = random.nextInt(entries);
+            String locale = LOCALES[source % LOCALES.length];
+            String text = mutate(texts[source], vocabulary, random);
+            int[] shingles = index.shingles(text);
+
+            long queryStart = System.nanoTime();
+            List<String> approximate = rerank(index, shingles, texts,
+                    index.candidates(text, locale, TOP * 4).stream().map(MinHashLshIndex.Candidate::id).toList());
+            latencies[q] = System.nanoTime() - queryStart;
+
+            // The exact scan is expensive, so recall is measured on the first queries only.
+            if (q < recallQueries) {
+                List<String> exact = bruteForce(index, shingles, texts, locale);
+                if (!exact.isEmpty()) {
+                    recallSum += (double) approximate.stream().filter(exact::contains).count() / exact.size();
+                    recalled++;
+                }
+            }
+        }
+        Arrays.sort(latencies);
+
+        String result = String.join("\n",
+                "entries:          " + entries,
+                "build time:       " + buildMillis + " ms",
+                "heap delta:       " + heapDelta / (1024 * 1024) + " MB (texts excluded)",
+                "index estimate:   " + index.estimatedBytes() / (1024 * 1024) + " MB",
+                "query p50:        " + micros(latencies[latencies.length / 2]) + " us",
+                "query p99:        " + micros(latencies[(int) (latencies.length * 0.99)]) + " us",
+                "recall@" + TOP + ":        " + String.format("%.3f", recalled == 0 ? 1.0 : recallSum / recalled),
+                "");
+        System.out.print(result);
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, result);
+    }
+
+    private static List<String> rerank(MinHashLshIndex index, int[] query, String[] texts, List<String> ids) {
+        return ids.stream()
+                .map(id -> Map.entry(id, MinHashLshIndex.jaccard(query, index.shingles(texts[Integer.parseInt(id)]))))
+                .filter(entry -> entry.getValue() >= MIN_SCORE)
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(TOP)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> bruteForce(MinHashLshIndex index, int[] query, String[] texts, String locale) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < texts.length; i++) {
+            if (LOCALES[i % LOCALES.length].equals(locale)) {
+                ids.add(Integer.toString(i));
+            }
+        }
+        return rerank(index, query, texts, ids);
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            char[] word = new char[3 + random.nextInt(7)];
+            for (int c = 0; c < word.length; c++) {
+                word[c] = (char) ('a' + random.nextInt(26));
+            }
+            words[i] = new String(word);
+        }
+        return words;
+    }
+
+    private static String sentence(String[] vocabulary, Random random) {
+        StringJoiner sentence = new StringJoiner(" ");
+        for (int i = 4 + random.nextInt(10); i > 0; i--) {
+            sentence.add(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static String mutate(String text, String[] vocabulary, Random random) {
+        String[] words = text.split(" ");
+        words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+        return String.join(" ", words);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
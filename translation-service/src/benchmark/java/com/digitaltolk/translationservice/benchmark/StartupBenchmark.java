@@ -0,0 +1,123 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the boot jar several times and measures, from process launch, the time until the first HTTP
+ * response and until the readiness probe reports UP (caches warm). Results are appended to a CSV file so
+ * runs with different JVM options (AOT, CDS archive) can be compared over time.
+ * <p>
+ * Usage: {@code ./gradlew startupBenchmark [-Piterations=5] [-PbenchmarkJvmArgs="-Dspring.aot.enabled=true"]}
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path report = Path.of(args[1]);
+        int iterations = Integer.parseInt(System.getProperty("iterations", "5"));
+        String jvmArgs = System.getProperty("jvmArgs", "").trim();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        List<Long> firstResponses = new ArrayList<>();
+        List<Long> readiness = new ArrayList<>();
+
+        for (int i = 1; i <= iterations; i++) {
+            long[] result = measure(client, jar, jvmArgs);
+            firstResponses.add(result[0]);
+            readiness.add(result[1]);
+            System.out.printf("run %d: first response %d ms, ready %d ms%n", i, result[0], result[1]);
+            append(report, "%s,\"%s\",%d,%d,%d".formatted(Instant.now(), jvmArgs, i, result[0], result[1]));
+        }
+
+        System.out.printf("first response: median %d ms, min %d ms, max %d ms%n",
+                median(firstResponses), Collections.min(firstResponses), Collections.max(firstResponses));
+        System.out.printf("ready:          median %d ms, min %d ms, max %d ms%n",
+                median(readiness), Collections.min(readiness), Collections.max(readiness));
+    }
+
+    private static long[] measure(HttpClient client, Path jar, String jvmArgs) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (!jvmArgs.isEmpty()) {
+            command.addAll(Arrays.asList(jvmArgs.split("\\s+")));
+        }
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port));
+
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            long firstResponse = -1;
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with code " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(probe, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (firstResponse < 0) {
+                        firstResponse = elapsed;
+                    }
+                    if (response.statusCode() == 200) {
+                        return new long[]{firstResponse, elapsed};
+                    }
+                } catch (ConnectException ex) {
+                    // Not listening yet.
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new IllegalStateException("Application not ready within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static void append(Path report, String line) throws IOException {
+        Files.createDirectories(report.getParent());
+        if (Files.notExists(report)) {
+            Files.writeString(report, "timestamp,jvm_args,run,first_response_ms,ready_ms\n");
+        }
+        Files.writeString(report, line + "\n", StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,216 @@
+package com.digitaltolk.translationservice.benchmark;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.migration.KeyLayoutMigration;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.repository.TranslationRepository;
+import com.digitaltolk.translationservice.store.DocumentPerKeyStore;
+import com.digitaltolk.translationservice.store.DocumentPerLocaleStore;
+import com.digitaltolk.translationservice.store.LogStructuredStore;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compares the {@link TranslationStore} implementations on the same catalog: the {@code document-per-locale} and
+ * {@code document-per-key} MongoDB layouts and the embedded log-structured store. Reports size on disk, and latency
+ * of id lookups, bundle lookups (three-locale chain, 50 keys), one locale's export and the whole project's export.
+ * The per-key collection is built with {@link KeyLayoutMigration}, which is timed too. With {@code -PmongoUri=none}
+ * only the embedded store runs.
+ * <p>
+ * Usage: {@code ./gradlew storageLayoutBenchmark [-PmongoUri=...] [-Pkeys=20000] [-Plocales=20] [-Piterations=500]}
+ */
+public class StorageLayoutBenchmark {
+
+    private static final String PROJECT = "benchmark";
+
+    public static void main(String[] args) throws Exception {
+        Path report = Path.of(args[0]);
+        String uri = System.getProperty("mongoUri", "mongodb://localhost:27017/translation_benchmark");
+        int keys = Integer.parseInt(System.getProperty("keys", "20000"));
+        int locales = Integer.parseInt(System.getProperty("locales", "20"));
+        int iterations = Integer.parseInt(System.getProperty("iterations", "500"));
+
+        List<String> localeCodes = new ArrayList<>();
+        for (int l = 0; l < locales; l++) {
+            localeCodes.add(l == 0 ? "en" : "l" + l);
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("%d keys x %d locales".formatted(keys, locales));
+        lines.add("");
+        lines.add("%-12s %10s %12s %12s %12s".formatted("store", "documents", "data MB", "storage MB", "index MB"));
+        Map<String, TranslationStore> stores = new LinkedHashMap<>();
+        Map<String, List<String>> ids = new HashMap<>();
+
+        SimpleMongoClientDatabaseFactory factory = null;
+        if (!"none".equals(uri)) {
+            factory = new SimpleMongoClientDatabaseFactory(uri);
+            MongoTemplate mongoTemplate = new MongoTemplate(factory);
+            mongoTemplate.dropCollection(Translation.class);
+            mongoTemplate.dropCollection(TranslationKey.class);
+            createIndexes(mongoTemplate);
+
+            List<String> mongoIds = populate(keys, localeCodes, batch -> mongoTemplate.insertAll(batch).stream()
+                    .map(Translation::getId).toList());
+            long start = System.nanoTime();
+            new KeyLayoutMigration(mongoTemplate, new StorageProperties()).migrate();
+            long migrationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            TranslationRepository repository = new MongoRepositoryFactory(mongoTemplate).getRepository(TranslationRepository.class);
+            stores.put("per-locale", new DocumentPerLocaleStore(repository, mongoTemplate));
+            stores.put("per-key", new DocumentPerKeyStore(mongoTemplate, new GroupCommitProperties()));
+            ids.put("per-locale", mongoIds);
+            ids.put("per-key", mongoIds);
+            lines.add(collectionStats(mongoTemplate, "translations", "per-locale"));
+            lines.add(collectionStats(mongoTemplate, "translation_keys", "per-key"));
+            lines.set(0, lines.get(0) + "; migration to per-key took %d ms".formatted(migrationMillis));
+        }
+
+        Path directory = Files.createTempDirectory("translation-store-benchmark");
+        StorageProperties properties = new StorageProperties();
+        properties.getEmbedded().setDirectory(directory);
+        properties.getEmbedded().setSyncWrites(false);
+        LogStructuredStore embedded = new LogStructuredStore(properties, new GroupCommitProperties(),
+                new Jackson2ObjectMapperBuilder(), new SimpleMeterRegistry());
+        ids.put("embedded", populate(keys, localeCodes, batch -> {
+            embedded.saveAll(batch);
+            return batch.stream().map(Translation::getId).toList();
+        }));
+        stores.put("embedded", embedded);
+        lines.add("%-12s %10d %12.1f %12s %12s".formatted("embedded", ids.get("embedded").size(),
+                megabytes(directorySize(directory)), "-", "in memory"));
+
+        lines.add("");
+        lines.add("%-12s %-20s %10s %10s %10s".formatted("store", "operation", "p50 ms", "p99 ms", "max ms"));
+        List<String> chain = localeCodes.subList(0, Math.min(3, localeCodes.size()));
+        for (Map.Entry<String, TranslationStore> entry : stores.entrySet()) {
+            Random random = new Random(42);
+            TranslationStore store = entry.getValue();
+            List<String> storeIds = ids.get(entry.getKey());
+            lines.add(measure(entry.getKey(), "findById", iterations,
+                    () -> store.findById(PROJECT, storeIds.get(random.nextInt(storeIds.size())))));
+            lines.add(measure(entry.getKey(), "bundle lookup", iterations,
+                    () -> store.findByLocalesAndKeys(PROJECT, chain, randomKeys(random, keys, 50))));
+            lines.add(measure(entry.getKey(), "locale export", Math.max(1, iterations / 50),
+                    () -> store.findByLocale(PROJECT, localeCodes.get(random.nextInt(localeCodes.size())))));
+            lines.add(measure(entry.getKey(), "project export", 3, () -> store.findByProject(PROJECT)));
+        }
+
+        embedded.close();
+        FileSystemUtils.deleteRecursively(directory);
+        if (factory != null) {
+            factory.destroy();
+        }
+        String result = String.join("\n", lines) + "\n";
+        System.out.print(result);
+        Files.createDirectories(report.getParent());
+        Files.writeString(report, result);
+    }
+
+    private static void createIndexes(MongoTemplate mongoTemplate) {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (Class<?> type : List.of(Translation.class, TranslationKey.class)) {
+            mappingContext.getPersistentEntity(type);
+            resolver.resolveIndexFor(TypeInformation.of(type)).forEach(mongoTemplate.indexOps(type)::createIndex);
+        }
+    }
+
+    /**
+     * Writes the catalog in batches through {@code insert}, which returns the ids of the batch.
+     */
+    private static List<String> populate(int keys, List<String> locales, Function<List<Translation>, List<String>> insert) {
+        List<String> ids = new ArrayList<>();
+        List<Translation> batch = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int k = 0; k < keys; k++) {
+            Set<String> tags = Set.of("screen" + (k % 50), "feature" + (k % 7));
+            for (String locale : locales) {
+                batch.add(Translation.builder()
+                        .projectId(PROJECT)
+                        .key("app.screen%d.label%d".formatted(k % 50, k))
+                        .locale(locale)
+                        .content("Benchmark text %d in %s, long enough to look like a real label".formatted(k, locale))
+                        .tags(tags)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .revision(1L)
+                        .build());
+            }
+            if (batch.size() >= 5000) {
+                ids.addAll(insert.apply(batch));
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            ids.addAll(insert.apply(batch));
+        }
+        return ids;
+    }
+
+    private static List<String> randomKeys(Random random, int keys, int count) {
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int k = random.nextInt(keys);
+            result.add("app.screen%d.label%d".formatted(k % 50, k));
+        }
+        return result;
+    }
+
+    private static String collectionStats(MongoTemplate mongoTemplate, String collection, String store) {
+        Document stats = mongoTemplate.getDb().runCommand(new Document("collStats", collection));
+        return "%-12s %10d %12.1f %12.1f %12.1f".formatted(store,
+                ((Number) stats.get("count")).longValue(), megabytes(stats.get("size")),
+                megabytes(stats.get("storageSize")), megabytes(stats.get("totalIndexSize")));
+    }
+
+    private static long directorySize(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static double megabytes(Object bytes) {
+        return ((Number) bytes).doubleValue() / (1024 * 1024);
+    }
+
+    private static String measure(String layout, String operation, int iterations, Supplier<?> call) {
+        for (int i = 0; i < Math.min(iterations, 20); i++) {
+            call.get();
+        }
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return "%-12s %-20s %10.2f %10.2f %10.2f".formatted(layout, operation,
+                millis(latencies, 0.5), millis(latencies, 0.99), millis(latencies, 1.0));
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = Math.min(sorted.length - 1, (int) (sorted.length * quantile));
+        return sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,116 @@
+package com.digitaltolk.translationservice.admission;
+
+import com.digitaltolk.translationservice.config.AdmissionControlProperties;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit with a bounded wait queue, adjusted with AIMD: every response under the target
+ * latency grows the limit by {@code 1/limit} (about one slot per round of requests) while the limiter
+ * is in use, and a slow response cuts it by {@link #BACKOFF_RATIO}, at most once per target-latency window.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome {
+        ACQUIRED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final long targetLatencyNanos;
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(AdmissionControlProperties.EndpointLimit properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.maxQueue = properties.getMaxQueue();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.targetLatencyNanos = properties.getTargetLatency().toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+        this.lastDecrease = System.nanoTime() - targetLatencyNanos;
+    }
+
+    public Outcome acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return Outcome.ACQUIRED;
+            }
+            if (waiting >= maxQueue) {
+                return Outcome.QUEUE_FULL;
+            }
+
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return Outcome.TIMED_OUT;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return Outcome.ACQUIRED;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= limit / 2;
+            inFlight--;
+
+            long now = System.nanoTime();
+            if (latencyNanos > targetLatencyNanos) {
+                if (now - lastDecrease >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastDecrease = now;
+                }
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
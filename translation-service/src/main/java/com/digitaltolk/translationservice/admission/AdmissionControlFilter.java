@@ -0,0 +1,215 @@
+package com.digitaltolk.translationservice.admission;
+
+import com.digitaltolk.translationservice.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load before it reaches the controllers: a per-user token bucket (429) followed by an adaptive
+ * concurrency limit per {@link EndpointClass} (503). Runs after {@code JwtAuthenticationFilter} so the
+ * JWT subject is known.
+ * <p>
+ * The latency a request reports to its limiter is the time until the response starts writing. A streamed export
+ * then runs at the client's pace, and a slow download says nothing about how loaded the service is.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlProperties properties;
+    private final UserRateLimiter userRateLimiter;
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.userRateLimiter = new UserRateLimiter(properties.getUserRate());
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limitsOf(endpointClass));
+            limiters.put(endpointClass, limiter);
+
+            String tag = tag(endpointClass);
+            Gauge.builder("translation.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("endpoint.class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("translation.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("endpoint.class", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        EndpointClass endpointClass = properties.isEnabled() ? EndpointClass.classify(request) : null;
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = userRateLimiter.tryConsume(caller(request), limitsOf(endpointClass).getTokenCost());
+        if (waitNanos > 0) {
+            reject(response, endpointClass, "rate_limited", HttpStatus.TOO_MANY_REQUESTS,
+                    TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        AdaptiveConcurrencyLimiter.Outcome outcome;
+        try {
+            outcome = limiter.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            outcome = AdaptiveConcurrencyLimiter.Outcome.TIMED_OUT;
+        }
+        if (outcome != AdaptiveConcurrencyLimiter.Outcome.ACQUIRED) {
+            reject(response, endpointClass, outcome.name().toLowerCase(Locale.ROOT), HttpStatus.SERVICE_UNAVAILABLE,
+                    Math.max(1, properties.getRetryAfter().toSeconds()));
+            return;
+        }
+
+        long start = System.nanoTime();
+        FirstByteTimingResponse timing = new FirstByteTimingResponse(response);
+        try {
+            filterChain.doFilter(request, timing);
+        } finally {
+            limiter.release(timing.firstByteOr(System.nanoTime()) - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass, String reason,
+                        HttpStatus status, long retryAfterSeconds) throws IOException {
+        meterRegistry.counter("translation.admission.shed", "endpoint.class", tag(endpointClass), "reason", reason)
+                .increment();
+        log.debug("Shedding {} request: {}", endpointClass, reason);
+
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"timestamp\":\"" + LocalDateTime.now()
+                + "\",\"status\":" + status.value()
+                + ",\"error\":\"" + status.getReasonPhrase() + "\"}");
+    }
+
+    private AdmissionControlProperties.EndpointLimit limitsOf(EndpointClass endpointClass) {
+        return endpointClass == EndpointClass.EXPENSIVE ? properties.getExpensive() : properties.getStandard();
+    }
+
+    private static String caller(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return authentication.getName();
+        }
+        return "anonymous:" + request.getRemoteAddr();
+    }
+
+    private static String tag(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Notes when the body starts being written or is first flushed.
+     */
+    private static final class FirstByteTimingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+        private boolean started;
+        private long firstByte;
+
+        FirstByteTimingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long firstByteOr(long now) {
+            return started ? firstByte : now;
+        }
+
+        void start() {
+            if (!started) {
+                started = true;
+                firstByte = System.nanoTime();
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new FirstByteTimingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            start();
+            super.flushBuffer();
+        }
+    }
+
+    private static final class FirstByteTimingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final FirstByteTimingResponse response;
+
+        FirstByteTimingOutputStream(ServletOutputStream delegate, FirstByteTimingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.start();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.start();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.start();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
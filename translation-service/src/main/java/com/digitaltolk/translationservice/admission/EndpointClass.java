@@ -0,0 +1,30 @@
+package com.digitaltolk.translationservice.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum EndpointClass {
+
+    EXPENSIVE,
+    STANDARD;
+
+    private static final String TRANSLATIONS = "/api/translations";
+
+    /**
+     * Returns null for requests that are not subject to admission control.
+     */
+    public static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+
+        String method = request.getMethod();
+        if ((("GET".equals(method) || "DELETE".equals(method)) && (path.equals(TRANSLATIONS) || path.equals(TRANSLATIONS + "/")))
+                || path.equals(TRANSLATIONS + "/export") || path.startsWith(TRANSLATIONS + "/export/")
+                || path.equals(TRANSLATIONS + "/search/content")
+                || path.equals(TRANSLATIONS + "/seed")) {
+            return EXPENSIVE;
+        }
+        return STANDARD;
+    }
+}
@@ -0,0 +1,34 @@
+package com.digitaltolk.translationservice.admission;
+
+/**
+ * Classic token bucket refilled continuously at {@code refillPerSecond}.
+ */
+class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Takes {@code cost} tokens if available and returns 0, otherwise returns the nanoseconds until they will be.
+     */
+    synchronized long tryConsume(double cost, long now) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) / refillPerNano);
+    }
+}
@@ -0,0 +1,32 @@
+package com.digitaltolk.translationservice.admission;
+
+import com.digitaltolk.translationservice.config.AdmissionControlProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-user token buckets; idle buckets expire so the map stays bounded.
+ */
+public class UserRateLimiter {
+
+    private final AdmissionControlProperties.UserRate properties;
+    private final Cache<String, TokenBucket> buckets;
+
+    public UserRateLimiter(AdmissionControlProperties.UserRate properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumUsers())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    /**
+     * Returns 0 if the request may proceed, otherwise the nanoseconds the caller should wait.
+     */
+    public long tryConsume(String user, int cost) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(user,
+                key -> new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond(), now));
+        return bucket.tryConsume(cost, now);
+    }
+}
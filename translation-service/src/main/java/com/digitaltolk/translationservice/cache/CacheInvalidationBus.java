@@ -0,0 +1,240 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.migration.IndexContributor;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propagates cache invalidations between nodes. Local writes are applied immediately and appended to a
+ * capped collection; every node follows that collection with a tailable cursor and applies the entries
+ * written by other nodes.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus implements SmartLifecycle, IndexContributor {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TranslationCacheProperties.Invalidation properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Timer lag;
+    private final Counter received;
+    private final Counter publishFailures;
+
+    private volatile boolean running;
+    private Thread follower;
+
+    public CacheInvalidationBus(MongoTemplate mongoTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                TranslationCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties.getInvalidation();
+        this.lag = Timer.builder("translation.cache.invalidation.lag")
+                .description("Time between a write on another node and its invalidation here")
+                .register(meterRegistry);
+        this.received = meterRegistry.counter("translation.cache.invalidation.received");
+        this.publishFailures = meterRegistry.counter("translation.cache.invalidation.publish.failures");
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        Set<String> projects = new HashSet<>();
+        Set<String> ids = new HashSet<>();
+        Set<String> locales = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (TranslationChange change : event.changes()) {
+            collect(change.previous(), projects, ids, locales, keys);
+            collect(change.current(), projects, ids, locales, keys);
+        }
+        broadcast(new CacheInvalidationEvent(projects, ids, locales, keys, false, false));
+    }
+
+    @EventListener
+    public void onCatalogChanged(TranslationCatalogChangedEvent event) {
+        broadcast(CacheInvalidationEvent.everything(false));
+    }
+
+    private void broadcast(CacheInvalidationEvent event) {
+        eventPublisher.publishEvent(event);
+
+        Document message = new Document("node", nodeId)
+                .append("projects", List.copyOf(event.projects()))
+                .append("ids", List.copyOf(event.ids()))
+                .append("locales", List.copyOf(event.locales()))
+                .append("keys", List.copyOf(event.keys()))
+                .append("all", event.all())
+                .append("at", new Date());
+        try {
+            mongoTemplate.getCollection(properties.getCollection()).insertOne(message);
+        } catch (RuntimeException ex) {
+            // The write itself is committed; other nodes will converge once their entries expire.
+            publishFailures.increment();
+            log.warn("Failed to publish cache invalidation: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        ensureCollection();
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        follower = Thread.ofPlatform()
+                .name("cache-invalidation-follower")
+                .daemon(true)
+                .start(this::follow);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (follower != null) {
+            follower.interrupt();
+            follower = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void follow() {
+        ObjectId position = null;
+        boolean positioned = false;
+
+        while (running) {
+            try {
+                MongoCollection<Document> collection = ensureCollection();
+                if (!positioned) {
+                    // Only entries written after this node started matter; its caches are empty before that.
+                    Document last = collection.find().sort(new Document("$natural", -1)).limit(1).first();
+                    position = last != null ? last.getObjectId("_id") : null;
+                    positioned = true;
+                }
+
+                try (MongoCursor<Document> cursor = collection
+                        .find(position == null ? new Document() : Filters.gt("_id", position))
+                        .cursorType(CursorType.TailableAwait)
+                        .maxAwaitTime(properties.getMaxAwaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .iterator()) {
+                    while (running) {
+                        Document message = cursor.tryNext();
+                        if (message == null) {
+                            if (cursor.getServerCursor() == null) {
+                                break;
+                            }
+                            continue;
+                        }
+                        position = message.getObjectId("_id");
+                        apply(message);
+                    }
+                }
+                // A tailable cursor on an empty collection is closed right away by the server.
+                pause(properties.getMaxAwaitTime());
+            } catch (RuntimeException ex) {
+                if (running) {
+                    log.warn("Cache invalidation follower failed, retrying in {}: {}",
+                            properties.getRetryBackoff(), ex.getMessage());
+                    pause(properties.getRetryBackoff());
+                }
+            }
+        }
+    }
+
+    private void apply(Document message) {
+        if (nodeId.equals(message.getString("node"))) {
+            return;
+        }
+
+        received.increment();
+        // Entries from nodes that predate projects carry no project list and are applied to all of them.
+        CacheInvalidationEvent event = Boolean.TRUE.equals(message.getBoolean("all")) || !message.containsKey("projects")
+                ? CacheInvalidationEvent.everything(true)
+                : new CacheInvalidationEvent(
+                        Set.copyOf(message.getList("projects", String.class, List.of())),
+                        Set.copyOf(message.getList("ids", String.class, List.of())),
+                        Set.copyOf(message.getList("locales", String.class, List.of())),
+                        Set.copyOf(message.getList("keys", String.class, List.of())),
+                        false,
+                        true);
+        eventPublisher.publishEvent(event);
+
+        Date at = message.getDate("at");
+        if (at != null) {
+            lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - at.getTime())));
+        }
+    }
+
+    private MongoCollection<Document> ensureCollection() {
+        String name = properties.getCollection();
+        if (!mongoTemplate.collectionExists(name)) {
+            try {
+                mongoTemplate.createCollection(name, CollectionOptions.empty()
+                        .capped()
+                        .size(properties.getCappedSizeBytes())
+                        .maxDocuments(properties.getCappedMaxDocuments()));
+            } catch (RuntimeException ex) {
+                // Another node created it concurrently.
+                log.debug("Capped collection {} not created: {}", name, ex.getMessage());
+            }
+        }
+        return mongoTemplate.getCollection(name);
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void collect(Translation translation, Set<String> projects, Set<String> ids,
+                                Set<String> locales, Set<String> keys) {
+        if (translation == null) {
+            return;
+        }
+        projects.add(ProjectContext.orDefault(translation.getProjectId()));
+        if (translation.getId() != null) {
+            ids.add(translation.getId());
+        }
+        if (translation.getLocale() != null) {
+            locales.add(translation.getLocale());
+        }
+        if (translation.getKey() != null) {
+            keys.add(translation.getKey());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import com.digitaltolk.translationservice.service.TranslationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the configured locales into the read caches after startup, starting from the local catalog snapshot when
+ * there is one. Part of the readiness group, so the instance only receives traffic once its caches are warm and
+ * caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheWarmer implements HealthIndicator {
+
+    private final TranslationService translationService;
+    private final LocaleBundleService localeBundleService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final TranslationCacheProperties properties;
+
+    private volatile boolean warm;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("cache-warm-up").start(this::warmUp);
+    }
+
+    @Override
+    public Health health() {
+        return warm
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "Caches are warming up").build();
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        boolean restored = false;
+        while (!warm) {
+            try {
+                if (!restored) {
+                    catalogSnapshotService.restore();
+                    restored = true;
+                }
+                for (String project : properties.getWarmUp().getProjects()) {
+                    ProjectContext.set(project);
+                    try {
+                        for (String locale : properties.getWarmUp().getLocales()) {
+                            translationService.getByLocale(locale);
+                            localeBundleService.getBundle(locale);
+                        }
+                    } finally {
+                        ProjectContext.clear();
+                    }
+                }
+                warm = true;
+                log.info("Caches warmed for {} of {} in {} ms", properties.getWarmUp().getLocales(),
+                        properties.getWarmUp().getProjects(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (RuntimeException ex) {
+                log.warn("Cache warm-up failed, retrying in {}: {}", properties.getWarmUp().getRetryBackoff(), ex.getMessage());
+                try {
+                    Thread.sleep(properties.getWarmUp().getRetryBackoff());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.TombstoneDto;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import com.digitaltolk.translationservice.service.TombstoneService;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Warm restarts: periodically writes the per-locale caches of all projects to a local snapshot file, and on
+ * startup memory-maps that file and loads it back, so a restarted instance does not send its first burst of reads
+ * to MongoDB. A snapshot only brings the caches to its watermark; {@link #restore()} then catches up with the
+ * translations updated, and the tombstones written, since then.
+ * <p>
+ * File layout (big-endian): magic, format version, watermark and creation time (epoch millis), CRC32 of the
+ * payload, database name, payload length, then the payload as Smile. A snapshot with another version, of another
+ * database, older than {@code maxAge} or with a bad checksum is ignored.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotService {
+
+    static final int MAGIC = 0x54534e50;
+    static final int FORMAT_VERSION = 1;
+    static final String FILE_NAME = "catalog-v" + FORMAT_VERSION + ".snapshot";
+
+    /**
+     * Cached translations by project and locale.
+     */
+    record Catalog(Map<String, Map<String, List<TranslationDto>>> projects) {
+    }
+
+    private final TranslationCache translationCache;
+    private final LocaleBundleService localeBundleService;
+    private final TombstoneService tombstoneService;
+    private final TranslationStore translationStore;
+    private final MongoTemplate mongoTemplate;
+    private final ModelMapperWrapper modelMapperWrapper;
+    private final TranslationCacheProperties properties;
+    private final ObjectMapper smile;
+    private final Timer writeTimer;
+    private final Timer restoreTimer;
+
+    private final List<CacheInvalidationEvent> missed = new ArrayList<>();
+    private boolean restoring;
+
+    public CatalogSnapshotService(TranslationCache translationCache,
+                                  LocaleBundleService localeBundleService,
+                                  TombstoneService tombstoneService,
+                                  TranslationStore translationStore,
+                                  MongoTemplate mongoTemplate,
+                                  ModelMapperWrapper modelMapperWrapper,
+                                  TranslationCacheProperties properties,
+                                  Jackson2ObjectMapperBuilder objectMapperBuilder,
+                                  MeterRegistry meterRegistry) {
+        this.translationCache = translationCache;
+        this.localeBundleService = localeBundleService;
+        this.tombstoneService = tombstoneService;
+        this.translationStore = translationStore;
+        this.mongoTemplate = mongoTemplate;
+        this.modelMapperWrapper = modelMapperWrapper;
+        this.properties = properties;
+        this.smile = objectMapperBuilder.factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        this.writeTimer = meterRegistry.timer("translation.cache.snapshot.write");
+        this.restoreTimer = meterRegistry.timer("translation.cache.snapshot.restore");
+    }
+
+    @Scheduled(initialDelayString = "${translation.cache.snapshot.interval:5m}",
+            fixedDelayString = "${translation.cache.snapshot.interval:5m}")
+    public void scheduledWrite() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return;
+        }
+        try {
+            writeTimer.recordCallable(this::write);
+        } catch (Exception ex) {
+            log.warn("Failed to write catalog snapshot: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns false if there was nothing to write.
+     */
+    boolean write() throws IOException {
+        LocalDateTime takenAt = LocalDateTime.now();
+        Map<String, Map<String, List<TranslationDto>>> entries = translationCache.localeEntries();
+        if (entries.isEmpty()) {
+            return false;
+        }
+
+        // Cached lists are kept current by invalidation, but a load that raced with a write can be older than it
+        // looks; the newest translation of each list bounds how old it can be.
+        LocalDateTime watermark = takenAt;
+        for (Map<String, List<TranslationDto>> locales : entries.values()) {
+            for (List<TranslationDto> translations : locales.values()) {
+                LocalDateTime newest = translations.stream()
+                        .map(TranslationDto::getUpdatedAt)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null);
+                if (newest != null && newest.isBefore(watermark)) {
+                    watermark = newest;
+                }
+            }
+        }
+
+        byte[] payload = smile.writeValueAsBytes(new Catalog(entries));
+        CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        byte[] source = source().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer header = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 2 + source.length + 4);
+        header.putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(toEpochMilli(watermark))
+                .putLong(toEpochMilli(takenAt))
+                .putLong(checksum.getValue())
+                .putShort((short) source.length)
+                .put(source)
+                .putInt(payload.length)
+                .flip();
+
+        Path directory = properties.getSnapshot().getDirectory();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, FILE_NAME, ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    channel.write(new ByteBuffer[]{header, body});
+                }
+                channel.force(true);
+            }
+            // Readers only ever see a complete file.
+            Files.move(temporary, directory.resolve(FILE_NAME), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        log.debug("Wrote catalog snapshot of {} bytes at watermark {}", payload.length, watermark);
+        return true;
+    }
+
+    /**
+     * Loads the snapshot into the caches and catches up to now. Returns false if there is no usable snapshot;
+     * throws if catching up fails, in which case the caches are left untouched.
+     */
+    public boolean restore() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return false;
+        }
+        Path file = properties.getSnapshot().getDirectory().resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        Catalog catalog;
+        LocalDateTime watermark;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.info("Ignoring catalog snapshot {} of another format", file);
+                return false;
+            }
+            watermark = fromEpochMilli(buffer.getLong());
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+            long expectedChecksum = buffer.getLong();
+            byte[] source = new byte[buffer.getShort()];
+            buffer.get(source);
+            int length = buffer.getInt();
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+
+            Duration age = Duration.between(takenAt, Instant.now());
+            if (age.compareTo(properties.getSnapshot().getMaxAge()) > 0
+                    || !source().equals(new String(source, StandardCharsets.UTF_8))) {
+                log.info("Ignoring catalog snapshot {} taken {} ago of database {}", file, age,
+                        new String(source, StandardCharsets.UTF_8));
+                return false;
+            }
+            CRC32 checksum = new CRC32();
+            checksum.update(payload.duplicate());
+            if (checksum.getValue() != expectedChecksum) {
+                log.warn("Ignoring corrupt catalog snapshot {}", file);
+                return false;
+            }
+            catalog = smile.readValue(new ByteBufferBackedInputStream(payload), Catalog.class);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", file, ex.getMessage());
+            return false;
+        }
+        long loaded = System.nanoTime();
+
+        synchronized (this) {
+            restoring = true;
+            missed.clear();
+        }
+        try {
+            int changes = catchUp(catalog, watermark.minus(properties.getSnapshot().getCatchUpOverlap()));
+            restoreTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Restored catalog snapshot of {} projects in {} ms ({} ms loading), {} changes since {} applied",
+                    catalog.projects().size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    TimeUnit.NANOSECONDS.toMillis(loaded - start), changes, watermark);
+            return true;
+        } finally {
+            List<CacheInvalidationEvent> replay;
+            synchronized (this) {
+                restoring = false;
+                replay = new ArrayList<>(missed);
+                missed.clear();
+            }
+            // Writes that landed while catching up may not be in what was just restored.
+            replay.forEach(event -> {
+                translationCache.onInvalidation(event);
+                localeBundleService.onInvalidation(event);
+            });
+        }
+    }
+
+    @EventListener
+    public synchronized void onInvalidation(CacheInvalidationEvent event) {
+        if (restoring) {
+            missed.add(event);
+        }
+    }
+
+    private int catchUp(Catalog catalog, LocalDateTime since) {
+        Map<String, Map<String, Map<String, TranslationDto>>> patched = new HashMap<>();
+        int changes = 0;
+        for (Map.Entry<String, Map<String, List<TranslationDto>>> project : catalog.projects().entrySet()) {
+            Map<String, Map<String, TranslationDto>> locales = new HashMap<>();
+            project.getValue().forEach((locale, translations) -> {
+                Map<String, TranslationDto> byId = new LinkedHashMap<>();
+                translations.forEach(translation -> byId.put(translation.getId(), translation));
+                locales.put(locale, byId);
+            });
+
+            try (Stream<Translation> updated = translationStore.streamUpdatedSince(project.getKey(), since)) {
+                for (Iterator<Translation> it = updated.iterator(); it.hasNext(); ) {
+                    Translation translation = it.next();
+                    // Drop it everywhere first, in case its locale changed.
+                    locales.values().forEach(byId -> byId.remove(translation.getId()));
+                    Map<String, TranslationDto> target = locales.get(translation.getLocale());
+                    if (target != null) {
+                        target.put(translation.getId(), modelMapperWrapper.map(translation, TranslationDto.class));
+                    }
+                    changes++;
+                }
+            }
+
+            ProjectContext.set(project.getKey());
+            try {
+                for (TombstoneDto tombstone : tombstoneService.since(since)) {
+                    locales.values().forEach(byId -> byId.remove(tombstone.getId()));
+                    changes++;
+                }
+            } finally {
+                ProjectContext.clear();
+            }
+            patched.put(project.getKey(), locales);
+        }
+
+        // Only touch the caches once every project caught up.
+        patched.forEach((project, locales) -> {
+            Map<String, List<TranslationDto>> lists = new HashMap<>();
+            locales.forEach((locale, byId) -> {
+                List<TranslationDto> translations = List.copyOf(byId.values());
+                translationCache.putByLocale(project, locale, translations);
+                lists.put(locale, translations);
+            });
+            properties.getWarmUp().getLocales().forEach(locale -> localeBundleService.prime(project, locale, lists));
+        });
+        return changes;
+    }
+
+    private String source() {
+        return mongoTemplate.getDb().getName();
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMilli(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
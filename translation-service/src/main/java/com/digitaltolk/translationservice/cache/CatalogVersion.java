@@ -0,0 +1,17 @@
+package com.digitaltolk.translationservice.cache;
+
+import java.time.Instant;
+
+/**
+ * Version of the whole catalog or of one locale. {@code epoch} changes on bulk loads, which do not bump
+ * individual locales.
+ */
+public record CatalogVersion(long epoch, long version, Instant modifiedAt) {
+
+    /**
+     * Strong validators must differ between representations, so non-default ones get their own suffix.
+     */
+    public String eTag(String representation) {
+        return "\"" + epoch + "." + version + (representation != null ? "-" + representation : "") + "\"";
+    }
+}
@@ -0,0 +1,184 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Version counters of each project's catalog and of its locales, stored in {@value #COLLECTION} and mirrored in
+ * memory so conditional requests are answered without a database round trip. Every write bumps its project's
+ * catalog counter and those of the locales it touched; bulk loads bump a separate epoch that is part of every
+ * version. Counters changed by other nodes are dropped on their invalidations and re-read on next use. Locales come
+ * from the request path, so the mirror is bounded by {@code translation.cache.maximum-versions}.
+ */
+@Slf4j
+@Component
+public class CatalogVersionService {
+
+    static final String COLLECTION = "catalog_versions";
+    static final String CATALOG = "all";
+    static final String EPOCH = "epoch";
+
+    private record Stamp(long value, Instant modifiedAt) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, Stamp> counters;
+    private final Counter bumpFailures;
+
+    public CatalogVersionService(MongoTemplate mongoTemplate, TranslationCacheProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumVersions())
+                .build();
+        this.bumpFailures = meterRegistry.counter("translation.versions.bump.failures");
+    }
+
+    /**
+     * Version of a project's whole catalog, or {@code null} when it cannot be determined.
+     */
+    public CatalogVersion current(String project) {
+        Stamp epoch = get(EPOCH);
+        Stamp catalog = get(catalogId(project));
+        if (epoch == null || catalog == null) {
+            return null;
+        }
+        return new CatalogVersion(epoch.value(), catalog.value(), latest(epoch.modifiedAt(), catalog.modifiedAt()));
+    }
+
+    /**
+     * Version of one locale of a project, or {@code null} when it cannot be determined.
+     */
+    public CatalogVersion current(String project, String locale) {
+        Stamp epoch = get(EPOCH);
+        Stamp stamp = get(localeId(project, locale));
+        if (epoch == null || stamp == null) {
+            return null;
+        }
+        return new CatalogVersion(epoch.value(), stamp.value(), latest(epoch.modifiedAt(), stamp.modifiedAt()));
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (TranslationChange change : event.changes()) {
+            collect(change.previous(), ids);
+            collect(change.current(), ids);
+        }
+        ids.forEach(this::bump);
+    }
+
+    @EventListener
+    public void onCatalogChanged(TranslationCatalogChangedEvent event) {
+        bump(EPOCH);
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.all()) {
+            counters.invalidateAll();
+            return;
+        }
+        for (String project : event.projects()) {
+            counters.invalidate(catalogId(project));
+            event.locales().forEach(locale -> counters.invalidate(localeId(project, locale)));
+        }
+    }
+
+    private Stamp get(String id) {
+        Stamp stamp = counters.getIfPresent(id);
+        if (stamp != null) {
+            return stamp;
+        }
+        try {
+            Document document = mongoTemplate.findById(id, Document.class, COLLECTION);
+            stamp = document == null ? new Stamp(0, Instant.EPOCH) : toStamp(document);
+            return counters.asMap().merge(id, stamp, CatalogVersionService::newer);
+        } catch (RuntimeException ex) {
+            log.debug("Could not read catalog version {}: {}", id, ex.getMessage());
+            return null;
+        }
+    }
+
+    private void bump(String id) {
+        try {
+            Document document = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(id)),
+                    new Update().inc("value", 1).set("modifiedAt", new Date()),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class,
+                    COLLECTION);
+            if (document != null) {
+                counters.asMap().merge(id, toStamp(document), CatalogVersionService::newer);
+            }
+        } catch (RuntimeException ex) {
+            // Re-read on next use so this node at least notices bumps made elsewhere.
+            counters.invalidate(id);
+            bumpFailures.increment();
+            log.warn("Failed to bump catalog version {}: {}", id, ex.getMessage());
+        }
+    }
+
+    long cachedCounters() {
+        counters.cleanUp();
+        return counters.estimatedSize();
+    }
+
+    private static Stamp toStamp(Document document) {
+        Date modifiedAt = document.getDate("modifiedAt");
+        return new Stamp(
+                document.get("value") instanceof Number number ? number.longValue() : 0,
+                modifiedAt == null ? Instant.EPOCH : modifiedAt.toInstant());
+    }
+
+    private static Stamp newer(Stamp a, Stamp b) {
+        return a.value() >= b.value() ? a : b;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static void collect(Translation translation, Set<String> ids) {
+        if (translation == null) {
+            return;
+        }
+        String project = ProjectContext.orDefault(translation.getProjectId());
+        ids.add(catalogId(project));
+        if (translation.getLocale() != null) {
+            ids.add(localeId(project, translation.getLocale()));
+        }
+    }
+
+    private static String catalogId(String project) {
+        return project + ":" + CATALOG;
+    }
+
+    private static String localeId(String project, String locale) {
+        return project + ":locale:" + locale;
+    }
+}
@@ -0,0 +1,20 @@
+package com.digitaltolk.translationservice.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read endpoint whose response only changes when the catalog (or one locale of it) changes.
+ * {@link ConditionalRequestInterceptor} answers such requests with 304 when the client's copy is current.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CatalogVersioned {
+
+    /**
+     * Name of the path variable holding the locale the response is limited to; empty for the whole catalog.
+     */
+    String locale() default "";
+}
@@ -0,0 +1,92 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.BinaryFormatsConfig;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds {@code ETag}/{@code Last-Modified} to {@link CatalogVersioned} endpoints and answers
+ * {@code If-None-Match}/{@code If-Modified-Since} with 304 before the handler runs. JSON, CBOR and Smile copies of
+ * the same version get different ETags, so a validator of one never revalidates another.
+ */
+@RequiredArgsConstructor
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersionService catalogVersionService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        CatalogVersioned versioned = method.getMethodAnnotation(CatalogVersioned.class);
+        if (versioned == null) {
+            return true;
+        }
+
+        String project = ProjectContext.current();
+        CatalogVersion version;
+        if (versioned.locale().isEmpty()) {
+            version = catalogVersionService.current(project);
+        } else {
+            @SuppressWarnings("unchecked")
+            Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+            String locale = variables != null ? variables.get(versioned.locale()) : null;
+            version = locale != null ? catalogVersionService.current(project, locale) : null;
+        }
+        if (version == null) {
+            return true;
+        }
+
+        // Responses depend on the caller's token, so shared caches must not store them.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        long lastModified = version.modifiedAt().equals(Instant.EPOCH) ? -1 : version.modifiedAt().toEpochMilli();
+        String eTag = version.eTag(representation(request));
+        return !new ServletWebRequest(request, response).checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * The binary format content negotiation will pick for the request, or null for JSON, which comes first for
+     * wildcards just as it does among the message converters.
+     */
+    static String representation(HttpServletRequest request) {
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (mediaType.isCompatibleWith(BinaryFormatsConfig.APPLICATION_SMILE)) {
+                return "smile";
+            }
+        }
+        return null;
+    }
+}
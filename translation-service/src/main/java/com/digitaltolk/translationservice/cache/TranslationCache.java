@@ -0,0 +1,107 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Node-local (L1) cache in front of the single-document and per-locale reads. MongoDB stays the
+ * shared second level; entries are dropped on {@link CacheInvalidationEvent}s from any node.
+ * <p>
+ * Each project gets its own pair of caches with its own size bounds, so a large project cannot evict the
+ * working set of a small one.
+ */
+@Component
+public class TranslationCache {
+
+    private record ProjectCaches(Cache<String, TranslationDto> byId, Cache<String, List<TranslationDto>> byLocale) {
+    }
+
+    private final TranslationCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ProjectCaches> projects = new ConcurrentHashMap<>();
+
+    public TranslationCache(TranslationCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Optional<TranslationDto> getById(String project, String id, Function<String, Optional<TranslationDto>> loader) {
+        return Optional.ofNullable(caches(project).byId().get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public List<TranslationDto> getByLocale(String project, String locale, Function<String, List<TranslationDto>> loader) {
+        return caches(project).byLocale().get(locale, key -> List.copyOf(loader.apply(key)));
+    }
+
+    /**
+     * Copy of the cached per-locale lists, by project and locale.
+     */
+    public Map<String, Map<String, List<TranslationDto>>> localeEntries() {
+        Map<String, Map<String, List<TranslationDto>>> entries = new HashMap<>();
+        projects.forEach((project, caches) -> {
+            if (caches.byLocale().estimatedSize() > 0) {
+                entries.put(project, new HashMap<>(caches.byLocale().asMap()));
+            }
+        });
+        return entries;
+    }
+
+    public void putByLocale(String project, String locale, List<TranslationDto> translations) {
+        caches(project).byLocale().put(locale, List.copyOf(translations));
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.all()) {
+            projects.values().forEach(caches -> {
+                caches.byId().invalidateAll();
+                caches.byLocale().invalidateAll();
+            });
+            return;
+        }
+        for (String project : event.projects()) {
+            ProjectCaches caches = projects.get(project);
+            if (caches != null) {
+                caches.byId().invalidateAll(event.ids());
+                caches.byLocale().invalidateAll(event.locales());
+            }
+        }
+    }
+
+    private ProjectCaches caches(String project) {
+        return projects.computeIfAbsent(project, this::create);
+    }
+
+    private ProjectCaches create(String project) {
+        Cache<String, TranslationDto> byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumTranslations())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        Cache<String, List<TranslationDto>> byLocale = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumLocales())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+
+        Tags tags = Tags.of("project", project);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "translations.by-id", tags);
+        CaffeineCacheMetrics.monitor(meterRegistry, byLocale, "translations.by-locale", tags);
+        return new ProjectCaches(byId, byLocale);
+    }
+}
@@ -0,0 +1,27 @@
+package com.digitaltolk.translationservice.config;
+
+import com.digitaltolk.translationservice.admission.AdmissionControlFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        return new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    /**
+     * The filter runs inside the security chain (see {@link SecurityConfig}); keep the servlet container
+     * from registering it a second time ahead of authentication.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,71 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Retry-After sent when a request is shed because its endpoint class is saturated.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Full scans, exports and seeding.
+     */
+    private EndpointLimit expensive = new EndpointLimit(4, 1, 16, 16, Duration.ofMillis(250), Duration.ofSeconds(2), 5);
+
+    /**
+     * Everything else under /api.
+     */
+    private EndpointLimit standard = new EndpointLimit(64, 8, 256, 128, Duration.ofMillis(100), Duration.ofMillis(250), 1);
+
+    private UserRate userRate = new UserRate();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EndpointLimit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+
+        /**
+         * Requests allowed to wait for a slot once the limit is reached; the rest are rejected at once.
+         */
+        private int maxQueue;
+
+        private Duration maxWait;
+
+        /**
+         * Latency above which the limit is cut multiplicatively.
+         */
+        private Duration targetLatency;
+
+        /**
+         * Tokens taken from the caller's bucket per request.
+         */
+        private int tokenCost;
+    }
+
+    @Data
+    public static class UserRate {
+
+        private int capacity = 100;
+
+        private double refillPerSecond = 50;
+
+        private long maximumUsers = 100_000;
+
+        private Duration idleExpiry = Duration.ofMinutes(10);
+    }
+}
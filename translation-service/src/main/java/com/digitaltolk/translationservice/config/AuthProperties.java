@@ -0,0 +1,49 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "translation.auth")
+public class AuthProperties {
+
+    /**
+     * Usernames granted {@code ROLE_ADMIN}, which the diagnostic actuator endpoints require. Anyone can register,
+     * so no one else may reach them.
+     */
+    private List<String> admins = new ArrayList<>();
+
+    private PasswordHashing passwordHashing = new PasswordHashing();
+
+    private UserCache userCache = new UserCache();
+
+    @Data
+    public static class PasswordHashing {
+
+        /**
+         * BCrypt is CPU bound, so this should not exceed the number of cores set aside for logins.
+         */
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        private int queueCapacity = 64;
+
+        /**
+         * Covers both queueing and hashing; requests exceeding it get 503.
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+
+        private Duration retryAfter = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class UserCache {
+
+        private Duration ttl = Duration.ofSeconds(30);
+
+        private long maximumSize = 10_000;
+    }
+}
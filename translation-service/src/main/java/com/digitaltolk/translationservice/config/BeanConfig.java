@@ -19,6 +19,7 @@ public class BeanConfig {
             @Override
             protected void configure() {
                 skip(destination.getId());
+                skip(destination.getProjectId());
                 skip(destination.getCreatedAt());
             }
         });
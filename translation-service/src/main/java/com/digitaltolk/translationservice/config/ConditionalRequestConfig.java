@@ -0,0 +1,23 @@
+package com.digitaltolk.translationservice.config;
+
+import com.digitaltolk.translationservice.cache.CatalogVersionService;
+import com.digitaltolk.translationservice.cache.ConditionalRequestInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ConditionalRequestConfig {
+
+    @Bean
+    public WebMvcConfigurer conditionalRequestConfigurer(CatalogVersionService catalogVersionService) {
+        ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(catalogVersionService);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.digitaltolk.translationservice.config;
+
+import com.digitaltolk.translationservice.deadline.DeadlineFilter;
+import com.digitaltolk.translationservice.deadline.DeadlineMongoTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+@Configuration
+public class DeadlineConfig {
+
+    /**
+     * Replaces the auto-configured template, which repositories use as well.
+     */
+    @Bean
+    public MongoTemplate mongoTemplate(MongoDatabaseFactory mongoDatabaseFactory, MongoConverter mongoConverter) {
+        return new DeadlineMongoTemplate(mongoDatabaseFactory, mongoConverter);
+    }
+
+    @Bean
+    public DeadlineFilter deadlineFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        return new DeadlineFilter(properties, meterRegistry);
+    }
+
+    /**
+     * The filter runs inside the security chain, after admission control (see {@link SecurityConfig}).
+     */
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilterRegistration(DeadlineFilter filter) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
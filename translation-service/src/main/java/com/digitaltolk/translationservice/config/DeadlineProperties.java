@@ -0,0 +1,36 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "translation.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Time a request may take once admitted, by path pattern. The first matching pattern here or in {@link
+     * #firstByte} applies; requests to other endpoints have no deadline.
+     */
+    private Map<String, Duration> endpoints = new LinkedHashMap<>(Map.of(
+            "/api/translations/search/**", Duration.ofSeconds(5),
+            "/api/translations/export/*", Duration.ofMinutes(2)));
+
+    /**
+     * Time a streamed response may take until it starts writing, by path pattern, which covers the query it streams
+     * from. After that it runs at the client's pace, so slow downloads are not cut short.
+     */
+    private Map<String, Duration> firstByte = new LinkedHashMap<>(Map.of(
+            "/api/translations/export", Duration.ofSeconds(30)));
+
+    /**
+     * Longest a caller waits for an identical query another request is running before running its own; a request
+     * with a deadline waits no longer than that.
+     */
+    private Duration sharedQueryWait = Duration.ofSeconds(30);
+}
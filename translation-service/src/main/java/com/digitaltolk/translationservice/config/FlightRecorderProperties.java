@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.flight-recorder")
+public class FlightRecorderProperties {
+
+    /**
+     * JFR settings used when a start request names none: {@code default} (about 1% overhead, suited to running
+     * continuously) or {@code profile} (more detail, including allocation profiling, at a few percent).
+     */
+    private String settings = "default";
+
+    /**
+     * The recording keeps this much history on disk, dropping the oldest chunks first.
+     */
+    private Duration maxAge = Duration.ofHours(1);
+
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+}
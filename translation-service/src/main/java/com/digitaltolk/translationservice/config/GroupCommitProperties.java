@@ -0,0 +1,31 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.group-commit")
+public class GroupCommitProperties {
+
+    /**
+     * Queue single creates and insert them in batches instead of one round trip per request.
+     */
+    private boolean enabled = false;
+
+    /**
+     * A batch is flushed as soon as it reaches this size...
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * ...or when its first entry has waited this long. Adds up to this much latency to every create.
+     */
+    private Duration maxDelay = Duration.ofMillis(2);
+
+    /**
+     * Creates queued beyond this are rejected with 503.
+     */
+    private int maxPending = 10_000;
+}
@@ -0,0 +1,24 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "translation.locale")
+public class LocaleFallbackProperties {
+
+    /**
+     * Last entry of every fallback chain.
+     */
+    private String defaultLocale = "en";
+
+    /**
+     * Explicit chains, e.g. {@code fr-CA: [fr, en]}. Locales without an entry fall back to their
+     * parent tags ({@code de-AT} -> {@code de}) and then to {@link #defaultLocale}.
+     */
+    private Map<String, List<String>> fallbacks = new HashMap<>();
+}
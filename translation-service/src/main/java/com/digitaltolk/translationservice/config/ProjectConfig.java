@@ -0,0 +1,38 @@
+package com.digitaltolk.translationservice.config;
+
+import com.digitaltolk.translationservice.project.ProjectPathFilter;
+import com.digitaltolk.translationservice.project.ProjectScopeFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class ProjectConfig {
+
+    /**
+     * Must run before the security chain so it authorizes the rewritten path.
+     */
+    @Bean
+    public FilterRegistrationBean<ProjectPathFilter> projectPathFilterRegistration() {
+        FilterRegistrationBean<ProjectPathFilter> registration = new FilterRegistrationBean<>(new ProjectPathFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public ProjectScopeFilter projectScopeFilter() {
+        return new ProjectScopeFilter();
+    }
+
+    /**
+     * The filter runs inside the security chain (see {@link SecurityConfig}); keep the servlet container
+     * from registering it a second time ahead of authentication.
+     */
+    @Bean
+    public FilterRegistrationBean<ProjectScopeFilter> projectScopeFilterRegistration(ProjectScopeFilter filter) {
+        FilterRegistrationBean<ProjectScopeFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,36 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.revisions")
+public class RevisionHistoryProperties {
+
+    /**
+     * Revisions waiting for the writer. When full, creates and updates are still recorded through their outbox
+     * and written by the next sweep; deletes are counted as dropped.
+     */
+    private int queueCapacity = 10_000;
+
+    private int maxBatchSize = 500;
+
+    /**
+     * How long the writer waits to fill a batch once the first revision is queued.
+     */
+    private Duration maxDelay = Duration.ofMillis(100);
+
+    /**
+     * How often translations are scanned for revisions left in their outbox, e.g. by a crash.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(5);
+
+    /**
+     * Outbox entries younger than this are assumed to still be on their way through the queue.
+     */
+    private Duration sweepGrace = Duration.ofMinutes(1);
+
+    private int maxPageSize = 200;
+}
@@ -1,6 +1,12 @@
 package com.digitaltolk.translationservice.config;
 
+import com.digitaltolk.translationservice.admission.AdmissionControlFilter;
+import com.digitaltolk.translationservice.deadline.DeadlineFilter;
+import com.digitaltolk.translationservice.profiling.FlightRecorderEndpoint;
+import com.digitaltolk.translationservice.profiling.SpansEndpoint;
+import com.digitaltolk.translationservice.project.ProjectScopeFilter;
 import com.digitaltolk.translationservice.security.JwtAuthenticationFilter;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,9 +22,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ProjectScopeFilter projectScopeFilter;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final DeadlineFilter deadlineFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+                          ProjectScopeFilter projectScopeFilter,
+                          AdmissionControlFilter admissionControlFilter,
+                          DeadlineFilter deadlineFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.projectScopeFilter = projectScopeFilter;
+        this.admissionControlFilter = admissionControlFilter;
+        this.deadlineFilter = deadlineFilter;
     }
 
     @Bean
@@ -30,7 +45,10 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/v3/api-docs.yaml",
+                                "/actuator/health/**",
                                 "/api/translations/seed").permitAll()
+                        // Recordings and spans expose details of the instance and of other users' requests.
+                        .requestMatchers(EndpointRequest.to(FlightRecorderEndpoint.class, SpansEndpoint.class)).hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -38,6 +56,9 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(projectScopeFilter, JwtAuthenticationFilter.class);
+        http.addFilterAfter(admissionControlFilter, ProjectScopeFilter.class);
+        http.addFilterAfter(deadlineFilter, AdmissionControlFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,34 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "translation.similarity")
+public class SimilarityProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 8 bands of 4 rows find pairs with Jaccard similarity 0.8 with ~98% probability and 0.5 with ~40%.
+     */
+    private int bands = 8;
+
+    private int rows = 4;
+
+    private int shingleSize = 3;
+
+    /**
+     * Bound on entries inspected per bucket, protecting against very common short strings.
+     */
+    private int maxBucketScan = 2_000;
+
+    /**
+     * Candidates fetched for exact re-ranking, as a multiple of the requested result count.
+     */
+    private int candidateFactor = 4;
+
+    private double minScore = 0.3;
+
+    private int maxResults = 50;
+}
@@ -0,0 +1,16 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.stats")
+public class StatsProperties {
+
+    /**
+     * How often the counters are recomputed from the translations. Only one node per interval does the work.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(15);
+}
@@ -0,0 +1,72 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@ConfigurationProperties(prefix = "translation.storage")
+public class StorageProperties {
+
+    public enum Layout {
+        /**
+         * One {@code translations} document per key and locale.
+         */
+        DOCUMENT_PER_LOCALE,
+        /**
+         * One {@code translation_keys} document per key, holding all its locales.
+         */
+        DOCUMENT_PER_KEY,
+        /**
+         * Append-only log files on local disk; translations need no MongoDB.
+         */
+        EMBEDDED
+    }
+
+    private Layout layout = Layout.DOCUMENT_PER_LOCALE;
+
+    private Migration migration = new Migration();
+
+    private Embedded embedded = new Embedded();
+
+    @Data
+    public static class Migration {
+
+        private boolean enabled = false;
+
+        private boolean exitOnCompletion = false;
+
+        /**
+         * Only migrate keys changed since then, e.g. the start of the previous run; everything when unset.
+         */
+        private LocalDateTime since;
+
+        private int batchSize = 500;
+
+        /**
+         * Catch-up passes after the copy; each one migrates the keys changed during the previous one.
+         */
+        private int catchUpPasses = 3;
+    }
+
+    @Data
+    public static class Embedded {
+
+        private Path directory = Path.of("data", "translations");
+
+        /**
+         * fsync after every write. Without it a crash of the host, not just of the process, can lose the last writes.
+         */
+        private boolean syncWrites = true;
+
+        private Duration compactionInterval = Duration.ofMinutes(10);
+
+        /**
+         * Compact once this share of the log is overwritten or deleted records.
+         */
+        private double compactionThreshold = 0.5;
+    }
+}
@@ -0,0 +1,29 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.stream")
+public class StreamProperties {
+
+    /**
+     * Events buffered per subscriber. A subscriber that falls this far behind is disconnected and resumes with
+     * {@code Last-Event-ID}.
+     */
+    private int subscriberBuffer = 256;
+
+    /**
+     * Recent events kept for reconnecting clients. Older positions get a {@code reset} event instead.
+     */
+    private int replaySize = 10_000;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Connections are closed after this long; clients reconnect and resume.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
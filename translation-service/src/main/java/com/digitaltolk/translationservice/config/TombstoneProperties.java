@@ -0,0 +1,19 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "translation.tombstones")
+public class TombstoneProperties {
+
+    /**
+     * How long deletes stay visible to incremental consumers. A consumer that syncs less often than this must
+     * reload in full.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private Duration compactionInterval = Duration.ofHours(1);
+}
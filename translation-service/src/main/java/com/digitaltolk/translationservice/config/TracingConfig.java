@@ -0,0 +1,62 @@
+package com.digitaltolk.translationservice.config;
+
+import com.digitaltolk.translationservice.profiling.InMemorySpanExporter;
+import com.digitaltolk.translationservice.profiling.ResponseSerialization;
+import com.digitaltolk.translationservice.profiling.SpansEndpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Spans beyond what Spring Boot instruments by itself (the HTTP request and the security filter chain): every
+ * MongoDB command, {@code TranslationService} methods (through {@code @Observed}) and response serialization.
+ * Incoming W3C {@code traceparent} headers continue the caller's trace; sampling is set by
+ * {@code management.tracing.sampling.probability} and honours the caller's sampling decision.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoObservationCustomizer(ObservationRegistry observationRegistry) {
+        // The context provider hands the current observation to the driver, making commands children of it.
+        return builder -> builder.contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry));
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that observes its writes.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                 ObservationRegistry observationRegistry) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                ResponseSerialization.write("json", object, outputMessage, observationRegistry,
+                        message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "translation.tracing.in-memory", name = "enabled", matchIfMissing = true)
+    public InMemorySpanExporter inMemorySpanExporter(TracingProperties properties) {
+        return new InMemorySpanExporter(properties.getInMemory().getCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "translation.tracing.in-memory", name = "enabled", matchIfMissing = true)
+    public SpansEndpoint spansEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new SpansEndpoint(inMemorySpanExporter);
+    }
+}
@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampling and propagation are configured under {@code management.tracing}; this only covers the local exporter.
+ */
+@Data
+@ConfigurationProperties(prefix = "translation.tracing")
+public class TracingProperties {
+
+    private InMemory inMemory = new InMemory();
+
+    @Data
+    public static class InMemory {
+
+        /**
+         * Keep the most recent sampled spans in memory, readable at {@code /actuator/spans}.
+         */
+        private boolean enabled = true;
+
+        private int capacity = 2_000;
+    }
+}
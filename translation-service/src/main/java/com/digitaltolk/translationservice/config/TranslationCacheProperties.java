@@ -0,0 +1,98 @@
+package com.digitaltolk.translationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "translation.cache")
+public class TranslationCacheProperties {
+
+    /**
+     * Bound of each project's single-translation cache.
+     */
+    private long maximumTranslations = 50_000;
+
+    /**
+     * Bound of each project's per-locale cache.
+     */
+    private long maximumLocales = 64;
+
+    /**
+     * Bound of the precompiled message formats shared by all projects.
+     */
+    private long maximumFormats = 100_000;
+
+    /**
+     * Bound of the catalog and locale version counters of all projects. Evicted counters are read again on next use.
+     */
+    private long maximumVersions = 10_000;
+
+    /**
+     * Upper bound on staleness if an invalidation message is ever missed.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    private Invalidation invalidation = new Invalidation();
+
+    private WarmUp warmUp = new WarmUp();
+
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Invalidation {
+
+        private String collection = "cache_invalidations";
+
+        private long cappedSizeBytes = 16 * 1024 * 1024;
+
+        private long cappedMaxDocuments = 100_000;
+
+        private Duration maxAwaitTime = Duration.ofSeconds(1);
+
+        private Duration retryBackoff = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class WarmUp {
+
+        /**
+         * Projects whose locales are loaded before the instance reports ready.
+         */
+        private List<String> projects = List.of("default");
+
+        /**
+         * Locales loaded before the instance reports ready.
+         */
+        private List<String> locales = List.of("en");
+
+        private Duration retryBackoff = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Persist the per-locale caches to a local file and restore them on startup.
+         */
+        private boolean enabled = true;
+
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "translation-service");
+
+        private Duration interval = Duration.ofMinutes(5);
+
+        /**
+         * Older snapshots are ignored. Must stay below {@code translation.tombstones.retention}, since deletes
+         * after the snapshot are caught up from tombstones.
+         */
+        private Duration maxAge = Duration.ofDays(1);
+
+        /**
+         * Catch-up starts this long before the snapshot's watermark, allowing for clock skew between writers.
+         */
+        private Duration catchUpOverlap = Duration.ofMinutes(1);
+    }
+}
@@ -1,9 +1,9 @@
 package com.digitaltolk.translationservice.controller;
 
+import com.digitaltolk.translationservice.dto.AuthTokenResponse;
+import com.digitaltolk.translationservice.dto.RefreshTokenRequest;
 import com.digitaltolk.translationservice.dto.UserLoginRequest;
-import com.digitaltolk.translationservice.model.User;
-import com.digitaltolk.translationservice.repository.UserRepository;
-import com.digitaltolk.translationservice.security.JwtUtil;
+import com.digitaltolk.translationservice.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -12,63 +12,56 @@ import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Authentication", description = "API for user login and registration")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final AuthService authService;
 
-    public AuthController(AuthenticationManager authenticationManager,
-                          JwtUtil jwtUtil,
-                          UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
-        this.authenticationManager = authenticationManager;
-        this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+    public AuthController(AuthService authService) {
+        this.authService = authService;
     }
 
     @Operation(
             summary = "Login user",
             description = "Authenticates a user and returns a JWT token for accessing secured endpoints.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Login successful, JWT token returned",
+                    @ApiResponse(responseCode = "200", description = "Login successful, JWT and refresh token returned",
                             content = @Content(mediaType = "application/json",
-                                    examples = @ExampleObject(value = "{ \"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6...\" }"))),
+                                    examples = @ExampleObject(value = "{ \"token\": \"eyJhbGciOiJIUzI1NiIsInR5cCI6...\", \"refreshToken\": \"q1w2e3r4t5y6u7i8o9p0...\" }"))),
                     @ApiResponse(responseCode = "401", description = "Invalid username or password",
-                            content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Invalid username or password")))
+                            content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Invalid username or password"))),
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry later")
             }
     )
     @PostMapping("/login")
-    public ResponseEntity<?> login(
+    public CompletableFuture<ResponseEntity<?>> login(
             @Valid @RequestBody(
                     description = "Login credentials",
                     required = true,
                     content = @Content(schema = @Schema(implementation = UserLoginRequest.class),
                             examples = @ExampleObject(value = "{ \"username\": \"john_doe\", \"password\": \"secret\" }"))
             ) @org.springframework.web.bind.annotation.RequestBody UserLoginRequest request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-            );
-
-            String token = jwtUtil.generateToken(request.getUsername());
-            return ResponseEntity.ok().body("{\"token\": \"" + token + "\"}");
-
-        } catch (AuthenticationException ex) {
-            return ResponseEntity.status(401).body("Invalid username or password");
-        }
+        return authService.login(request.getUsername(), request.getPassword())
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> {
+                    Throwable cause = unwrap(ex);
+                    if (cause instanceof AuthenticationException) {
+                        return ResponseEntity.status(401).body("Invalid username or password");
+                    }
+                    return overloaded(cause);
+                });
     }
 
     @Operation(
@@ -78,24 +71,55 @@ public class AuthController {
                     @ApiResponse(responseCode = "200", description = "User registered successfully",
                             content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "User registered successfully"))),
                     @ApiResponse(responseCode = "400", description = "Username already exists",
-                            content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Username already exists")))
+                            content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Username already exists"))),
+                    @ApiResponse(responseCode = "503", description = "Too many concurrent registrations, retry later")
             }
     )
     @PostMapping("/register")
-    public ResponseEntity<?> register(
+    public CompletableFuture<ResponseEntity<?>> register(
             @Valid @RequestBody(
                     description = "New user credentials",
                     required = true,
                     content = @Content(schema = @Schema(implementation = UserLoginRequest.class),
                             examples = @ExampleObject(value = "{ \"username\": \"omar\", \"password\": \"password\" }"))
             ) @org.springframework.web.bind.annotation.RequestBody UserLoginRequest request) {
-        if (userRepository.findByUsername(request.getUsername()).isPresent()) {
-            return ResponseEntity.badRequest().body("Username already exists");
+        return authService.register(request.getUsername(), request.getPassword())
+                .<ResponseEntity<?>>thenApply(created -> created
+                        ? ResponseEntity.ok("User registered successfully")
+                        : ResponseEntity.badRequest().body("Username already exists"))
+                .exceptionally(ex -> overloaded(unwrap(ex)));
+    }
+
+    @Operation(
+            summary = "Refresh the access token",
+            description = "Exchanges a refresh token for a new JWT and a new refresh token. Each refresh token can be used once.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "New tokens issued",
+                            content = @Content(schema = @Schema(implementation = AuthTokenResponse.class))),
+                    @ApiResponse(responseCode = "401", description = "Refresh token unknown, used or expired",
+                            content = @Content(mediaType = "text/plain", examples = @ExampleObject(value = "Invalid refresh token")))
+            }
+    )
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @org.springframework.web.bind.annotation.RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request.getRefreshToken())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(401).body("Invalid refresh token"));
+    }
+
+    private ResponseEntity<?> overloaded(Throwable cause) {
+        if (cause instanceof RejectedExecutionException || cause instanceof TimeoutException) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", String.valueOf(authService.retryAfterSeconds()))
+                    .body("Authentication is temporarily overloaded, retry later");
         }
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        userRepository.save(user);
-        return ResponseEntity.ok("User registered successfully");
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
 }
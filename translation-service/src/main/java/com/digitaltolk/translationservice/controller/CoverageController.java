@@ -0,0 +1,33 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.CoverageReportDto;
+import com.digitaltolk.translationservice.service.CoverageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Coverage", description = "Reports on missing and outdated translations per locale")
+public class CoverageController {
+
+    private final CoverageService coverageService;
+
+    @Operation(
+            summary = "Get locale coverage",
+            description = "Returns per-locale key counts relative to the source locale. When a target locale is given, also lists "
+                    + "source keys missing in it and keys whose source content changed after the target was last updated."
+    )
+    @GetMapping("/coverage")
+    public ResponseEntity<CoverageReportDto> getCoverage(
+            @Parameter(description = "Source locale, defaults to the configured default locale") @RequestParam(required = false) String source,
+            @Parameter(description = "Target locale to list missing and stale keys for") @RequestParam(required = false) String locale,
+            @Parameter(description = "Zero-based page of the key lists") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size of the key lists (max 1000)") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(coverageService.getReport(source, locale, page, size));
+    }
+}
@@ -0,0 +1,44 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.LocaleBundleDto;
+import com.digitaltolk.translationservice.dto.ResolvedTranslationDto;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Locale Bundles", description = "Endpoints returning translations with locale fallback applied")
+public class LocaleBundleController {
+
+    private final LocaleBundleService localeBundleService;
+
+    @Operation(
+            summary = "Get the resolved bundle of a locale",
+            description = "Returns the effective content of every key for the locale, falling back along its configured chain (e.g. fr-CA -> fr -> en)."
+    )
+    @GetMapping("/bundle/{locale}")
+    public ResponseEntity<LocaleBundleDto> getBundle(
+            @Parameter(description = "Locale code, e.g., fr-CA") @PathVariable String locale) {
+        return ResponseEntity.ok(localeBundleService.getBundle(locale));
+    }
+
+    @Operation(
+            summary = "Look up keys with locale fallback",
+            description = "Resolves the given keys for a locale, reporting the locale each value was taken from."
+    )
+    @GetMapping("/lookup")
+    public ResponseEntity<Map<String, ResolvedTranslationDto>> lookup(
+            @Parameter(description = "Locale code, e.g., fr-CA") @RequestParam String locale,
+            @Parameter(description = "Keys to resolve (comma-separated)") @RequestParam Collection<String> keys) {
+        return ResponseEntity.ok(localeBundleService.lookup(locale, keys));
+    }
+}
@@ -0,0 +1,33 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.RenderRequestDto;
+import com.digitaltolk.translationservice.dto.RenderedMessageDto;
+import com.digitaltolk.translationservice.render.MessageRenderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Message Rendering", description = "Endpoints formatting translations with arguments")
+public class MessageRenderController {
+
+    private final MessageRenderService messageRenderService;
+
+    @Operation(
+            summary = "Render messages",
+            description = "Resolves each key with locale fallback and formats it as an ICU message with the given arguments "
+                    + "(placeholders, plural and select). Results are in request order; a message that cannot be rendered "
+                    + "carries an error instead of text."
+    )
+    @PostMapping("/render")
+    public ResponseEntity<List<RenderedMessageDto>> render(@Valid @RequestBody RenderRequestDto request) {
+        return ResponseEntity.ok(messageRenderService.render(request.getMessages()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.RevisionPageDto;
+import com.digitaltolk.translationservice.history.RevisionHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Revision History", description = "Past versions of translations for review and rollback")
+public class RevisionHistoryController {
+
+    private final RevisionHistoryService revisionHistoryService;
+
+    @Operation(
+            summary = "Get the revision history of a translation",
+            description = "Returns revisions newest first. History is written asynchronously, so the latest change may "
+                    + "take a moment to appear. Also available after the translation was deleted."
+    )
+    @GetMapping("/{id}/history")
+    public ResponseEntity<RevisionPageDto> getHistory(
+            @Parameter(description = "Translation ID", required = true) @PathVariable String id,
+            @Parameter(description = "Only revisions older than this one (from nextBefore)") @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size (max 200)") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(revisionHistoryService.getHistory(id, before, limit));
+    }
+}
@@ -0,0 +1,29 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.TranslationStatsDto;
+import com.digitaltolk.translationservice.service.TranslationStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Statistics", description = "Translation counts for dashboards")
+public class StatsController {
+
+    private final TranslationStatsService translationStatsService;
+
+    @Operation(
+            summary = "Get translation counts",
+            description = "Returns the total number of translations and the counts per locale and per tag, read from counters kept up to date on every write."
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<TranslationStatsDto> getStats() {
+        return ResponseEntity.ok(translationStatsService.getStats());
+    }
+}
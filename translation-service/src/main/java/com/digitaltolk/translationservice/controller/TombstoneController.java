@@ -0,0 +1,35 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.TombstoneDto;
+import com.digitaltolk.translationservice.service.TombstoneService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Tombstones", description = "Deleted translations, for consumers that sync incrementally")
+public class TombstoneController {
+
+    private final TombstoneService tombstoneService;
+
+    @Operation(
+            summary = "List deletes since a point in time",
+            description = "Returns translations deleted at or after the given time, oldest first. Tombstones are kept for "
+                    + "translation.tombstones.retention; a consumer that last synced before that must reload in full."
+    )
+    @GetMapping("/tombstones")
+    public ResponseEntity<List<TombstoneDto>> since(
+            @Parameter(description = "ISO date-time, e.g. 2025-08-14T10:15:30")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(tombstoneService.since(since));
+    }
+}
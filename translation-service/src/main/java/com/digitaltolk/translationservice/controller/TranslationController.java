@@ -1,6 +1,11 @@
 package com.digitaltolk.translationservice.controller;
 
+import com.digitaltolk.translationservice.cache.CatalogVersioned;
+import com.digitaltolk.translationservice.config.BinaryFormatsConfig;
+import com.digitaltolk.translationservice.dto.BulkDeleteResultDto;
 import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.export.TranslationExportService;
+import com.digitaltolk.translationservice.profiling.SerializationEvent;
 import com.digitaltolk.translationservice.service.TranslationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,11 +14,14 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 
@@ -24,6 +32,7 @@ import java.util.List;
 public class TranslationController {
 
     private final TranslationService translationService;
+    private final TranslationExportService translationExportService;
 
     @Operation(
             summary = "Seed database with sample translations",
@@ -66,10 +75,44 @@ public class TranslationController {
         return ResponseEntity.ok(translationService.updateTranslation(id, translation));
     }
 
+    @Operation(
+            summary = "Delete a translation",
+            description = "Deletes a translation by its ID and leaves a tombstone for incremental consumers.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Translation deleted"),
+                    @ApiResponse(responseCode = "404", description = "Translation not found")
+            }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(
+            @Parameter(description = "Translation ID", required = true) @PathVariable String id) {
+        translationService.deleteTranslation(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Delete translations by filter",
+            description = "Deletes all translations matching every given filter; at least one is required. "
+                    + "Each deleted translation leaves a tombstone.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Translations deleted",
+                            content = @Content(schema = @Schema(implementation = BulkDeleteResultDto.class))),
+                    @ApiResponse(responseCode = "400", description = "No filter given")
+            }
+    )
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResultDto> deleteMatching(
+            @Parameter(description = "Delete keys starting with this prefix") @RequestParam(required = false) String keyPrefix,
+            @Parameter(description = "Delete translations carrying this tag") @RequestParam(required = false) String tag,
+            @Parameter(description = "Delete translations in this locale") @RequestParam(required = false) String locale) {
+        return ResponseEntity.ok(new BulkDeleteResultDto(translationService.deleteTranslations(keyPrefix, tag, locale)));
+    }
+
     @Operation(
             summary = "Get all translations",
             description = "Retrieves a list of all translations."
     )
+    @CatalogVersioned
     @GetMapping
     public ResponseEntity<List<TranslationDto>> getAll() {
         return ResponseEntity.ok(translationService.getAllTranslations());
@@ -79,6 +122,7 @@ public class TranslationController {
             summary = "Search translations by key",
             description = "Finds translations whose keys match the provided string."
     )
+    @CatalogVersioned
     @GetMapping("/search/key")
     public ResponseEntity<List<TranslationDto>> searchByKey(
             @Parameter(description = "Key to search for") @RequestParam String key) {
@@ -89,6 +133,7 @@ public class TranslationController {
             summary = "Search translations by content",
             description = "Finds translations whose content contains the given string."
     )
+    @CatalogVersioned
     @GetMapping("/search/content")
     public ResponseEntity<List<TranslationDto>> searchByContent(
             @Parameter(description = "Content to search for") @RequestParam String content) {
@@ -99,6 +144,7 @@ public class TranslationController {
             summary = "Search translations by tags",
             description = "Finds translations that have any of the specified tags."
     )
+    @CatalogVersioned
     @GetMapping("/search/tags")
     public ResponseEntity<List<TranslationDto>> searchByTags(
             @Parameter(description = "Tags to search for (comma-separated)") @RequestParam Collection<String> tags) {
@@ -109,6 +155,7 @@ public class TranslationController {
             summary = "Get translations by locale",
             description = "Retrieves translations for a specific locale."
     )
+    @CatalogVersioned(locale = "locale")
     @GetMapping("/locale/{locale}")
     public ResponseEntity<List<TranslationDto>> getByLocale(
             @Parameter(description = "Locale code, e.g., en, fr, es") @PathVariable String locale) {
@@ -131,9 +178,12 @@ public class TranslationController {
             summary = "Export translations as CSV",
             description = "Exports all translations in CSV format for download."
     )
+    @CatalogVersioned
     @GetMapping("/export/csv")
     public ResponseEntity<byte[]> exportTranslations() {
         List<TranslationDto> allTranslations = translationService.getAllTranslations();
+        SerializationEvent event = new SerializationEvent("csv", allTranslations.size());
+        event.begin();
 
         StringBuilder csvBuilder = new StringBuilder();
         csvBuilder.append("ID,Key,Locale,Content,Tags,Created At,Updated At\n");
@@ -150,6 +200,7 @@ public class TranslationController {
         }
 
         byte[] csvBytes = csvBuilder.toString().getBytes();
+        event.finish(csvBytes.length);
 
         return ResponseEntity.ok()
                 .header("Content-Disposition", "attachment; filename=translations.csv")
@@ -161,15 +212,19 @@ public class TranslationController {
             summary = "Export translations as JSON",
             description = "Exports all translations in JSON format for download."
     )
+    @CatalogVersioned
     @GetMapping("/export/json")
     public ResponseEntity<byte[]> exportTranslationsJson() throws Exception {
         List<TranslationDto> allTranslations = translationService.getAllTranslations();
+        SerializationEvent event = new SerializationEvent("json", allTranslations.size());
+        event.begin();
 
         ObjectMapper mapper = new ObjectMapper();
         mapper.findAndRegisterModules();
         String jsonString = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(allTranslations);
 
         byte[] jsonBytes = jsonString.getBytes();
+        event.finish(jsonBytes.length);
 
         return ResponseEntity.ok()
                 .header("Content-Disposition", "attachment; filename=translations.json")
@@ -177,6 +232,57 @@ public class TranslationController {
                 .body(jsonBytes);
     }
 
+    @Operation(
+            summary = "Export translations as localization files",
+            description = "Streams the given locales in a platform format: 'xliff12', 'xliff20', 'po' (gettext), "
+                    + "'android' (strings.xml) or 'strings' (Apple). XLIFF and gettext pair each key with its text in "
+                    + "the source locale. One locale gives one file; several give a zip with one file per locale.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export file or zip"),
+                    @ApiResponse(responseCode = "400", description = "Unknown format or invalid locale")
+            }
+    )
+    @CatalogVersioned
+    @GetMapping("/export")
+    public void exportFiles(
+            @Parameter(description = "Export format", required = true) @RequestParam String format,
+            @Parameter(description = "Locales to export (comma-separated)", required = true) @RequestParam List<String> locales,
+            @Parameter(description = "Source locale for XLIFF and gettext; the default locale if omitted") @RequestParam(required = false) String source,
+            HttpServletResponse response) throws IOException {
+        TranslationExportService.Export export = translationExportService.prepare(format, locales, source);
+        response.setHeader("Content-Disposition", "attachment; filename=" + export.fileName());
+        response.setContentType(export.mediaType().toString());
+        translationExportService.write(export, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "Export translations as CBOR",
+            description = "Exports all translations as a CBOR array for download; same fields as the JSON export."
+    )
+    @CatalogVersioned
+    @GetMapping("/export/cbor")
+    public ResponseEntity<List<TranslationDto>> exportTranslationsCbor() {
+        return export(MediaType.APPLICATION_CBOR, "translations.cbor");
+    }
+
+    @Operation(
+            summary = "Export translations as Smile",
+            description = "Exports all translations as a Smile array for download; same fields as the JSON export."
+    )
+    @CatalogVersioned
+    @GetMapping("/export/smile")
+    public ResponseEntity<List<TranslationDto>> exportTranslationsSmile() {
+        return export(BinaryFormatsConfig.APPLICATION_SMILE, "translations.sml");
+    }
+
+    private ResponseEntity<List<TranslationDto>> export(MediaType mediaType, String filename) {
+        // An explicit content type makes the matching message converter write the body.
+        return ResponseEntity.ok()
+                .header("Content-Disposition", "attachment; filename=" + filename)
+                .contentType(mediaType)
+                .body(translationService.getAllTranslations());
+    }
+
     String escapeCsv(String value) {
         if (value == null) return "";
         String escaped = value.replace("\"", "\"\"");
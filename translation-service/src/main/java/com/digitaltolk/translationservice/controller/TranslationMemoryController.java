@@ -0,0 +1,33 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.dto.SimilarTranslationDto;
+import com.digitaltolk.translationservice.similarity.TranslationMemoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Translation Memory", description = "Suggestions of existing translations similar to new content")
+public class TranslationMemoryController {
+
+    private final TranslationMemoryService translationMemoryService;
+
+    @Operation(
+            summary = "Find similar translations",
+            description = "Returns existing translations of the locale whose content is near-identical to the given text, best match first."
+    )
+    @GetMapping("/similar")
+    public ResponseEntity<List<SimilarTranslationDto>> findSimilar(
+            @Parameter(description = "Text to match") @RequestParam String text,
+            @Parameter(description = "Locale code, e.g., en") @RequestParam String locale,
+            @Parameter(description = "Maximum number of matches") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(translationMemoryService.findSimilar(text, locale, limit));
+    }
+}
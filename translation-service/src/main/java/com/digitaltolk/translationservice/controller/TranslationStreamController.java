@@ -0,0 +1,35 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.stream.TranslationStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+
+@RestController
+@RequestMapping("/api/translations")
+@RequiredArgsConstructor
+@Tag(name = "Change Stream", description = "Live translation changes as Server-Sent Events")
+public class TranslationStreamController {
+
+    private final TranslationStreamService translationStreamService;
+
+    @Operation(
+            summary = "Stream translation changes",
+            description = "Pushes an 'upsert' event with the translation for every create or update and a 'delete' event "
+                    + "with its tombstone for every delete. An upsert whose locale is outside the subscription means the "
+                    + "translation moved away. A 'reset' event means changes were missed and the client should reload; "
+                    + "send Last-Event-ID when reconnecting to resume instead."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Locales to receive (comma-separated); all if omitted") @RequestParam(required = false) Collection<String> locales,
+            @Parameter(description = "Id of the last event received, to resume after a reconnect") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return translationStreamService.subscribe(locales, lastEventId);
+    }
+}
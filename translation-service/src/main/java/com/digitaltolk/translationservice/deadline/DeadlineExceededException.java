@@ -0,0 +1,8 @@
+package com.digitaltolk.translationservice.deadline;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,190 @@
+package com.digitaltolk.translationservice.deadline;
+
+import com.digitaltolk.translationservice.config.DeadlineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Starts a {@link RequestDeadline} for endpoints configured with one, and counts the requests that ran past it
+ * ({@code translation.deadline.exceeded}) or, on any endpoint, whose client went away
+ * ({@code translation.request.cancelled}). Runs after admission control, so time spent queued for a slot does not
+ * count.
+ * <p>
+ * A client that went away is noticed when writing to it fails. The failure propagates out of whatever is writing,
+ * which stops serialization and closes the store cursor it was reading. Work that has not written anything yet, such
+ * as a query that has not returned, is bounded by the deadline instead.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final DeadlineProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<PathPattern, Duration> deadlines = new LinkedHashMap<>();
+    private final Map<PathPattern, Duration> firstByteDeadlines = new LinkedHashMap<>();
+
+    public DeadlineFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getEndpoints().forEach((pattern, deadline) -> deadlines.put(PathPatternParser.defaultInstance.parse(pattern), deadline));
+        properties.getFirstByte().forEach((pattern, deadline) -> firstByteDeadlines.put(PathPatternParser.defaultInstance.parse(pattern), deadline));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        RequestDeadline deadline = properties.isEnabled() ? deadline(request) : null;
+        CancellationDetectingResponse detecting = new CancellationDetectingResponse(response, deadline);
+        if (deadline != null) {
+            RequestDeadline.set(deadline);
+        }
+        try {
+            filterChain.doFilter(request, detecting);
+        } finally {
+            RequestDeadline.clear();
+            if (deadline != null && deadline.isExceeded()) {
+                log.debug("{} {} exceeded its deadline for {}", request.getMethod(), request.getRequestURI(), deadline.endpoint());
+                meterRegistry.counter("translation.deadline.exceeded", "endpoint", deadline.endpoint()).increment();
+            }
+            if (detecting.isCancelled()) {
+                log.debug("{} {} was cancelled by the client", request.getMethod(), request.getRequestURI());
+                meterRegistry.counter("translation.request.cancelled", "endpoint", endpoint(request, deadline)).increment();
+            }
+        }
+    }
+
+    private RequestDeadline deadline(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Map.Entry<PathPattern, Duration> entry : deadlines.entrySet()) {
+            if (entry.getKey().matches(path)) {
+                return new RequestDeadline(entry.getKey().getPatternString(), entry.getValue());
+            }
+        }
+        for (Map.Entry<PathPattern, Duration> entry : firstByteDeadlines.entrySet()) {
+            if (entry.getKey().matches(path)) {
+                return new RequestDeadline(entry.getKey().getPatternString(), entry.getValue(), true);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The deadline's pattern, else the handler's mapping, so the tag stays bounded whatever paths clients send.
+     */
+    private static String endpoint(HttpServletRequest request, RequestDeadline deadline) {
+        if (deadline != null) {
+            return deadline.endpoint();
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    private interface Write {
+
+        void run() throws IOException;
+    }
+
+    /**
+     * Marks the request cancelled when a write to the client fails, and starts the response for a deadline until the
+     * first byte.
+     */
+    private static final class CancellationDetectingResponse extends HttpServletResponseWrapper {
+
+        private final RequestDeadline deadline;
+        private ServletOutputStream outputStream;
+        private volatile boolean cancelled;
+
+        CancellationDetectingResponse(HttpServletResponse response, RequestDeadline deadline) {
+            super(response);
+            this.deadline = deadline;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CancellationDetectingOutputStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            write(super::flushBuffer);
+        }
+
+        void write(Write write) throws IOException {
+            if (deadline != null) {
+                deadline.responseStarted();
+            }
+            try {
+                write.run();
+            } catch (IOException ex) {
+                cancelled = true;
+                throw ex;
+            }
+        }
+    }
+
+    private static final class CancellationDetectingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final CancellationDetectingResponse response;
+
+        CancellationDetectingOutputStream(ServletOutputStream delegate, CancellationDetectingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.write(() -> delegate.write(b));
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.write(() -> delegate.write(b, off, len));
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.write(delegate::flush);
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.write(delegate::close);
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
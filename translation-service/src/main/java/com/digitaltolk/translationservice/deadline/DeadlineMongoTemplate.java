@@ -0,0 +1,65 @@
+package com.digitaltolk.translationservice.deadline;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Gives every collection operation run for a request with a {@link RequestDeadline} the time left as its timeout,
+ * repository calls included. The driver sends it as {@code maxTimeMS}, so the server abandons the scan, and a cursor
+ * still open at the deadline fails instead of fetching more batches.
+ * <p>
+ * That timeout covers a cursor's whole life, so a stream opened under a deadline {@linkplain
+ * RequestDeadline#isUntilFirstByte() until the first byte} gets the time left as its query's {@code maxTimeMS}
+ * instead. The server counts that against its own work on the cursor, not the time spent waiting for the client.
+ */
+public class DeadlineMongoTemplate extends MongoTemplate {
+
+    private static final ThreadLocal<Boolean> STREAMING = new ThreadLocal<>();
+
+    public DeadlineMongoTemplate(MongoDatabaseFactory mongoDbFactory, MongoConverter mongoConverter) {
+        super(mongoDbFactory, mongoConverter);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        MongoCollection<Document> prepared = super.prepareCollection(collection);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null || deadline.isLifted() || STREAMING.get() != null) {
+            return prepared;
+        }
+        return prepared.withTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected <T> Stream<T> doStream(Query query, Class<?> entityType, String collectionName, Class<T> returnType) {
+        Query bounded = withTimeLeft(query);
+        if (bounded == query) {
+            return super.doStream(query, entityType, collectionName, returnType);
+        }
+        STREAMING.set(true);
+        try {
+            return super.doStream(bounded, entityType, collectionName, returnType);
+        } finally {
+            STREAMING.remove();
+        }
+    }
+
+    /**
+     * A copy of the query limited to the time left, if the current deadline lasts until the first byte.
+     */
+    static Query withTimeLeft(Query query) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null || !deadline.isUntilFirstByte() || deadline.isLifted()) {
+            return query;
+        }
+        return Query.of(query).maxTime(Duration.ofMillis(deadline.remainingMillis()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.digitaltolk.translationservice.deadline;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoOperationTimeoutException;
+
+import java.time.Duration;
+
+/**
+ * Deadline of the current request, set by {@link DeadlineFilter} for endpoints that have one. MongoDB operations
+ * run for the request get the time left as their timeout (see {@link DeadlineMongoTemplate}) and long loops call
+ * {@link #check}. Code running outside such a request, such as background work, has no deadline.
+ * <p>
+ * A deadline {@linkplain #isUntilFirstByte() until the first byte} bounds a streamed response only until it starts
+ * writing; after that it is {@linkplain #isLifted() lifted} and the response runs at the client's pace. It also
+ * records whether the request ran past it.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final Duration timeout;
+    private final long expiresAt;
+    private final boolean untilFirstByte;
+    private volatile boolean responseStarted;
+    private volatile boolean exceeded;
+
+    RequestDeadline(String endpoint, Duration timeout) {
+        this(endpoint, timeout, false);
+    }
+
+    RequestDeadline(String endpoint, Duration timeout, boolean untilFirstByte) {
+        this.endpoint = endpoint;
+        this.timeout = timeout;
+        this.expiresAt = System.nanoTime() + timeout.toNanos();
+        this.untilFirstByte = untilFirstByte;
+    }
+
+    /**
+     * Null outside a request with a deadline.
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    static void set(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Throws {@link DeadlineExceededException} if the current request is past its deadline.
+     */
+    public static void check() {
+        RequestDeadline deadline = current();
+        if (deadline != null) {
+            deadline.remainingMillis();
+        }
+    }
+
+    /**
+     * Whether {@code ex} is, at any depth, a deadline or a MongoDB operation timeout; if so the current request is
+     * marked as exceeded.
+     */
+    public static boolean recordIfTimeout(Throwable ex) {
+        if (!isTimeout(ex)) {
+            return false;
+        }
+        RequestDeadline deadline = current();
+        if (deadline != null) {
+            deadline.exceeded = true;
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@code ex} is, at any depth, a deadline or a MongoDB operation timeout, without marking anything.
+     */
+    public static boolean isTimeout(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof MongoOperationTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Time left, at least one millisecond; throws {@link DeadlineExceededException} once none is left. Unlimited
+     * once {@linkplain #isLifted() lifted}.
+     */
+    public long remainingMillis() {
+        if (isLifted()) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = (expiresAt - System.nanoTime()) / 1_000_000;
+        if (remaining <= 0) {
+            exceeded = true;
+            throw new DeadlineExceededException("Deadline of " + timeout.toMillis() + " ms for " + endpoint + " exceeded");
+        }
+        return remaining;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public boolean isUntilFirstByte() {
+        return untilFirstByte;
+    }
+
+    /**
+     * Whether this is a deadline until the first byte and the response has started.
+     */
+    public boolean isLifted() {
+        return untilFirstByte && responseStarted;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    void responseStarted() {
+        responseStarted = true;
+    }
+}
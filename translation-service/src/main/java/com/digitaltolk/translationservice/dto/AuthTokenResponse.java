@@ -0,0 +1,19 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Tokens issued on login or refresh")
+public class AuthTokenResponse {
+
+    @Schema(description = "JWT for the Authorization header", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6...")
+    private String token;
+
+    @Schema(description = "Single-use token for POST /auth/refresh", example = "q1w2e3r4t5y6u7i8o9p0...")
+    private String refreshToken;
+}
@@ -0,0 +1,16 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a filtered delete")
+public class BulkDeleteResultDto {
+
+    @Schema(description = "Number of translations deleted", example = "42")
+    private long deleted;
+}
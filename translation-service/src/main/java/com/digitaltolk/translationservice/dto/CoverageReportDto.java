@@ -0,0 +1,39 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Per-locale coverage and, for a target locale, the keys that need translating")
+public class CoverageReportDto {
+
+    @Schema(description = "Locale the other locales are compared against", example = "en")
+    private String sourceLocale;
+
+    @Schema(description = "Number of keys in the source locale", example = "50000")
+    private long sourceKeys;
+
+    @Schema(description = "Coverage of every known locale")
+    private List<LocaleCoverageDto> locales;
+
+    @Schema(description = "Locale the key lists refer to, if one was requested", example = "fr")
+    private String targetLocale;
+
+    @Schema(description = "Page of source keys with no translation in the target locale")
+    private List<String> missingKeys;
+
+    @Schema(description = "Page of keys whose source content changed after the target translation was last updated")
+    private List<String> staleKeys;
+
+    @Schema(description = "Zero-based page of the key lists", example = "0")
+    private int page;
+
+    @Schema(description = "Page size of the key lists", example = "100")
+    private int size;
+}
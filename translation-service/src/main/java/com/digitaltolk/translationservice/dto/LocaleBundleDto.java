@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Translations of a locale with fallback already applied")
+public class LocaleBundleDto {
+
+    @Schema(description = "Requested locale", example = "fr-CA")
+    private String locale;
+
+    @Schema(description = "Locales consulted, in priority order", example = "[\"fr-CA\",\"fr\",\"en\"]")
+    private List<String> fallbackChain;
+
+    @Schema(description = "Effective translation per key")
+    private Map<String, ResolvedTranslationDto> translations;
+}
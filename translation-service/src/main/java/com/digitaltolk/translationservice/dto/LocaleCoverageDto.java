@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Translation coverage of one locale relative to the source locale")
+public class LocaleCoverageDto {
+
+    @Schema(description = "Locale code", example = "fr")
+    private String locale;
+
+    @Schema(description = "Number of keys translated in this locale", example = "48210")
+    private long keys;
+
+    @Schema(description = "Number of source keys without a translation in this locale", example = "1790")
+    private long missingKeys;
+
+    @Schema(description = "Share of source keys translated in this locale, 0..1", example = "0.964")
+    private double coverage;
+}
@@ -0,0 +1,43 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Batch of messages to render")
+public class RenderRequestDto {
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Schema(description = "Messages to render, answered in the same order")
+    private List<@Valid Message> messages;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "A key to render in a locale")
+    public static class Message {
+
+        @NotBlank
+        @Schema(description = "Translation key", example = "cart.items")
+        private String key;
+
+        @NotBlank
+        @Schema(description = "Locale to render in; falls back like locale bundles", example = "fr-CA")
+        private String locale;
+
+        @Schema(description = "Values for the pattern's named arguments", example = "{\"count\": 3}")
+        private Map<String, Object> arguments;
+    }
+}
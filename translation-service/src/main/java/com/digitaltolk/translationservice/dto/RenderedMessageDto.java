@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Result of rendering one message; either text or error is set")
+public class RenderedMessageDto {
+
+    @Schema(description = "Translation key", example = "cart.items")
+    private String key;
+
+    @Schema(description = "Requested locale", example = "fr-CA")
+    private String locale;
+
+    @Schema(description = "Locale the pattern was taken from", example = "fr")
+    private String sourceLocale;
+
+    @Schema(description = "Formatted message", example = "3 articles")
+    private String text;
+
+    @Schema(description = "Why the message could not be rendered", example = "Translation not found")
+    private String error;
+}
@@ -0,0 +1,19 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Effective content of a key after locale fallback")
+public class ResolvedTranslationDto {
+
+    @Schema(description = "The resolved translation text", example = "Bonjour")
+    private String content;
+
+    @Schema(description = "Locale the content was taken from", example = "fr")
+    private String sourceLocale;
+}
@@ -0,0 +1,52 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "One change to a translation; fields that did not change are omitted")
+public class RevisionDto {
+
+    @Schema(description = "Revision number, increasing per translation", example = "3")
+    private long revision;
+
+    @Schema(description = "create, update or delete", example = "update")
+    private String type;
+
+    @Schema(description = "Key after the change", example = "greeting.hello")
+    private String key;
+
+    @Schema(description = "Locale after the change", example = "en")
+    private String locale;
+
+    @Schema(description = "Key before the change, if it changed", example = "greeting.hi")
+    private String previousKey;
+
+    @Schema(description = "Locale before the change, if it changed", example = "en-GB")
+    private String previousLocale;
+
+    @Schema(description = "Content before the change", example = "Hello")
+    private String previousContent;
+
+    @Schema(description = "Content after the change", example = "Hello there")
+    private String content;
+
+    @Schema(description = "Tags before the change", example = "[\"welcome\"]")
+    private Set<String> previousTags;
+
+    @Schema(description = "Tags after the change", example = "[\"welcome\",\"homepage\"]")
+    private Set<String> tags;
+
+    @Schema(description = "User who made the change", example = "alice")
+    private String user;
+
+    @Schema(description = "Date and time of the change", example = "2025-08-14T12:45:00")
+    private LocalDateTime changedAt;
+}
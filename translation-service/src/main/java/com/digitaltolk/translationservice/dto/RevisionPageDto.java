@@ -0,0 +1,20 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "A page of revisions, newest first")
+public class RevisionPageDto {
+
+    private List<RevisionDto> revisions;
+
+    @Schema(description = "Pass as 'before' to get the next page; absent on the last page", example = "41")
+    private Long nextBefore;
+}
@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Existing translation similar to a given text")
+public class SimilarTranslationDto {
+
+    @Schema(description = "Unique identifier of the translation", example = "123")
+    private String id;
+
+    @Schema(description = "Translation key", example = "greeting.hello")
+    private String key;
+
+    @Schema(description = "Locale code", example = "en")
+    private String locale;
+
+    @Schema(description = "The existing translation text", example = "Hello there")
+    private String content;
+
+    @Schema(description = "Jaccard similarity of character shingles, 0..1", example = "0.82")
+    private double score;
+}
@@ -0,0 +1,27 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Marker left by a deleted translation")
+public class TombstoneDto {
+
+    @Schema(description = "Identifier of the deleted translation", example = "123")
+    private String id;
+
+    @Schema(description = "Key of the deleted translation", example = "greeting.hello")
+    private String key;
+
+    @Schema(description = "Locale of the deleted translation", example = "en")
+    private String locale;
+
+    @Schema(description = "Date and time of the delete", example = "2025-08-14T12:45:00")
+    private LocalDateTime deletedAt;
+}
@@ -1,5 +1,6 @@
 package com.digitaltolk.translationservice.dto;
 
+import com.digitaltolk.translationservice.render.ValidMessagePattern;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -19,13 +20,17 @@ public class TranslationDto {
     @Schema(description = "Unique identifier of the translation", example = "123")
     private String id;
 
+    @Schema(description = "Project the translation belongs to", example = "default", accessMode = Schema.AccessMode.READ_ONLY)
+    private String projectId;
+
     @NotBlank
     @Size(max = 255)
     @Schema(description = "Translation key used for lookup", example = "greeting.hello")
     private String key;
 
     @NotBlank
-    @Schema(description = "The actual translation text", example = "Hello")
+    @ValidMessagePattern
+    @Schema(description = "The actual translation text, an ICU message pattern", example = "Hello {name}")
     private String content;
 
     @NotBlank
@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Translation counts maintained on every write")
+public class TranslationStatsDto {
+
+    @Schema(description = "Total number of translations", example = "100000")
+    private long total;
+
+    @Schema(description = "Number of translations per locale")
+    private Map<String, Long> locales;
+
+    @Schema(description = "Number of translations per tag")
+    private Map<String, Long> tags;
+
+    @Schema(description = "When the counters were last recomputed from the translations")
+    private Date reconciledAt;
+}
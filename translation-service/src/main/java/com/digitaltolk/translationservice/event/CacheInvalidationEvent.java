@@ -0,0 +1,24 @@
+package com.digitaltolk.translationservice.event;
+
+import java.util.Set;
+
+/**
+ * Tells local caches which entries are stale. Raised for writes on this node as well as for writes
+ * received from other nodes through {@code CacheInvalidationBus}. Ids, locales and keys refer to entries of the
+ * listed projects.
+ */
+public record CacheInvalidationEvent(Set<String> projects, Set<String> ids, Set<String> locales, Set<String> keys,
+                                     boolean all, boolean remote) {
+
+    public static CacheInvalidationEvent everything(boolean remote) {
+        return new CacheInvalidationEvent(Set.of(), Set.of(), Set.of(), Set.of(), true, remote);
+    }
+
+    public boolean affectsProject(String project) {
+        return all || projects.contains(project);
+    }
+
+    public boolean affectsLocale(String project, String locale) {
+        return all || (projects.contains(project) && locales.contains(locale));
+    }
+}
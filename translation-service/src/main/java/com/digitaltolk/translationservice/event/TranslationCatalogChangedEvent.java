@@ -0,0 +1,8 @@
+package com.digitaltolk.translationservice.event;
+
+/**
+ * Published after bulk operations (e.g. seeding) that bypass the per-document write path,
+ * so anything derived from the catalog has to be rebuilt rather than patched.
+ */
+public record TranslationCatalogChangedEvent(String reason) {
+}
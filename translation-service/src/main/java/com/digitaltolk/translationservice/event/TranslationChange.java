@@ -0,0 +1,17 @@
+package com.digitaltolk.translationservice.event;
+
+import com.digitaltolk.translationservice.model.Translation;
+
+/**
+ * A single committed write. {@code previous} is null for creates and {@code current} is null for deletes.
+ */
+public record TranslationChange(Translation previous, Translation current) {
+
+    public boolean isCreate() {
+        return previous == null && current != null;
+    }
+
+    public boolean isDelete() {
+        return previous != null && current == null;
+    }
+}
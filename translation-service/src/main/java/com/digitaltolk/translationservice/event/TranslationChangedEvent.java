@@ -0,0 +1,15 @@
+package com.digitaltolk.translationservice.event;
+
+import com.digitaltolk.translationservice.model.Translation;
+
+import java.util.List;
+
+/**
+ * Published by {@code TranslationService} after writes have been persisted.
+ */
+public record TranslationChangedEvent(List<TranslationChange> changes) {
+
+    public static TranslationChangedEvent of(Translation previous, Translation current) {
+        return new TranslationChangedEvent(List.of(new TranslationChange(previous, current)));
+    }
+}
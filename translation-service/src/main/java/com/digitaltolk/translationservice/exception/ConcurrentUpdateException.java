@@ -0,0 +1,7 @@
+package com.digitaltolk.translationservice.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
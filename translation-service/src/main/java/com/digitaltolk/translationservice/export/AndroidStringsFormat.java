@@ -0,0 +1,126 @@
+package com.digitaltolk.translationservice.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Android {@code strings.xml}, in the {@code values-} directory of the locale's resource qualifier. Resource names
+ * only allow letters, digits, dots and underscores, so other characters in keys become underscores. A key that ends
+ * up with the name of an earlier rewritten key, e.g. {@code a-b} or {@code a_b} after {@code a b}, is skipped with a
+ * warning.
+ */
+@Slf4j
+@Component
+public class AndroidStringsFormat extends XmlExportFormat {
+
+    @Override
+    public String name() {
+        return "android";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.APPLICATION_XML;
+    }
+
+    @Override
+    public String extension() {
+        return "xml";
+    }
+
+    @Override
+    public String fileName(String locale) {
+        return "values-" + qualifier(locale) + "/strings.xml";
+    }
+
+    @Override
+    protected void writeDocument(ExportFile file, Iterator<ExportEntry> entries, XMLStreamWriter xml)
+            throws XMLStreamException {
+        xml.writeCharacters("\n");
+        xml.writeStartElement("resources");
+        // Only rewritten names are remembered, so a catalog of valid names, snake_case or dotted, remembers none.
+        Map<String, String> keysByName = new HashMap<>();
+        while (entries.hasNext()) {
+            ExportEntry entry = entries.next();
+            if (entry.target() == null) {
+                continue;
+            }
+            String name = resourceName(entry.key());
+            String taken = name.equals(entry.key())
+                    ? keysByName.get(name)
+                    : keysByName.putIfAbsent(name, entry.key());
+            if (taken != null) {
+                log.warn("Skipped key '{}' in the Android export of {}/{}: its resource name {} is taken by key '{}'",
+                        entry.key(), file.project(), file.locale(), name, taken);
+                continue;
+            }
+            indent(xml, 1);
+            xml.writeStartElement("string");
+            xml.writeAttribute("name", name);
+            xml.writeCharacters(escape(entry.target()));
+            xml.writeEndElement();
+        }
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+    }
+
+    /**
+     * {@code fr}, {@code pt-rBR}, or the {@code b+} form for tags with a script or variant.
+     */
+    static String qualifier(String locale) {
+        Locale parsed = Locale.forLanguageTag(locale.replace('_', '-'));
+        if (parsed.getLanguage().isEmpty() || !parsed.getScript().isEmpty() || !parsed.getVariant().isEmpty()) {
+            return "b+" + locale.replace('_', '+').replace('-', '+');
+        }
+        return parsed.getCountry().isEmpty() ? parsed.getLanguage() : parsed.getLanguage() + "-r" + parsed.getCountry();
+    }
+
+    static String resourceName(String key) {
+        StringBuilder name = new StringBuilder(key.length() + 1);
+        for (char c : key.toCharArray()) {
+            boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '_';
+            name.append(allowed ? c : '_');
+        }
+        if (name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+            name.insert(0, '_');
+        }
+        return name.toString();
+    }
+
+    /**
+     * Android resource escaping, before XML escaping. Android collapses runs of whitespace and trims the ends unless
+     * the value is quoted, so such values are quoted.
+     */
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\'' -> escaped.append("\\'");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                case '\t' -> escaped.append("\\t");
+                case '@', '?' -> escaped.append(i == 0 ? "\\" : "").append(c);
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append("\\u%04x".formatted((int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        boolean preserveWhitespace = !value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+                || Character.isWhitespace(value.charAt(value.length() - 1)) || value.contains("  "));
+        return text(preserveWhitespace ? "\"" + escaped + "\"" : escaped.toString());
+    }
+}
@@ -0,0 +1,72 @@
+package com.digitaltolk.translationservice.export;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Apple {@code Localizable.strings} in the locale's {@code .lproj} directory, as UTF-8.
+ */
+@Component
+public class AppleStringsFormat implements ExportFormat {
+
+    @Override
+    public String name() {
+        return "strings";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String extension() {
+        return "strings";
+    }
+
+    @Override
+    public String fileName(String locale) {
+        return locale.replace('_', '-') + ".lproj/Localizable.strings";
+    }
+
+    @Override
+    public void write(ExportFile file, Iterator<ExportEntry> entries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        while (entries.hasNext()) {
+            ExportEntry entry = entries.next();
+            if (entry.target() != null) {
+                writer.write("\"" + escape(entry.key()) + "\" = \"" + escape(entry.target()) + "\";\n");
+            }
+        }
+        writer.flush();
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append("\\U%04x".formatted((int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.digitaltolk.translationservice.export;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A file format for {@code /api/translations/export?format=}. Every implementation registered as a bean is offered.
+ * Writers get one locale's entries in key order straight from the store cursor and must write each one as it
+ * comes, without collecting them.
+ */
+public interface ExportFormat {
+
+    /**
+     * Value of the {@code format} parameter.
+     */
+    String name();
+
+    MediaType mediaType();
+
+    String extension();
+
+    /**
+     * Path of the locale's file inside a multi-locale zip.
+     */
+    default String fileName(String locale) {
+        return locale + "." + extension();
+    }
+
+    /**
+     * Whether entries should carry the source locale's text; if not, only the exported locale is read.
+     */
+    default boolean needsSource() {
+        return false;
+    }
+
+    /**
+     * Writes one file. {@code out} must be flushed but not closed, as the next file of a zip may follow.
+     */
+    void write(ExportFile file, Iterator<ExportEntry> entries, OutputStream out) throws IOException;
+
+    record ExportFile(String project, String sourceLocale, String locale) {
+    }
+
+    /**
+     * One key of the exported locale. {@code source} is null when the format does not need it or the key has no
+     * source text, and {@code target} is null when the key is not translated into the exported locale yet.
+     */
+    record ExportEntry(String key, String source, String target) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.digitaltolk.translationservice.export;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * gettext {@code .po}: the key is the {@code msgctxt}, the source text the {@code msgid} (the key when there is
+ * none) and the translation the {@code msgstr}, empty when the key is not translated yet.
+ */
+@Component
+public class GettextFormat implements ExportFormat {
+
+    @Override
+    public String name() {
+        return "po";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return MediaType.parseMediaType("text/x-gettext-translation;charset=UTF-8");
+    }
+
+    @Override
+    public String extension() {
+        return "po";
+    }
+
+    @Override
+    public boolean needsSource() {
+        return true;
+    }
+
+    @Override
+    public void write(ExportFile file, Iterator<ExportEntry> entries, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("msgid \"\"\nmsgstr \"\"\n");
+        writer.write("\"Content-Type: text/plain; charset=UTF-8\\n\"\n");
+        writer.write("\"Content-Transfer-Encoding: 8bit\\n\"\n");
+        writer.write("\"Language: " + file.locale().replace('-', '_') + "\\n\"\n");
+        while (entries.hasNext()) {
+            ExportEntry entry = entries.next();
+            writer.write('\n');
+            writeString(writer, "msgctxt", entry.key());
+            writeString(writer, "msgid", entry.source() != null ? entry.source() : entry.key());
+            writeString(writer, "msgstr", entry.target() != null ? entry.target() : "");
+        }
+        writer.flush();
+    }
+
+    /**
+     * Multi-line strings are written as an empty first line followed by one line per {@code \n}, as gettext does.
+     */
+    static void writeString(Writer writer, String keyword, String value) throws IOException {
+        writer.write(keyword);
+        int newline = value.indexOf('\n');
+        if (newline < 0 || newline == value.length() - 1) {
+            writer.write(" \"" + escape(value) + "\"\n");
+            return;
+        }
+        writer.write(" \"\"\n");
+        int start = 0;
+        while (start < value.length()) {
+            int end = value.indexOf('\n', start);
+            end = end < 0 ? value.length() : end + 1;
+            writer.write("\"" + escape(value.substring(start, end)) + "\"\n");
+            start = end;
+        }
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append("\\%03o".formatted((int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
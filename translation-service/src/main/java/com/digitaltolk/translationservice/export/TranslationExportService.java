@@ -0,0 +1,194 @@
+package com.digitaltolk.translationservice.export;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.deadline.RequestDeadline;
+import com.digitaltolk.translationservice.export.ExportFormat.ExportEntry;
+import com.digitaltolk.translationservice.export.ExportFormat.ExportFile;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.profiling.SerializationEvent;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams translations into the {@link ExportFormat}s: one file for a single locale, or a zip with one file per
+ * locale. Each file is written from its own store cursor in key order, so memory does not grow with the catalog.
+ */
+@Service
+@Observed(name = "translation.export")
+public class TranslationExportService {
+
+    private static final Pattern LOCALE = Pattern.compile("[A-Za-z0-9]+([_-][A-Za-z0-9]+)*");
+
+    private final TranslationStore translationStore;
+    private final LocaleFallbackProperties localeProperties;
+    private final Map<String, ExportFormat> formats = new TreeMap<>();
+
+    public TranslationExportService(TranslationStore translationStore,
+                                    LocaleFallbackProperties localeProperties,
+                                    List<ExportFormat> formats) {
+        this.translationStore = translationStore;
+        this.localeProperties = localeProperties;
+        formats.forEach(format -> this.formats.put(format.name(), format));
+    }
+
+    /**
+     * Checks the request before anything is written; errors found later can no longer change the response status.
+     */
+    public Export prepare(String format, Collection<String> locales, String sourceLocale) {
+        ExportFormat exportFormat = formats.get(format);
+        if (exportFormat == null) {
+            throw new IllegalArgumentException("Unknown export format '" + format + "', expected one of " + formats.keySet());
+        }
+        if (locales == null || locales.isEmpty()) {
+            throw new IllegalArgumentException("At least one locale is required");
+        }
+        String source = sourceLocale != null ? sourceLocale : localeProperties.getDefaultLocale();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(locales));
+        for (String locale : distinct) {
+            checkLocale(locale);
+        }
+        checkLocale(source);
+        return new Export(exportFormat, ProjectContext.current(), source, List.copyOf(distinct));
+    }
+
+    public void write(Export export, OutputStream out) throws IOException {
+        SerializationEvent event = new SerializationEvent(export.format().name(), 0);
+        event.begin();
+        CountingOutputStream counted = new CountingOutputStream(out);
+        int entries = 0;
+        if (!export.zipped()) {
+            entries = writeFile(export, export.locales().getFirst(), counted);
+        } else {
+            ZipOutputStream zip = new ZipOutputStream(counted);
+            for (String locale : export.locales()) {
+                zip.putNextEntry(new ZipEntry(export.format().fileName(locale)));
+                entries += writeFile(export, locale, zip);
+                zip.closeEntry();
+            }
+            // Ends the archive without closing the response.
+            zip.finish();
+        }
+        counted.flush();
+        event.finish(entries, counted.count);
+    }
+
+    private int writeFile(Export export, String locale, OutputStream out) throws IOException {
+        ExportFile file = new ExportFile(export.project(), export.sourceLocale(), locale);
+        boolean withSource = export.format().needsSource();
+        Set<String> read = withSource ? new HashSet<>(List.of(export.sourceLocale(), locale)) : Set.of(locale);
+        try (Stream<Translation> translations = translationStore.streamByLocales(export.project(), read)) {
+            KeyGroups entries = new KeyGroups(translations.iterator(), withSource ? export.sourceLocale() : null, locale);
+            export.format().write(file, entries, out);
+            return entries.count;
+        }
+    }
+
+    private static void checkLocale(String locale) {
+        // Locales end up in file names and zip entries.
+        if (!LOCALE.matcher(locale).matches()) {
+            throw new IllegalArgumentException("Invalid locale '" + locale + "'");
+        }
+    }
+
+    /**
+     * A validated export request of the current project.
+     */
+    public record Export(ExportFormat format, String project, String sourceLocale, List<String> locales) {
+
+        public boolean zipped() {
+            return locales.size() > 1;
+        }
+
+        public MediaType mediaType() {
+            return zipped() ? MediaType.parseMediaType("application/zip") : format.mediaType();
+        }
+
+        public String fileName() {
+            return zipped() ? "translations-" + format.name() + ".zip"
+                    : "translations-" + locales.getFirst() + "." + format.extension();
+        }
+    }
+
+    /**
+     * Folds the translations of one key, which the store returns together, into one entry.
+     */
+    static final class KeyGroups implements Iterator<ExportEntry> {
+
+        private static final int DEADLINE_CHECK_INTERVAL = 1024;
+
+        private final Iterator<Translation> translations;
+        private final String sourceLocale;
+        private final String locale;
+        private Translation pending;
+        private int count;
+
+        KeyGroups(Iterator<Translation> translations, String sourceLocale, String locale) {
+            this.translations = translations;
+            this.sourceLocale = sourceLocale;
+            this.locale = locale;
+            this.pending = translations.hasNext() ? translations.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public ExportEntry next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            String key = pending.getKey();
+            String source = null;
+            String target = null;
+            while (pending != null && pending.getKey().equals(key)) {
+                if (pending.getLocale().equals(sourceLocale)) {
+                    source = pending.getContent();
+                }
+                if (pending.getLocale().equals(locale)) {
+                    target = pending.getContent();
+                }
+                pending = translations.hasNext() ? translations.next() : null;
+            }
+            if (++count % DEADLINE_CHECK_INTERVAL == 0) {
+                // Stores that are not MongoDB do not enforce the deadline themselves.
+                RequestDeadline.check();
+            }
+            return new ExportEntry(key, source, target);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.digitaltolk.translationservice.export;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.Iterator;
+
+/**
+ * XLIFF 1.2: one {@code trans-unit} per key of the source locale or the exported one, identified by the key.
+ * Untranslated keys have no {@code target}.
+ */
+@Component
+public class Xliff12Format extends XmlExportFormat {
+
+    static final String NAMESPACE = "urn:oasis:names:tc:xliff:document:1.2";
+
+    @Override
+    public String name() {
+        return "xliff12";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return Xliff20Format.XLIFF;
+    }
+
+    @Override
+    public String extension() {
+        return "xlf";
+    }
+
+    @Override
+    public boolean needsSource() {
+        return true;
+    }
+
+    @Override
+    protected void writeDocument(ExportFile file, Iterator<ExportEntry> entries, XMLStreamWriter xml)
+            throws XMLStreamException {
+        xml.writeCharacters("\n");
+        xml.writeStartElement("xliff");
+        xml.writeDefaultNamespace(NAMESPACE);
+        xml.writeAttribute("version", "1.2");
+        indent(xml, 1);
+        xml.writeStartElement("file");
+        xml.writeAttribute("original", text(file.project()));
+        xml.writeAttribute("source-language", file.sourceLocale());
+        xml.writeAttribute("target-language", file.locale());
+        xml.writeAttribute("datatype", "plaintext");
+        indent(xml, 2);
+        xml.writeStartElement("body");
+        while (entries.hasNext()) {
+            ExportEntry entry = entries.next();
+            indent(xml, 3);
+            xml.writeStartElement("trans-unit");
+            xml.writeAttribute("id", text(entry.key()));
+            xml.writeAttribute("resname", text(entry.key()));
+            indent(xml, 4);
+            element(xml, "source", entry.source());
+            if (entry.target() != null) {
+                indent(xml, 4);
+                element(xml, "target", entry.target());
+            }
+            indent(xml, 3);
+            xml.writeEndElement();
+        }
+        indent(xml, 2);
+        xml.writeEndElement();
+        indent(xml, 1);
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+    }
+}
@@ -0,0 +1,97 @@
+package com.digitaltolk.translationservice.export;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * XLIFF 2.0: one {@code unit} per key of the source locale or the exported one, named after the key. Untranslated
+ * keys have no {@code target}.
+ */
+@Component
+public class Xliff20Format extends XmlExportFormat {
+
+    static final MediaType XLIFF = MediaType.parseMediaType("application/xliff+xml");
+    static final String NAMESPACE = "urn:oasis:names:tc:xliff:document:2.0";
+
+    private static final Pattern NAME_CHARACTER = Pattern.compile("[\\p{L}\\p{N}._\\-]");
+
+    @Override
+    public String name() {
+        return "xliff20";
+    }
+
+    @Override
+    public MediaType mediaType() {
+        return XLIFF;
+    }
+
+    @Override
+    public String extension() {
+        return "xlf";
+    }
+
+    @Override
+    public boolean needsSource() {
+        return true;
+    }
+
+    @Override
+    protected void writeDocument(ExportFile file, Iterator<ExportEntry> entries, XMLStreamWriter xml)
+            throws XMLStreamException {
+        xml.writeCharacters("\n");
+        xml.writeStartElement("xliff");
+        xml.writeDefaultNamespace(NAMESPACE);
+        xml.writeAttribute("version", "2.0");
+        xml.writeAttribute("srcLang", file.sourceLocale());
+        xml.writeAttribute("trgLang", file.locale());
+        indent(xml, 1);
+        xml.writeStartElement("file");
+        xml.writeAttribute("id", unitId(file.project()));
+        xml.writeAttribute("original", text(file.project()));
+        while (entries.hasNext()) {
+            ExportEntry entry = entries.next();
+            indent(xml, 2);
+            xml.writeStartElement("unit");
+            xml.writeAttribute("id", unitId(entry.key()));
+            xml.writeAttribute("name", text(entry.key()));
+            indent(xml, 3);
+            xml.writeStartElement("segment");
+            indent(xml, 4);
+            element(xml, "source", entry.source());
+            if (entry.target() != null) {
+                indent(xml, 4);
+                element(xml, "target", entry.target());
+            }
+            indent(xml, 3);
+            xml.writeEndElement();
+            indent(xml, 2);
+            xml.writeEndElement();
+        }
+        indent(xml, 1);
+        xml.writeEndElement();
+        xml.writeCharacters("\n");
+        xml.writeEndElement();
+    }
+
+    /**
+     * Ids must be NMTOKENs. Other characters, and the colon used to escape them, become {@code :<hex>:}, so
+     * distinct keys keep distinct ids.
+     */
+    static String unitId(String key) {
+        StringBuilder id = new StringBuilder(key.length());
+        key.codePoints().forEach(codePoint -> {
+            String character = Character.toString(codePoint);
+            if (NAME_CHARACTER.matcher(character).matches()) {
+                id.append(character);
+            } else {
+                id.append(':').append(Integer.toHexString(codePoint)).append(':');
+            }
+        });
+        return id.toString();
+    }
+}
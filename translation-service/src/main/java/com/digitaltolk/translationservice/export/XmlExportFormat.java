@@ -0,0 +1,67 @@
+package com.digitaltolk.translationservice.export;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Base of the XML formats. {@link XMLStreamWriter} escapes markup in text and attributes; {@link #text} also drops
+ * the characters XML 1.0 cannot carry at all.
+ */
+abstract class XmlExportFormat implements ExportFormat {
+
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+
+    @Override
+    public final void write(ExportFile file, Iterator<ExportEntry> entries, OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter xml = FACTORY.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            writeDocument(file, entries, xml);
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            // Closing the writer leaves the stream open.
+            xml.close();
+            out.flush();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Could not write " + name() + " export", ex);
+        }
+    }
+
+    protected abstract void writeDocument(ExportFile file, Iterator<ExportEntry> entries, XMLStreamWriter xml)
+            throws XMLStreamException;
+
+    protected static void indent(XMLStreamWriter xml, int depth) throws XMLStreamException {
+        xml.writeCharacters("\n" + "    ".repeat(depth));
+    }
+
+    protected static void element(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(text(value));
+        xml.writeEndElement();
+    }
+
+    static String text(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder result = null;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            boolean allowed = codePoint == '\t' || codePoint == '\n' || codePoint == '\r'
+                    || (codePoint >= 0x20 && codePoint <= 0xD7FF) || (codePoint >= 0xE000 && codePoint <= 0xFFFD)
+                    || codePoint >= 0x10000;
+            if (!allowed && result == null) {
+                result = new StringBuilder(value.length()).append(value, 0, i);
+            }
+            if (allowed && result != null) {
+                result.appendCodePoint(codePoint);
+            }
+            i += Character.charCount(codePoint);
+        }
+        return result == null ? value : result.toString();
+    }
+}
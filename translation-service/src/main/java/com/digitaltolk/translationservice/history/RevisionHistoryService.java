@@ -0,0 +1,183 @@
+package com.digitaltolk.translationservice.history;
+
+import com.digitaltolk.translationservice.config.RevisionHistoryProperties;
+import com.digitaltolk.translationservice.dto.RevisionDto;
+import com.digitaltolk.translationservice.dto.RevisionPageDto;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.migration.IndexContributor;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationRevision;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Revision history of translations, kept off the write path. A write stages its revision in the translation's
+ * {@code pendingRevisions} outbox, which is saved in the same document write; after the write the revision is
+ * queued for {@link RevisionWriter}. A periodic sweep queues outbox entries the writer never got to, so a full
+ * queue or a crash delays history but does not lose it. Deletes carry no outbox and rely on the queue alone.
+ * Bulk seeding is not recorded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevisionHistoryService implements IndexContributor {
+
+    private static final String SYSTEM_USER = "system";
+
+    private final MongoTemplate mongoTemplate;
+    private final RevisionWriter revisionWriter;
+    private final ModelMapperWrapper modelMapperWrapper;
+    private final RevisionHistoryProperties properties;
+
+    /**
+     * Numbers {@code current} and adds its revision to the outbox; call before saving it. The save must only succeed
+     * if the stored revision is still the previous one (see {@code TranslationStore.replace}), so that no revision
+     * number is handed out twice.
+     */
+    public void stage(Translation previous, Translation current) {
+        long revision = (previous != null && previous.getRevision() != null ? previous.getRevision() : 0) + 1;
+        current.setRevision(revision);
+
+        List<TranslationRevision> pending = new ArrayList<>();
+        if (current.getPendingRevisions() != null) {
+            pending.addAll(current.getPendingRevisions());
+        }
+        pending.add(diff(previous, current, revision));
+        current.setPendingRevisions(pending);
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        for (TranslationChange change : event.changes()) {
+            if (change.current() != null) {
+                if (change.current().getPendingRevisions() != null) {
+                    change.current().getPendingRevisions().forEach(revisionWriter::enqueue);
+                }
+            } else if (change.previous() != null) {
+                Translation previous = change.previous();
+                long revision = (previous.getRevision() != null ? previous.getRevision() : 0) + 1;
+                revisionWriter.enqueue(diff(previous, null, revision));
+            }
+        }
+    }
+
+    /**
+     * Revisions of a translation in the current project, newest first, starting below {@code before}.
+     */
+    public RevisionPageDto getHistory(String translationId, Long before, int limit) {
+        int size = Math.clamp(limit, 1, properties.getMaxPageSize());
+        Criteria criteria = Criteria.where("projectId").is(ProjectContext.current()).and("translationId").is(translationId);
+        if (before != null) {
+            criteria.and("revision").lt(before);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "revision")).limit(size + 1);
+
+        List<TranslationRevision> revisions = mongoTemplate.find(query, TranslationRevision.class);
+        Long next = null;
+        if (revisions.size() > size) {
+            revisions = revisions.subList(0, size);
+            next = revisions.get(size - 1).getRevision();
+        }
+        return new RevisionPageDto(modelMapperWrapper.mapList(revisions, RevisionDto.class), next);
+    }
+
+    @Scheduled(initialDelayString = "${translation.revisions.sweep-interval:5m}",
+            fixedDelayString = "${translation.revisions.sweep-interval:5m}")
+    public void sweep() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getSweepGrace());
+            Query query = Query.query(Criteria.where("pendingRevisions.changedAt").lt(cutoff))
+                    .limit(properties.getQueueCapacity());
+            query.fields().include("pendingRevisions");
+
+            int queued = 0;
+            for (Translation translation : mongoTemplate.find(query, Translation.class)) {
+                for (TranslationRevision revision : translation.getPendingRevisions()) {
+                    if (!revisionWriter.enqueue(revision)) {
+                        log.info("Revision queue full; {} outbox entries queued, the rest wait for the next sweep", queued);
+                        return;
+                    }
+                    queued++;
+                }
+            }
+            if (queued > 0) {
+                log.info("Queued {} revisions left in translation outboxes", queued);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to sweep revision outboxes: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps(TranslationRevision.class).createIndex(new Index()
+                .on("projectId", Sort.Direction.ASC)
+                .on("translationId", Sort.Direction.ASC)
+                .on("revision", Sort.Direction.DESC));
+        // Only translations with unwritten revisions have the field, which keeps the sweep's index small.
+        mongoTemplate.indexOps(Translation.class).createIndex(new Index()
+                .on("pendingRevisions.changedAt", Sort.Direction.ASC)
+                .sparse());
+    }
+
+    private static TranslationRevision diff(Translation previous, Translation current, long revision) {
+        Translation subject = current != null ? current : previous;
+        TranslationRevision.TranslationRevisionBuilder builder = TranslationRevision.builder()
+                .id(subject.getId() + ":" + revision)
+                .translationId(subject.getId())
+                .projectId(ProjectContext.orDefault(subject.getProjectId()))
+                .revision(revision)
+                .key(subject.getKey())
+                .locale(subject.getLocale())
+                .user(currentUser())
+                .changedAt(LocalDateTime.now());
+
+        if (previous == null) {
+            return builder.type(TranslationRevision.CREATE).content(current.getContent()).tags(current.getTags()).build();
+        }
+        if (current == null) {
+            return builder.type(TranslationRevision.DELETE)
+                    .previousContent(previous.getContent()).previousTags(previous.getTags()).build();
+        }
+
+        builder.type(TranslationRevision.UPDATE);
+        if (!Objects.equals(previous.getKey(), current.getKey())) {
+            builder.previousKey(previous.getKey());
+        }
+        if (!Objects.equals(previous.getLocale(), current.getLocale())) {
+            builder.previousLocale(previous.getLocale());
+        }
+        if (!Objects.equals(previous.getContent(), current.getContent())) {
+            builder.previousContent(previous.getContent()).content(current.getContent());
+        }
+        if (!Objects.equals(previous.getTags(), current.getTags())) {
+            builder.previousTags(previous.getTags() == null ? null : new HashSet<>(previous.getTags()))
+                    .tags(current.getTags() == null ? null : new HashSet<>(current.getTags()));
+        }
+        return builder.build();
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_USER;
+    }
+}
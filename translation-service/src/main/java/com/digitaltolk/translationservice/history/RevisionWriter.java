@@ -0,0 +1,192 @@
+package com.digitaltolk.translationservice.history;
+
+import com.digitaltolk.translationservice.config.RevisionHistoryProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationRevision;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends revisions to the history collection in batches from a bounded queue, then removes them from the outbox
+ * of their translations. Inserting a revision that is already there is ignored, so revisions may be queued more
+ * than once, e.g. by the outbox sweep.
+ */
+@Slf4j
+@Component
+public class RevisionWriter implements SmartLifecycle {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final RevisionHistoryProperties properties;
+    private final BlockingQueue<TranslationRevision> queue;
+
+    private final DistributionSummary batchSize;
+    private final Counter dropped;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public RevisionWriter(MongoTemplate mongoTemplate, RevisionHistoryProperties properties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = DistributionSummary.builder("translation.revisions.batch.size").register(meterRegistry);
+        this.dropped = meterRegistry.counter("translation.revisions.dropped");
+        this.failures = meterRegistry.counter("translation.revisions.write.failures");
+        Gauge.builder("translation.revisions.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * Never blocks the write path. Returns false if the queue is full.
+     */
+    public boolean enqueue(TranslationRevision revision) {
+        if (queue.offer(revision)) {
+            return true;
+        }
+        if (TranslationRevision.DELETE.equals(revision.getType())) {
+            // Deletes have no outbox to fall back on; their tombstone still records the delete.
+            dropped.increment();
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("revision-writer")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            try {
+                thread.join(10_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<TranslationRevision> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int i = 0; i < rest.size(); i += properties.getMaxBatchSize()) {
+            write(rest.subList(i, Math.min(rest.size(), i + properties.getMaxBatchSize())));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stop after the web server so revisions of the last requests are still written.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        long maxDelayNanos = properties.getMaxDelay().toNanos();
+        while (running) {
+            try {
+                // Bounded wait so the loop notices stop() without being interrupted mid-write.
+                TranslationRevision first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<TranslationRevision> batch = new ArrayList<>(properties.getMaxBatchSize());
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < properties.getMaxBatchSize()) {
+                    TranslationRevision next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Revision writer failed unexpectedly", ex);
+            }
+        }
+    }
+
+    void write(List<TranslationRevision> batch) {
+        batchSize.record(batch.size());
+        try {
+            insert(batch);
+        } catch (RuntimeException ex) {
+            // Outbox entries stay on their translations and are retried by the next sweep.
+            failures.increment();
+            log.warn("Failed to write {} revisions: {}", batch.size(), ex.getMessage());
+            return;
+        }
+
+        BulkOperations outbox = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Translation.class);
+        int cleared = 0;
+        for (TranslationRevision revision : batch) {
+            if (!TranslationRevision.DELETE.equals(revision.getType())) {
+                outbox.updateOne(Query.query(Criteria.where("_id").is(revision.getTranslationId())),
+                        new Update().pull("pendingRevisions", new Document("revision", revision.getRevision())));
+                cleared++;
+            }
+        }
+        if (cleared > 0) {
+            try {
+                outbox.execute();
+            } catch (RuntimeException ex) {
+                // The sweep queues them again; the duplicate inserts are ignored.
+                log.warn("Failed to clear revision outbox: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void insert(List<TranslationRevision> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TranslationRevision.class)
+                    .insert(batch)
+                    .execute();
+        } catch (BulkOperationException ex) {
+            // Translations are only saved if nobody else claimed the same revision number first, so a duplicate is
+            // a revision queued twice, by the sweep or a retried batch, and already written.
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+            }
+        }
+    }
+}
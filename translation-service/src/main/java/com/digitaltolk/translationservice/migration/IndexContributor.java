@@ -0,0 +1,12 @@
+package com.digitaltolk.translationservice.migration;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Implemented by components that keep collections outside the mapped {@code @Document} types and need
+ * indexes on them. Implementations must be idempotent.
+ */
+public interface IndexContributor {
+
+    void ensureIndexes(MongoTemplate mongoTemplate);
+}
@@ -0,0 +1,49 @@
+package com.digitaltolk.translationservice.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on mapped documents plus those of any {@link IndexContributor}. Replaces
+ * {@code spring.data.mongodb.auto-index-creation}, which made every instance verify all indexes at boot.
+ * Creating an index that already exists with the same definition is a no-op, so this can run on every deploy.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexMigration {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final ObjectProvider<IndexContributor> contributors;
+
+    public void migrate() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity.getType());
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                String name = indexOperations.createIndex(definition);
+                log.info("Ensured index {} on {}", name, entity.getCollection());
+            }
+        }
+
+        contributors.orderedStream().forEach(contributor -> {
+            contributor.ensureIndexes(mongoTemplate);
+            log.info("Ensured indexes of {}", contributor.getClass().getSimpleName());
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.digitaltolk.translationservice.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link ProjectMigration} and {@link IndexMigration} as an explicit step, e.g. {@code java -jar app.jar --spring.profiles.active=migrate}.
+ * The flag is read at runtime rather than through a bean condition so it also works on AOT-processed builds.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    private final ProjectMigration projectMigration;
+    private final IndexMigration indexMigration;
+    private final ApplicationContext applicationContext;
+
+    @Value("${translation.migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${translation.migration.exit-on-completion:false}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        projectMigration.migrate();
+        indexMigration.migrate();
+        log.info("Index migration finished in {} ms", System.currentTimeMillis() - start);
+
+        if (exitOnCompletion) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
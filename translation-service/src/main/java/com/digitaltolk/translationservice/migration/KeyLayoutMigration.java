@@ -0,0 +1,209 @@
+package com.digitaltolk.translationservice.migration;
+
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.model.TranslationKey.LocaleEntry;
+import com.digitaltolk.translationservice.service.TombstoneService;
+import com.digitaltolk.translationservice.store.KeyDocuments;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copies {@code translations} into the {@code document-per-key} layout while the service keeps serving from the
+ * per-locale layout. The copy streams translations in key order and merges each key's locales into its
+ * {@link TranslationKey}; a merge keeps the newer of two versions of an entry and is retried if the document
+ * changed meanwhile, so runs are idempotent and may overlap with writes. Catch-up passes then apply the
+ * translations changed and deleted since the previous pass, until a pass finds nothing or the passes run out.
+ * <p>
+ * To switch: run this, switch {@code translation.storage.layout} to {@code document-per-key}, then run it again
+ * with {@code since} set to the start of the first run's last pass to pick up writes made before the switch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeyLayoutMigration {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    // Writes stamped just before a pass started may commit after its query ran.
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties properties;
+
+    public void migrate() {
+        StorageProperties.Migration migration = properties.getMigration();
+        LocalDateTime since = migration.getSince();
+
+        if (since == null) {
+            LocalDateTime start = LocalDateTime.now();
+            long copied = copy(new Query());
+            log.info("Copied {} translations into {} key documents", copied,
+                    mongoTemplate.estimatedCount(TranslationKey.class));
+            since = start;
+        }
+
+        for (int pass = 1; pass <= migration.getCatchUpPasses(); pass++) {
+            LocalDateTime start = LocalDateTime.now();
+            long changed = catchUp(since.minus(OVERLAP));
+            log.info("Catch-up pass {} applied {} changes since {}", pass, changed, since);
+            since = start;
+            if (changed == 0) {
+                break;
+            }
+        }
+        log.info("Key layout migration done; next run can use since={}", since);
+    }
+
+    private long catchUp(LocalDateTime since) {
+        long changed = 0;
+        for (String project : mongoTemplate.findDistinct(new Query(), "projectId", Translation.class, String.class)) {
+            changed += copy(Query.query(Criteria.where("projectId").is(project).and("updatedAt").gte(since)));
+        }
+
+        Query deletes = Query.query(Criteria.where("deletedAt").gte(Date.from(since.atZone(ZoneId.systemDefault()).toInstant())));
+        Map<String, Set<String>> deletedByProject = mongoTemplate.find(deletes, Document.class, TombstoneService.COLLECTION)
+                .stream()
+                .collect(Collectors.groupingBy(tombstone -> tombstone.getString("projectId"),
+                        Collectors.mapping(tombstone -> tombstone.getString("translationId"), Collectors.toSet())));
+        for (Map.Entry<String, Set<String>> deleted : deletedByProject.entrySet()) {
+            changed += removeEntries(deleted.getKey(), deleted.getValue(), Map.of());
+        }
+        return changed;
+    }
+
+    /**
+     * Merges the translations matching {@code query} into key documents, one batch of keys at a time.
+     */
+    private long copy(Query query) {
+        int batchSize = properties.getMigration().getBatchSize();
+        long copied = 0;
+        List<Translation> batch = new ArrayList<>(batchSize);
+        String currentKey = null;
+
+        query.with(Sort.by("projectId", "key"));
+        try (Stream<Translation> translations = mongoTemplate.stream(query, Translation.class)) {
+            for (Iterator<Translation> it = translations.iterator(); it.hasNext(); ) {
+                Translation translation = it.next();
+                String key = translation.getProjectId() + '\u0000' + translation.getKey();
+                // Only cut a batch between keys, so each key is merged once per pass.
+                if (batch.size() >= batchSize && !key.equals(currentKey)) {
+                    copied += mergeBatch(batch);
+                    batch.clear();
+                }
+                batch.add(translation);
+                currentKey = key;
+            }
+        }
+        if (!batch.isEmpty()) {
+            copied += mergeBatch(batch);
+        }
+        return copied;
+    }
+
+    private long mergeBatch(List<Translation> batch) {
+        Map<String, Map<String, List<Translation>>> byProject = batch.stream()
+                .collect(Collectors.groupingBy(Translation::getProjectId,
+                        Collectors.groupingBy(Translation::getKey, LinkedHashMap::new, Collectors.toList())));
+        long merged = 0;
+        for (Map.Entry<String, Map<String, List<Translation>>> project : byProject.entrySet()) {
+            for (Map.Entry<String, List<Translation>> key : project.getValue().entrySet()) {
+                merged += merge(project.getKey(), key.getKey(), key.getValue());
+            }
+
+            // A translation whose key changed is still in its old key's document.
+            Map<String, String> keyById = project.getValue().values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toMap(Translation::getId, Translation::getKey));
+            removeEntries(project.getKey(), keyById.keySet(), keyById);
+        }
+        return merged;
+    }
+
+    /**
+     * Merges one key's translations into its document and returns how many entries changed.
+     */
+    long merge(String projectId, String key, List<Translation> translations) {
+        Query byKey = Query.query(Criteria.where("projectId").is(projectId).and("key").is(key));
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            TranslationKey document = mongoTemplate.findOne(byKey, TranslationKey.class);
+            if (document == null) {
+                try {
+                    mongoTemplate.insert(KeyDocuments.newDocument(projectId, key, translations));
+                    return translations.size();
+                } catch (DuplicateKeyException ex) {
+                    continue;
+                }
+            }
+
+            Map<String, LocaleEntry> entries = new LinkedHashMap<>();
+            document.getLocales().forEach(entry -> entries.put(entry.getId(), entry));
+            int changed = 0;
+            for (Translation translation : translations) {
+                LocaleEntry current = entries.get(translation.getId());
+                if (current == null || isNewer(translation.getUpdatedAt(), current.getUpdatedAt())) {
+                    entries.put(translation.getId(), KeyDocuments.toEntry(translation, document.getTags()));
+                    changed++;
+                }
+            }
+            if (changed == 0) {
+                return 0;
+            }
+
+            long modified = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(document.getId()).and("version").is(document.getVersion())),
+                    new Update().set("locales", new ArrayList<>(entries.values())).inc("version", 1),
+                    TranslationKey.class).getModifiedCount();
+            if (modified == 1) {
+                return changed;
+            }
+        }
+        throw new IllegalStateException("Key " + key + " of project " + projectId + " kept changing during migration");
+    }
+
+    /**
+     * Removes entries with these ids from the project's key documents, except from the document of the key given
+     * for the id in {@code currentKeys}, and drops documents left empty.
+     */
+    private long removeEntries(String projectId, Set<String> ids, Map<String, String> currentKeys) {
+        long removed = 0;
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("locales.id").in(ids));
+        for (TranslationKey document : mongoTemplate.find(query, TranslationKey.class)) {
+            Set<String> stale = document.getLocales().stream()
+                    .map(LocaleEntry::getId)
+                    .filter(ids::contains)
+                    .filter(id -> !document.getKey().equals(currentKeys.get(id)))
+                    .collect(Collectors.toSet());
+            if (stale.isEmpty()) {
+                continue;
+            }
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(document.getId())),
+                    new Update().pull("locales", new Document("id", new Document("$in", stale))).inc("version", 1),
+                    TranslationKey.class);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(document.getId()).and("locales").size(0)),
+                    TranslationKey.class);
+            removed += stale.size();
+        }
+        return removed;
+    }
+
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime current) {
+        return current == null || (candidate != null && candidate.isAfter(current));
+    }
+}
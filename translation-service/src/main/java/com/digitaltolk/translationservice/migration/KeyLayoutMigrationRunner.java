@@ -0,0 +1,39 @@
+package com.digitaltolk.translationservice.migration;
+
+import com.digitaltolk.translationservice.config.StorageProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link KeyLayoutMigration} as an explicit step, e.g. {@code java -jar app.jar --spring.profiles.active=migrate-layout}.
+ * Without {@code exit-on-completion} it runs next to live traffic on a normal instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeyLayoutMigrationRunner implements ApplicationRunner {
+
+    private final KeyLayoutMigration keyLayoutMigration;
+    private final StorageProperties properties;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.getMigration().isEnabled()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        keyLayoutMigration.migrate();
+        log.info("Key layout migration finished in {} ms", System.currentTimeMillis() - start);
+
+        if (properties.getMigration().isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.digitaltolk.translationservice.migration;
+
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.service.CoverageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Moves data written before projects existed into {@link ProjectContext#DEFAULT}: assigns the project to
+ * translations that have none, drops the single-field translation indexes replaced by the project-led compound
+ * ones, and removes coverage documents in the old per-key layout so the next start rebuilds them. Runs before
+ * {@link IndexMigration} and is a no-op once applied.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectMigration {
+
+    private static final Set<String> LEGACY_INDEX_FIELDS = Set.of("key", "locale", "content", "tags");
+
+    private final MongoTemplate mongoTemplate;
+
+    public void migrate() {
+        long assigned = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("projectId").exists(false)),
+                new Update().set("projectId", ProjectContext.DEFAULT),
+                Translation.class).getModifiedCount();
+        log.info("Assigned {} translations to project {}", assigned, ProjectContext.DEFAULT);
+
+        IndexOperations indexOperations = mongoTemplate.indexOps(Translation.class);
+        for (IndexInfo index : indexOperations.getIndexInfo()) {
+            if (index.getIndexFields().size() == 1
+                    && LEGACY_INDEX_FIELDS.contains(index.getIndexFields().get(0).getKey())) {
+                indexOperations.dropIndex(index.getName());
+                log.info("Dropped legacy index {} on {}", index.getName(), mongoTemplate.getCollectionName(Translation.class));
+            }
+        }
+
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("projectId").exists(false)), CoverageService.COLLECTION)
+                .getDeletedCount();
+        if (removed > 0) {
+            log.info("Removed {} coverage documents without a project", removed);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "refresh_tokens")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+
+    /**
+     * SHA-256 of the token handed to the client; the token itself is never stored.
+     */
+    @Id
+    private String id;
+
+    private String username;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+}
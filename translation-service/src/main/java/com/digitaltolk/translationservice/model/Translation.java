@@ -5,34 +5,55 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Every index leads with {@code projectId}, so a query of one project only walks that project's part of the
+ * index and its cost does not grow with other projects.
+ */
 @Document(collection = "translations")
+@CompoundIndexes({
+        @CompoundIndex(name = "project_locale_key", def = "{'projectId': 1, 'locale': 1, 'key': 1}"),
+        @CompoundIndex(name = "project_key", def = "{'projectId': 1, 'key': 1}"),
+        @CompoundIndex(name = "project_content", def = "{'projectId': 1, 'content': 1}"),
+        @CompoundIndex(name = "project_tags", def = "{'projectId': 1, 'tags': 1}"),
+        @CompoundIndex(name = "project_updated", def = "{'projectId': 1, 'updatedAt': 1}")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Translation {
     @Id
     private String id;
 
-    @Indexed
+    private String projectId;
+
     private String key;
 
-    @Indexed
     private String locale;
 
-    @Indexed
     private String content;
 
-    @Indexed
     private Set<String> tags;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Incremented by every create, update and delete; numbers the translation's revision history.
+     */
+    private Long revision;
+
+    /**
+     * Outbox of revisions saved together with this document but not yet written to the history collection.
+     */
+    private List<TranslationRevision> pendingRevisions;
 }
 
@@ -0,0 +1,73 @@
+package com.digitaltolk.translationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * All locales of one key in one document, used by the {@code document-per-key} storage layout. Each locale entry
+ * keeps the id it has as a {@link Translation}, so ids do not change between layouts. Locales are an array rather
+ * than a map keyed by locale so that locale, tag and content queries can use multikey indexes.
+ * <p>
+ * {@code tags} holds the tags most entries share and is only set when the document is created; an entry stores
+ * its own {@code tags} only when they differ, an empty set meaning no tags.
+ */
+@Document(collection = "translation_keys")
+@CompoundIndexes({
+        @CompoundIndex(name = "project_key", def = "{'projectId': 1, 'key': 1}", unique = true),
+        @CompoundIndex(name = "project_locale", def = "{'projectId': 1, 'locales.locale': 1}"),
+        @CompoundIndex(name = "entry_id", def = "{'locales.id': 1}"),
+        @CompoundIndex(name = "project_content", def = "{'projectId': 1, 'locales.content': 1}"),
+        @CompoundIndex(name = "project_tags", def = "{'projectId': 1, 'tags': 1}"),
+        @CompoundIndex(name = "project_entry_tags", def = "{'projectId': 1, 'locales.tags': 1}")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class TranslationKey {
+    @Id
+    private String id;
+
+    private String projectId;
+
+    private String key;
+
+    private Set<String> tags;
+
+    private List<LocaleEntry> locales;
+
+    /**
+     * Incremented by every write, for optimistic concurrency between the migration and live writes.
+     */
+    private long version;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder(toBuilder = true)
+    public static class LocaleEntry {
+
+        private String id;
+
+        private String locale;
+
+        private String content;
+
+        private Set<String> tags;
+
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        private Long revision;
+    }
+}
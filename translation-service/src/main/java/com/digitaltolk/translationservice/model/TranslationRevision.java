@@ -0,0 +1,62 @@
+package com.digitaltolk.translationservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One change to a translation. Fields that did not change are left null, so an update of the content stores only
+ * the old and new content. Until written to {@code translation_revisions} a revision also sits in the
+ * translation's {@code pendingRevisions}. Indexes are created by {@code RevisionHistoryService}.
+ */
+@Document(collection = "translation_revisions")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TranslationRevision {
+
+    public static final String CREATE = "create";
+    public static final String UPDATE = "update";
+    public static final String DELETE = "delete";
+
+    /**
+     * {@code translationId:revision}, so writing a revision twice is detected as a duplicate.
+     */
+    @Id
+    private String id;
+
+    private String translationId;
+
+    private String projectId;
+
+    private long revision;
+
+    private String type;
+
+    private String key;
+
+    private String locale;
+
+    private String previousKey;
+
+    private String previousLocale;
+
+    private String previousContent;
+
+    private String content;
+
+    private Set<String> previousTags;
+
+    private Set<String> tags;
+
+    private String user;
+
+    private LocalDateTime changedAt;
+}
@@ -2,6 +2,7 @@ package com.digitaltolk.translationservice.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "users")
@@ -11,7 +12,13 @@ public class User {
     @Id
     private String id;
 
+    @Indexed(unique = true)
     private String username;
     private String password;
 
+    /**
+     * Project the user's tokens are bound to; {@code null} for users of {@code ProjectContext.DEFAULT}.
+     */
+    private String projectId;
+
 }
@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing and signature check of one JWT.
+ */
+@Name("com.digitaltolk.JwtVerification")
+@Label("JWT Verification")
+@Category("Translation Service")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Valid")
+    private boolean valid;
+
+    public void finish(boolean valid) {
+        end();
+        if (shouldCommit()) {
+            this.valid = valid;
+            commit();
+        }
+    }
+}
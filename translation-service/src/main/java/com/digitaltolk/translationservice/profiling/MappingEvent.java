@@ -0,0 +1,28 @@
+package com.digitaltolk.translationservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A list mapped by ModelMapper, e.g. documents to DTOs.
+ */
+@Name("com.digitaltolk.Mapping")
+@Label("List Mapping")
+@Category("Translation Service")
+@StackTrace(false)
+public class MappingEvent extends Event {
+
+    @Label("Target Type")
+    private String targetType;
+
+    @Label("Element Count")
+    private int elementCount;
+
+    public MappingEvent(Class<?> targetType, int elementCount) {
+        this.targetType = targetType.getSimpleName();
+        this.elementCount = elementCount;
+    }
+}
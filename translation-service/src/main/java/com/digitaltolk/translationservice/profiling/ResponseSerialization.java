@@ -0,0 +1,85 @@
+package com.digitaltolk.translationservice.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+
+/**
+ * Wraps message converter writes, which happen after the controller returns, in an
+ * {@code http.response.serialization} observation (a span of the request's trace) and, for lists, a
+ * {@link SerializationEvent}.
+ */
+public final class ResponseSerialization {
+
+    public static final String OBSERVATION = "http.response.serialization";
+
+    @FunctionalInterface
+    public interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private ResponseSerialization() {
+    }
+
+    public static void write(String format, Object body, HttpOutputMessage outputMessage,
+                             ObservationRegistry observationRegistry, BodyWriter writer) throws IOException {
+        SerializationEvent event = new SerializationEvent(format, body instanceof Collection<?> c ? c.size() : 0);
+        boolean recordEvent = body instanceof Collection<?> && event.isEnabled();
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("format", format)
+                .start();
+        CountingOutputStream counting = new CountingOutputStream(outputMessage.getBody());
+        try (Observation.Scope ignored = observation.openScope()) {
+            if (recordEvent) {
+                event.begin();
+            }
+            writer.write(new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return counting;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            if (recordEvent) {
+                event.finish(counting.count);
+            }
+        } catch (IOException | RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            observation.highCardinalityKeyValue("bytes", Long.toString(counting.count));
+            observation.stop();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
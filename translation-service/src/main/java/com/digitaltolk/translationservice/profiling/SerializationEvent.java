@@ -0,0 +1,50 @@
+package com.digitaltolk.translationservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Serialization of a list: the CSV and JSON exports, the streaming file exports, and any list response written by a
+ * message converter (see {@link ResponseSerialization}), which includes the CBOR and Smile exports.
+ */
+@Name("com.digitaltolk.Serialization")
+@Label("Translations Serialization")
+@Category("Translation Service")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Format")
+    private String format;
+
+    @Label("Element Count")
+    private int elementCount;
+
+    @Label("Bytes Written")
+    @DataAmount
+    private long bytes;
+
+    public SerializationEvent(String format, int elementCount) {
+        this.format = format;
+        this.elementCount = elementCount;
+    }
+
+    /**
+     * For streamed output, whose element count is only known at the end.
+     */
+    public void finish(int elementCount, long bytes) {
+        this.elementCount = elementCount;
+        finish(bytes);
+    }
+
+    public void finish(long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
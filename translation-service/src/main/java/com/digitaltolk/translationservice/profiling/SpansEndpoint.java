@@ -0,0 +1,45 @@
+package com.digitaltolk.translationservice.profiling;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/spans?traceId=}: the spans held by the {@link InMemorySpanExporter}, newest first.
+ */
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+
+    public record SpanView(String traceId, String spanId, String parentSpanId, String name, String kind,
+                           Instant start, long durationMicros, String status, Map<String, String> attributes) {
+    }
+
+    private final InMemorySpanExporter exporter;
+
+    public SpansEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<SpanView> spans(@Nullable String traceId) {
+        return exporter.getSpans(traceId).stream().map(SpansEndpoint::view).toList();
+    }
+
+    private static SpanView view(SpanData span) {
+        Map<String, String> attributes = new TreeMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return new SpanView(span.getTraceId(), span.getSpanId(),
+                span.getParentSpanContext().isValid() ? span.getParentSpanId() : null,
+                span.getName(), span.getKind().name(),
+                Instant.ofEpochSecond(0, span.getStartEpochNanos()),
+                TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                span.getStatus().getStatusCode().name(), attributes);
+    }
+}
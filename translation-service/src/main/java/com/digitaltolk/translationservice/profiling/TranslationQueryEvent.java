@@ -0,0 +1,45 @@
+package com.digitaltolk.translationservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A translation read against MongoDB, without mapping the result.
+ */
+@Name("com.digitaltolk.TranslationQuery")
+@Label("Translation Query")
+@Category("Translation Service")
+@StackTrace(false)
+public class TranslationQueryEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Project")
+    private String project;
+
+    @Label("Shape")
+    @Description("Queried fields and operators, without values")
+    private String shape;
+
+    @Label("Result Count")
+    private int resultCount;
+
+    public TranslationQueryEvent(String operation, String project, String shape) {
+        this.operation = operation;
+        this.project = project;
+        this.shape = shape;
+    }
+
+    public void finish(int resultCount) {
+        end();
+        if (shouldCommit()) {
+            this.resultCount = resultCount;
+            commit();
+        }
+    }
+}
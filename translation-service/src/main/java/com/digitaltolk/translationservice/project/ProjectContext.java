@@ -0,0 +1,46 @@
+package com.digitaltolk.translationservice.project;
+
+import java.util.regex.Pattern;
+
+/**
+ * Project (tenant) of the current request. Set by {@link ProjectScopeFilter} for the duration of a request;
+ * code running outside a request, such as startup and background work, sees {@link #DEFAULT}.
+ */
+public final class ProjectContext {
+
+    public static final String DEFAULT = "default";
+
+    /**
+     * Project ids are embedded in derived document ids and metric tags, so they never contain a separator.
+     */
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ProjectContext() {
+    }
+
+    public static String current() {
+        String project = CURRENT.get();
+        return project != null ? project : DEFAULT;
+    }
+
+    public static void set(String project) {
+        CURRENT.set(project);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static boolean isValid(String project) {
+        return project != null && VALID.matcher(project).matches();
+    }
+
+    /**
+     * Project of a stored document; translations written before projects existed belong to {@link #DEFAULT}.
+     */
+    public static String orDefault(String project) {
+        return project != null ? project : DEFAULT;
+    }
+}
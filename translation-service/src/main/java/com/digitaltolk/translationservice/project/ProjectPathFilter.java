@@ -0,0 +1,82 @@
+package com.digitaltolk.translationservice.project;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves {@code /api/projects/{projectId}/translations/**} by forwarding it, in place, to the matching
+ * {@code /api/translations/**} endpoint and remembering the project for {@link ProjectScopeFilter}. Runs ahead of
+ * the security chain so authorization rules and controllers only ever see the unscoped paths.
+ */
+public class ProjectPathFilter extends OncePerRequestFilter {
+
+    public static final String PROJECT_ATTRIBUTE = ProjectPathFilter.class.getName() + ".project";
+
+    private static final Pattern PROJECT_PATH = Pattern.compile("^/api/projects/([^/]+)(/translations(?:/.*)?)$");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = PROJECT_PATH.matcher(path);
+        if (!matcher.matches()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String project = matcher.group(1);
+        if (!ProjectContext.isValid(project)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid project id");
+            return;
+        }
+
+        request.setAttribute(PROJECT_ATTRIBUTE, project);
+        filterChain.doFilter(new RewrittenRequest(request, "/api" + matcher.group(2)), response);
+    }
+
+    private static final class RewrittenRequest extends HttpServletRequestWrapper {
+
+        private final String path;
+
+        RewrittenRequest(HttpServletRequest request, String path) {
+            super(request);
+            this.path = path;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + path;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer();
+            url.append(getScheme()).append("://").append(getServerName());
+            if (getServerPort() > 0) {
+                url.append(':').append(getServerPort());
+            }
+            return url.append(getRequestURI());
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.digitaltolk.translationservice.project;
+
+import com.digitaltolk.translationservice.security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the request to a project: the one named in the path (see {@link ProjectPathFilter}), else the one in the
+ * caller's token, else {@link ProjectContext#DEFAULT}. A token may only address its own project; a token without a
+ * project claim belongs to {@link ProjectContext#DEFAULT}. Runs after {@code JwtAuthenticationFilter}, which exposes
+ * the token's claim.
+ */
+@Slf4j
+public class ProjectScopeFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String fromPath = (String) request.getAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE);
+        String tokenProject = ProjectContext.orDefault((String) request.getAttribute(JwtAuthenticationFilter.PROJECT_ATTRIBUTE));
+
+        if (fromPath != null && !fromPath.equals(tokenProject)) {
+            log.debug("Token for project {} used on project {}", tokenProject, fromPath);
+            response.sendError(HttpStatus.FORBIDDEN.value(), "Token is not valid for project " + fromPath);
+            return;
+        }
+
+        ProjectContext.set(tokenProject);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ProjectContext.clear();
+        }
+    }
+}
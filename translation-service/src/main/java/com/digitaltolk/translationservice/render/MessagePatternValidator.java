@@ -0,0 +1,27 @@
+package com.digitaltolk.translationservice.render;
+
+import com.ibm.icu.text.MessageFormat;
+import com.ibm.icu.util.ULocale;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class MessagePatternValidator implements ConstraintValidator<ValidMessagePattern, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        if (value == null) {
+            return true;
+        }
+        try {
+            new MessageFormat(value, ULocale.ROOT);
+            return true;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            context.disableDefaultConstraintViolation();
+            // ICU quotes the offending part of the pattern; keep its braces away from message interpolation.
+            String detail = String.valueOf(e.getMessage()).replaceAll("([{}$\\\\])", "\\\\$1");
+            context.buildConstraintViolationWithTemplate("must be a valid ICU message pattern: " + detail)
+                    .addConstraintViolation();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.digitaltolk.translationservice.render;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.RenderRequestDto;
+import com.digitaltolk.translationservice.dto.RenderedMessageDto;
+import com.digitaltolk.translationservice.dto.ResolvedTranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ibm.icu.text.MessageFormat;
+import com.ibm.icu.util.ULocale;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Renders translations as ICU messages. Patterns are resolved through the locale fallback chain and compiled
+ * once per project, key and source locale; writes drop the compiled form through {@link CacheInvalidationEvent}.
+ */
+@Slf4j
+@Service
+public class MessageRenderService {
+
+    private record FormatKey(String project, String key, String locale) {
+    }
+
+    /**
+     * ICU formats keep lazily created sub-formats and are not thread-safe, so callers lock the instance while
+     * formatting. Formatting is short and never blocks.
+     */
+    private record CompiledMessage(String pattern, MessageFormat format) {
+    }
+
+    private final LocaleBundleService localeBundleService;
+    private final Cache<FormatKey, CompiledMessage> formats;
+
+    public MessageRenderService(LocaleBundleService localeBundleService,
+                                TranslationCacheProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.localeBundleService = localeBundleService;
+        this.formats = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumFormats())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, formats, "translations.formats");
+    }
+
+    public List<RenderedMessageDto> render(List<RenderRequestDto.Message> messages) {
+        String project = ProjectContext.current();
+
+        Map<String, Set<String>> keysByLocale = new HashMap<>();
+        for (RenderRequestDto.Message message : messages) {
+            keysByLocale.computeIfAbsent(message.getLocale(), locale -> new HashSet<>()).add(message.getKey());
+        }
+        Map<String, Map<String, ResolvedTranslationDto>> resolved = new HashMap<>();
+        keysByLocale.forEach((locale, keys) -> resolved.put(locale, localeBundleService.lookup(locale, keys)));
+
+        List<RenderedMessageDto> rendered = new ArrayList<>(messages.size());
+        for (RenderRequestDto.Message message : messages) {
+            ResolvedTranslationDto translation = resolved.get(message.getLocale()).get(message.getKey());
+            if (translation == null) {
+                rendered.add(new RenderedMessageDto(message.getKey(), message.getLocale(), null, null,
+                        "Translation not found"));
+                continue;
+            }
+            try {
+                String text = format(project, message.getKey(), translation, message.getArguments());
+                rendered.add(new RenderedMessageDto(message.getKey(), message.getLocale(),
+                        translation.getSourceLocale(), text, null));
+            } catch (IllegalArgumentException e) {
+                // Patterns stored before write-time validation, or arguments of the wrong type.
+                log.debug("Could not render {} in {}: {}", message.getKey(), translation.getSourceLocale(), e.getMessage());
+                rendered.add(new RenderedMessageDto(message.getKey(), message.getLocale(),
+                        translation.getSourceLocale(), null, e.getMessage()));
+            }
+        }
+        return rendered;
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (event.all()) {
+            formats.invalidateAll();
+            return;
+        }
+        for (String project : event.projects()) {
+            for (String key : event.keys()) {
+                for (String locale : event.locales()) {
+                    formats.invalidate(new FormatKey(project, key, locale));
+                }
+            }
+        }
+    }
+
+    private String format(String project, String key, ResolvedTranslationDto translation, Map<String, Object> arguments) {
+        FormatKey formatKey = new FormatKey(project, key, translation.getSourceLocale());
+        CompiledMessage compiled = formats.get(formatKey, ignored -> compile(translation));
+        if (!compiled.pattern().equals(translation.getContent())) {
+            // Filled from a read that raced with a write; the resolved content is at least as recent.
+            compiled = compile(translation);
+            formats.put(formatKey, compiled);
+        }
+
+        Map<String, Object> values = arguments != null ? arguments : Map.of();
+        synchronized (compiled.format()) {
+            return compiled.format().format(values);
+        }
+    }
+
+    private static CompiledMessage compile(ResolvedTranslationDto translation) {
+        ULocale locale = ULocale.forLanguageTag(translation.getSourceLocale().replace('_', '-'));
+        return new CompiledMessage(translation.getContent(), new MessageFormat(translation.getContent(), locale));
+    }
+}
@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.render;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value must parse as an ICU {@code MessageFormat} pattern, so broken placeholders are rejected when a
+ * translation is written rather than when it is rendered. Null is valid.
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = MessagePatternValidator.class)
+public @interface ValidMessagePattern {
+
+    String message() default "must be a valid ICU message pattern";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
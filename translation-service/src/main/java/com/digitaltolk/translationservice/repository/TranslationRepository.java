@@ -6,15 +6,24 @@ import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TranslationRepository extends MongoRepository<Translation, String> {
 
-    List<Translation> findByKeyContainingIgnoreCase(String key);
+    Optional<Translation> findByIdAndProjectId(String id, String projectId);
 
-    List<Translation> findByContentContainingIgnoreCase(String content);
+    List<Translation> findByProjectId(String projectId);
 
-    List<Translation> findByTagsIn(Collection<String> tags);
+    List<Translation> findByProjectIdAndKeyContainingIgnoreCase(String projectId, String key);
 
-    List<Translation> findByLocale(String locale);
+    List<Translation> findByProjectIdAndContentContainingIgnoreCase(String projectId, String content);
+
+    List<Translation> findByProjectIdAndTagsIn(String projectId, Collection<String> tags);
+
+    List<Translation> findByProjectIdAndLocale(String projectId, String locale);
+
+    List<Translation> findByProjectIdAndLocaleIn(String projectId, Collection<String> locales);
+
+    List<Translation> findByProjectIdAndLocaleInAndKeyIn(String projectId, Collection<String> locales, Collection<String> keys);
 }
@@ -1,25 +1,39 @@
 package com.digitaltolk.translationservice.security;
 
+import com.digitaltolk.translationservice.config.AuthProperties;
 import com.digitaltolk.translationservice.model.User;
 import com.digitaltolk.translationservice.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Optional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Caches the stored record rather than UserDetails: credentials on returned UserDetails are erased
+    // after authentication, so those instances must not be shared between logins.
+    private final Cache<String, User> users;
+
+    public CustomUserDetailsService(UserRepository userRepository, AuthProperties authProperties) {
         this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(authProperties.getUserCache().getTtl())
+                .maximumSize(authProperties.getUserCache().getMaximumSize())
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        User user = findUser(username).orElse(null);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
 
         return new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
@@ -27,4 +41,8 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Collections.emptyList());
     }
 
+    public Optional<User> findUser(String username) {
+        return Optional.ofNullable(users.get(username, key -> userRepository.findByUsername(key).orElse(null)));
+    }
+
 }
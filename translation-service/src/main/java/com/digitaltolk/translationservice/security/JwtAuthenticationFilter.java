@@ -1,5 +1,8 @@
 package com.digitaltolk.translationservice.security;
 
+import com.digitaltolk.translationservice.config.AuthProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,10 +20,16 @@ import java.util.List;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    public static final String PROJECT_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".project";
+
     private final JwtUtil jwtUtil;
+    private final ObservationRegistry observationRegistry;
+    private final AuthProperties authProperties;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, ObservationRegistry observationRegistry, AuthProperties authProperties) {
         this.jwtUtil = jwtUtil;
+        this.observationRegistry = observationRegistry;
+        this.authProperties = authProperties;
     }
 
     @Override
@@ -28,6 +37,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        // Only the token check is observed; the rest of the chain has spans of its own.
+        Observation.createNotStarted("translation.jwt.authentication", observationRegistry)
+                .observe(() -> authenticate(request));
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
         final String authHeader = request.getHeader("Authorization");
 
         String username = null;
@@ -37,11 +54,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             jwt = authHeader.substring(7);
             if (jwtUtil.validateToken(jwt)) {
                 username = jwtUtil.extractUsername(jwt);
+                String project = jwtUtil.extractProject(jwt);
+                if (project != null) {
+                    request.setAttribute(PROJECT_ATTRIBUTE, project);
+                }
             }
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+            var authorities = authProperties.getAdmins().contains(username)
+                    ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                    : List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
             var authToken = new UsernamePasswordAuthenticationToken(
                     username,
@@ -51,7 +74,5 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
-
-        filterChain.doFilter(request, response);
     }
 }
@@ -1,5 +1,6 @@
 package com.digitaltolk.translationservice.security;
 
+import com.digitaltolk.translationservice.profiling.JwtVerificationEvent;
 import io.jsonwebtoken.*;
 
 import java.security.Key;
@@ -28,8 +29,21 @@ public class JwtUtil {
         this.key = Keys.hmacShaKeyFor(keyBytes);
     }
 
+    public static final String PROJECT_CLAIM = "project";
+
     public String generateToken(String username) {
-        return Jwts.builder()
+        return generateToken(username, null);
+    }
+
+    /**
+     * Binds the token to {@code project} when given; unbound tokens belong to the default project.
+     */
+    public String generateToken(String username, String project) {
+        JwtBuilder builder = Jwts.builder();
+        if (project != null) {
+            builder.claim(PROJECT_CLAIM, project);
+        }
+        return builder
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationMillis))
@@ -41,6 +55,10 @@ public class JwtUtil {
         return getClaims(token).getSubject();
     }
 
+    public String extractProject(String token) {
+        return getClaims(token).get(PROJECT_CLAIM, String.class);
+    }
+
     public boolean validateToken(String token) {
         try {
             getClaims(token);
@@ -51,10 +69,19 @@ public class JwtUtil {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        boolean valid = false;
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            valid = true;
+            return claims;
+        } finally {
+            event.finish(valid);
+        }
     }
 }
@@ -0,0 +1,62 @@
+package com.digitaltolk.translationservice.security;
+
+import com.digitaltolk.translationservice.model.RefreshToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Component
+public class RefreshTokenService {
+
+    private final MongoTemplate mongoTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration-millis}")
+    private long refreshExpirationMillis;
+
+    public RefreshTokenService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        mongoTemplate.insert(new RefreshToken(hash(token), username, Instant.now().plusMillis(refreshExpirationMillis)));
+        return token;
+    }
+
+    /**
+     * Atomically removes the token, so each refresh token can be used exactly once.
+     *
+     * @return the username the token was issued to
+     */
+    public Optional<String> consume(String token) {
+        RefreshToken consumed = mongoTemplate.findAndRemove(
+                query(where("_id").is(hash(token)).and("expiresAt").gt(Instant.now())),
+                RefreshToken.class);
+        return Optional.ofNullable(consumed).map(RefreshToken::getUsername);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
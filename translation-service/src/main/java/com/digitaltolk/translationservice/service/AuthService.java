@@ -0,0 +1,141 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.AuthProperties;
+import com.digitaltolk.translationservice.dto.AuthTokenResponse;
+import com.digitaltolk.translationservice.model.User;
+import com.digitaltolk.translationservice.repository.UserRepository;
+import com.digitaltolk.translationservice.security.CustomUserDetailsService;
+import com.digitaltolk.translationservice.security.JwtUtil;
+import com.digitaltolk.translationservice.security.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a small dedicated pool with a bounded queue, so a login storm degrades to
+ * fast 503s instead of occupying every request thread.
+ */
+@Slf4j
+@Service
+public class AuthService {
+
+    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthProperties.PasswordHashing properties;
+    private final ThreadPoolExecutor passwordHashingExecutor;
+
+    public AuthService(AuthenticationManager authenticationManager,
+                       PasswordEncoder passwordEncoder,
+                       UserRepository userRepository,
+                       JwtUtil jwtUtil,
+                       CustomUserDetailsService userDetailsService,
+                       RefreshTokenService refreshTokenService,
+                       AuthProperties authProperties,
+                       MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokenService = refreshTokenService;
+        this.properties = authProperties.getPasswordHashing();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.passwordHashingExecutor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(passwordHashingExecutor, "password.hashing", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    /**
+     * Completes with the issued tokens, or exceptionally with an {@code AuthenticationException} for bad
+     * credentials and a {@link RejectedExecutionException} / {@link TimeoutException} when saturated.
+     */
+    public CompletableFuture<AuthTokenResponse> login(String username, String password) {
+        return hash(() -> {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+            return issueTokens(username);
+        });
+    }
+
+    /**
+     * Completes with false if the username is taken. The unique index on {@code users.username} makes the
+     * insert itself the existence check.
+     */
+    public CompletableFuture<Boolean> register(String username, String password) {
+        return hash(() -> passwordEncoder.encode(password)).thenApply(encoded -> {
+            User user = new User();
+            user.setUsername(username);
+            user.setPassword(encoded);
+            try {
+                userRepository.insert(user);
+                return true;
+            } catch (DuplicateKeyException ex) {
+                return false;
+            }
+        });
+    }
+
+    public Optional<AuthTokenResponse> refresh(String refreshToken) {
+        return refreshTokenService.consume(refreshToken).map(this::issueTokens);
+    }
+
+    public long retryAfterSeconds() {
+        return Math.max(1, properties.getRetryAfter().toSeconds());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordHashingExecutor.shutdownNow();
+    }
+
+    private AuthTokenResponse issueTokens(String username) {
+        String project = userDetailsService.findUser(username).map(User::getProjectId).orElse(null);
+        return new AuthTokenResponse(jwtUtil.generateToken(username, project), refreshTokenService.issue(username));
+    }
+
+    private <T> CompletableFuture<T> hash(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            passwordHashingExecutor.execute(() -> {
+                // Skip work for callers that already gave up while queued.
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Password hashing pool saturated ({} queued)", passwordHashingExecutor.getQueue().size());
+            future.completeExceptionally(ex);
+        }
+        return future.orTimeout(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,298 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.dto.CoverageReportDto;
+import com.digitaltolk.translationservice.dto.LocaleCoverageDto;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.migration.IndexContributor;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Maintains one document per project and key in {@value #COLLECTION} holding the locales the key is translated
+ * into and, per locale, when the translation was last updated and when its content last changed. Writes update
+ * that document in place, so coverage reports are index lookups over one project rather than aggregations over
+ * all translations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoverageService implements IndexContributor {
+
+    public static final String COLLECTION = "translation_coverage";
+    static final String REBUILD_COLLECTION = COLLECTION + "_rebuild";
+    static final int MAX_PAGE_SIZE = 1000;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final TranslationStore translationStore;
+    private final StorageProperties storageProperties;
+    private final LocaleFallbackProperties localeProperties;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public CoverageReportDto getReport(String source, String target, int page, int size) {
+        String project = ProjectContext.current();
+        String sourceLocale = source != null ? source : localeProperties.getDefaultLocale();
+        int pageSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+        int pageNumber = Math.max(0, page);
+
+        long sourceKeys = mongoTemplate.count(inProject(project, Criteria.where("locales").is(sourceLocale)), COLLECTION);
+
+        List<LocaleCoverageDto> locales = new ArrayList<>();
+        for (String locale : mongoTemplate.findDistinct(inProject(project), "locales", COLLECTION, String.class)) {
+            long keys = mongoTemplate.count(inProject(project, Criteria.where("locales").is(locale)), COLLECTION);
+            long covered = locale.equals(sourceLocale) ? sourceKeys
+                    : mongoTemplate.count(inProject(project, Criteria.where("locales").all(sourceLocale, locale)), COLLECTION);
+            long missing = sourceKeys - covered;
+            locales.add(new LocaleCoverageDto(locale, keys, missing,
+                    sourceKeys == 0 ? 1.0 : (double) covered / sourceKeys));
+        }
+
+        if (target == null || target.equals(sourceLocale)) {
+            return new CoverageReportDto(sourceLocale, sourceKeys, locales, target, List.of(), List.of(), pageNumber, pageSize);
+        }
+
+        Query missing = inProject(project,
+                Criteria.where("locales").is(sourceLocale),
+                Criteria.where("locales").ne(target));
+        Query stale = inProject(project,
+                Criteria.where("locales").all(sourceLocale, target),
+                Criteria.expr(ComparisonOperators.valueOf("contentChangedAt." + sourceLocale)
+                        .greaterThan("updatedAt." + target)));
+
+        return new CoverageReportDto(sourceLocale, sourceKeys, locales, target,
+                keys(missing, pageNumber, pageSize), keys(stale, pageNumber, pageSize), pageNumber, pageSize);
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        for (TranslationChange change : event.changes()) {
+            try {
+                apply(change.previous(), change.current());
+            } catch (RuntimeException ex) {
+                // The translation itself is saved; the next rebuild repairs the coverage entry.
+                log.warn("Failed to update coverage for {}: {}", change, ex.getMessage());
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(TranslationCatalogChangedEvent event) {
+        rebuildAsync();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofVirtual().name("coverage-check").start(() -> {
+            try {
+                if (!mongoTemplate.exists(new Query(), COLLECTION) && hasTranslations()) {
+                    rebuildAsync();
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Could not check translation coverage: {}", ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Recomputes all coverage documents of all projects from the translations. Writes that land while the
+     * rebuild runs may be overwritten by its output, so this is reserved for bulk loads and first start.
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        if (storageProperties.getLayout() == StorageProperties.Layout.DOCUMENT_PER_LOCALE) {
+            aggregate();
+        } else {
+            rebuildFromStore();
+        }
+        log.info("Rebuilt translation coverage in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        createIndexes(mongoTemplate, COLLECTION);
+    }
+
+    private void aggregate() {
+        List<Document> pipeline = List.of(
+                new Document("$match", new Document("key", new Document("$type", "string"))
+                        .append("locale", new Document("$type", "string"))),
+                new Document("$group", new Document("_id", new Document("projectId",
+                        new Document("$ifNull", List.of("$projectId", ProjectContext.DEFAULT)))
+                        .append("key", "$key").append("locale", "$locale"))
+                        .append("updatedAt", new Document("$max", "$updatedAt"))),
+                new Document("$group", new Document("_id", new Document("projectId", "$_id.projectId").append("key", "$_id.key"))
+                        .append("locales", new Document("$push", "$_id.locale"))
+                        .append("updatedAt", new Document("$push",
+                                new Document("k", "$_id.locale").append("v", "$updatedAt")))),
+                new Document("$project", new Document("_id", new Document("$concat", List.of("$_id.projectId", ":", "$_id.key")))
+                        .append("projectId", "$_id.projectId")
+                        .append("key", "$_id.key")
+                        .append("locales", 1)
+                        .append("updatedAt", new Document("$arrayToObject", "$updatedAt"))
+                        .append("contentChangedAt", new Document("$arrayToObject", "$updatedAt"))),
+                new Document("$out", COLLECTION));
+
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Translation.class))
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .toCollection();
+    }
+
+    /**
+     * Layouts other than {@code document-per-locale} have no {@code translations} collection to aggregate: the
+     * translations are streamed from the store into a staging collection with the same upserts writes use, which
+     * then replaces the coverage collection, as {@code $out} would.
+     */
+    private void rebuildFromStore() {
+        mongoTemplate.dropCollection(REBUILD_COLLECTION);
+        long written = 0;
+        try (Stream<Translation> translations = translationStore.streamAll()) {
+            Iterator<Translation> iterator = translations.filter(CoverageService::covers).iterator();
+            while (iterator.hasNext()) {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, REBUILD_COLLECTION);
+                for (int i = 0; i < REBUILD_BATCH_SIZE && iterator.hasNext(); i++, written++) {
+                    Translation translation = iterator.next();
+                    bulk.upsert(byKey(ProjectContext.orDefault(translation.getProjectId()), translation.getKey()),
+                            coverage(translation, true));
+                }
+                bulk.execute();
+            }
+        }
+        if (written == 0) {
+            mongoTemplate.remove(new Query(), COLLECTION);
+            return;
+        }
+        createIndexes(mongoTemplate, REBUILD_COLLECTION);
+        mongoTemplate.getCollection(REBUILD_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), COLLECTION),
+                new RenameCollectionOptions().dropTarget(true));
+    }
+
+    private static void createIndexes(MongoTemplate mongoTemplate, String collection) {
+        mongoTemplate.indexOps(collection).createIndex(new Index()
+                .on("projectId", Sort.Direction.ASC).on("locales", Sort.Direction.ASC));
+        mongoTemplate.indexOps(collection).createIndex(new Index()
+                .on("projectId", Sort.Direction.ASC).on("key", Sort.Direction.ASC));
+    }
+
+    private void apply(Translation previous, Translation current) {
+        boolean moved = previous != null
+                && (current == null || !Objects.equals(previous.getKey(), current.getKey())
+                || !Objects.equals(previous.getLocale(), current.getLocale()));
+
+        if (moved && covers(previous)) {
+            release(ProjectContext.orDefault(previous.getProjectId()), previous.getKey(), previous.getLocale());
+        }
+        if (covers(current)) {
+            boolean contentChanged = previous == null || moved
+                    || !Objects.equals(previous.getContent(), current.getContent());
+            record(current, contentChanged);
+        }
+    }
+
+    private void record(Translation translation, boolean contentChanged) {
+        mongoTemplate.upsert(byKey(ProjectContext.orDefault(translation.getProjectId()), translation.getKey()),
+                coverage(translation, contentChanged), COLLECTION);
+    }
+
+    private void release(String project, String key, String locale) {
+        // Keys are not unique per locale; only drop the locale once no translation covers it any more.
+        if (!translationStore.findByLocalesAndKeys(project, List.of(locale), List.of(key)).isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateFirst(byKey(project, key), new Update()
+                .pull("locales", locale)
+                .unset("updatedAt." + locale)
+                .unset("contentChangedAt." + locale), COLLECTION);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(documentId(project, key)).and("locales").size(0)), COLLECTION);
+    }
+
+    private List<String> keys(Query query, int page, int size) {
+        query.with(Sort.by("key")).skip((long) page * size).limit(size);
+        query.fields().include("key");
+        return mongoTemplate.find(query, Document.class, COLLECTION).stream()
+                .map(document -> document.getString("key"))
+                .toList();
+    }
+
+    private boolean hasTranslations() {
+        try (Stream<Translation> translations = translationStore.streamAll()) {
+            return translations.findAny().isPresent();
+        }
+    }
+
+    private void rebuildAsync() {
+        if (rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("coverage-rebuild").start(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to rebuild translation coverage: {}", ex.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        }
+    }
+
+    private static Update coverage(Translation translation, boolean contentChanged) {
+        String locale = translation.getLocale();
+        Update update = new Update()
+                .setOnInsert("projectId", ProjectContext.orDefault(translation.getProjectId()))
+                .setOnInsert("key", translation.getKey())
+                .addToSet("locales", locale)
+                .max("updatedAt." + locale, translation.getUpdatedAt());
+        if (contentChanged) {
+            update.max("contentChangedAt." + locale, translation.getUpdatedAt());
+        }
+        return update;
+    }
+
+    private static Query byKey(String project, String key) {
+        return Query.query(Criteria.where("_id").is(documentId(project, key)));
+    }
+
+    private static Query inProject(String project, Criteria... criteria) {
+        Criteria scoped = Criteria.where("projectId").is(project);
+        return Query.query(criteria.length == 0 ? scoped : scoped.andOperator(criteria));
+    }
+
+    /**
+     * Project ids never contain {@code ':'} (see {@link ProjectContext#isValid}), so this is unambiguous.
+     */
+    static String documentId(String project, String key) {
+        return project + ":" + key;
+    }
+
+    private static boolean covers(Translation translation) {
+        return translation != null && translation.getKey() != null && translation.getLocale() != null;
+    }
+}
@@ -0,0 +1,243 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group commit for single creates: callers enqueue into a lock-free queue and a single flusher thread
+ * inserts whatever accumulated within {@code maxDelay} (or {@code maxBatchSize} entries) with one unordered
+ * bulk insert. Each caller is completed with its own result, so one failing document does not fail the
+ * rest of its batch.
+ */
+@Slf4j
+@Component
+public class GroupCommitWriter implements SmartLifecycle {
+
+    private record Pending(Translation translation, CompletableFuture<Translation> result) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GroupCommitProperties properties;
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // Entries actually in the queue; pending also counts admitted submits that have not been offered yet.
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSize;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public GroupCommitWriter(MongoTemplate mongoTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             GroupCommitProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.flushTimer = meterRegistry.timer("translation.group-commit.flush");
+        this.batchSize = DistributionSummary.builder("translation.group-commit.batch.size").register(meterRegistry);
+        this.rejected = meterRegistry.counter("translation.group-commit.rejected");
+        Gauge.builder("translation.group-commit.pending", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Inserts the translation as part of the next batch and waits for the outcome.
+     */
+    public Translation write(Translation translation) {
+        try {
+            return submit(translation).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public CompletableFuture<Translation> submit(Translation translation) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Group commit is not running"));
+        }
+        if (pending.incrementAndGet() > properties.getMaxPending()) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Too many pending creates"));
+        }
+
+        if (translation.getId() == null) {
+            // Assigned up front so results can be matched to callers without reading the batch back.
+            translation.setId(new ObjectId().toHexString());
+        }
+        CompletableFuture<Translation> result = new CompletableFuture<>();
+        queue.offer(new Pending(translation, result));
+
+        // Wake the flusher to open a batch window, or to cut the window short once a batch is full.
+        int ready = queued.incrementAndGet();
+        if (ready == 1 || ready % properties.getMaxBatchSize() == 0) {
+            LockSupport.unpark(flusher);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("group-commit-flusher")
+                .daemon(true)
+                .start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(10_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the web server, so no request can enqueue into a stopped writer.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        long maxDelayNanos = properties.getMaxDelay().toNanos();
+        while (running) {
+            if (queued.get() == 0) {
+                LockSupport.park(this);
+                continue;
+            }
+            if (queued.get() < properties.getMaxBatchSize()) {
+                LockSupport.parkNanos(this, maxDelayNanos);
+            }
+            try {
+                flushAll();
+            } catch (RuntimeException ex) {
+                log.error("Group commit flush failed unexpectedly", ex);
+            }
+        }
+    }
+
+    private void flushAll() {
+        List<Pending> batch = new ArrayList<>(properties.getMaxBatchSize());
+        Pending next;
+        while ((next = queue.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == properties.getMaxBatchSize()) {
+                flush(batch);
+                batch = new ArrayList<>(properties.getMaxBatchSize());
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        queued.addAndGet(-batch.size());
+        pending.addAndGet(-batch.size());
+        batchSize.record(batch.size());
+
+        Map<Integer, RuntimeException> failures = flushTimer.record(() -> insert(batch));
+
+        List<TranslationChange> changes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failures.containsKey(i)) {
+                changes.add(new TranslationChange(null, batch.get(i).translation()));
+            }
+        }
+        if (!changes.isEmpty()) {
+            try {
+                eventPublisher.publishEvent(new TranslationChangedEvent(changes));
+            } catch (RuntimeException ex) {
+                log.warn("Listener failed for group-committed creates: {}", ex.getMessage());
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending entry = batch.get(i);
+            RuntimeException failure = failures.get(i);
+            if (failure == null) {
+                entry.result().complete(entry.translation());
+            } else {
+                entry.result().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private Map<Integer, RuntimeException> insert(List<Pending> batch) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Translation.class)
+                    .insert(batch.stream().map(Pending::translation).toList())
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            Map<Integer, RuntimeException> failures = new HashMap<>();
+            for (BulkWriteError error : ex.getErrors()) {
+                failures.put(error.getIndex(), error.getCode() == 11000
+                        ? new DuplicateKeyException(error.getMessage())
+                        : new IllegalStateException(error.getMessage()));
+            }
+            return failures;
+        } catch (RuntimeException ex) {
+            Map<Integer, RuntimeException> failures = new HashMap<>();
+            for (int i = 0; i < batch.size(); i++) {
+                failures.put(i, ex);
+            }
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.LocaleBundleDto;
+import com.digitaltolk.translationservice.dto.ResolvedTranslationDto;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves locale fallback chains into per-key bundles. Bundles are cached per project and locale; fallback
+ * chains are configuration and shared by all projects. Both caches are bounded by
+ * {@code translation.cache.maximum-locales}, since every bundle holds a copy of the default locale and the locale
+ * comes from the caller.
+ */
+@Slf4j
+@Service
+public class LocaleBundleService {
+
+    private static final Pattern LOCALE = Pattern.compile("[A-Za-z]{2,8}([_-][A-Za-z0-9]{1,8}){0,4}");
+
+    private record BundleKey(String project, String locale) {
+    }
+
+    private final TranslationStore translationStore;
+    private final LocaleFallbackProperties properties;
+
+    private final Cache<String, List<String>> chains;
+    private final Cache<BundleKey, Map<String, ResolvedTranslationDto>> bundles;
+    private long generation;
+
+    public LocaleBundleService(TranslationStore translationStore,
+                               LocaleFallbackProperties properties,
+                               TranslationCacheProperties cacheProperties) {
+        this.translationStore = translationStore;
+        this.properties = properties;
+        this.chains = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumLocales())
+                .build();
+        this.bundles = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumLocales())
+                .expireAfterWrite(cacheProperties.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} for a locale that is not a well-formed language tag.
+     */
+    public List<String> resolveChain(String locale) {
+        if (locale == null || !LOCALE.matcher(locale).matches()) {
+            throw new IllegalArgumentException("Invalid locale '" + locale + "'");
+        }
+        return chains.get(locale, this::buildChain);
+    }
+
+    public LocaleBundleDto getBundle(String locale) {
+        return new LocaleBundleDto(locale, resolveChain(locale), bundle(new BundleKey(ProjectContext.current(), locale)));
+    }
+
+    public Map<String, ResolvedTranslationDto> lookup(String locale, Collection<String> keys) {
+        String project = ProjectContext.current();
+        List<String> chain = resolveChain(locale);
+        Map<String, ResolvedTranslationDto> cached = bundles.getIfPresent(new BundleKey(project, locale));
+        if (cached != null) {
+            Map<String, ResolvedTranslationDto> result = new TreeMap<>();
+            for (String key : keys) {
+                ResolvedTranslationDto value = cached.get(key);
+                if (value != null) {
+                    result.put(key, value);
+                }
+            }
+            return result;
+        }
+
+        return resolve(chain, translationStore.findByLocalesAndKeys(project, chain, keys));
+    }
+
+    /**
+     * Builds the bundle from per-locale translations that are already in memory, such as a restored snapshot.
+     * Does nothing unless every locale of the chain is present.
+     */
+    public void prime(String project, String locale, Map<String, List<TranslationDto>> translationsByLocale) {
+        List<String> chain = resolveChain(locale);
+        if (!translationsByLocale.keySet().containsAll(chain)) {
+            return;
+        }
+        List<Translation> translations = new ArrayList<>();
+        for (String candidate : chain) {
+            for (TranslationDto dto : translationsByLocale.get(candidate)) {
+                translations.add(Translation.builder().key(dto.getKey()).locale(dto.getLocale()).content(dto.getContent()).build());
+            }
+        }
+        bundles.asMap().putIfAbsent(new BundleKey(project, locale), resolve(chain, translations));
+    }
+
+    @EventListener
+    public synchronized void onInvalidation(CacheInvalidationEvent event) {
+        generation++;
+        bundles.asMap().keySet().removeIf(key -> event.affectsProject(key.project())
+                && resolveChain(key.locale()).stream().anyMatch(locale -> event.affectsLocale(key.project(), locale)));
+    }
+
+    long cachedBundles() {
+        bundles.cleanUp();
+        return bundles.estimatedSize();
+    }
+
+    List<String> buildChain(String locale) {
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(locale);
+
+        List<String> configured = properties.getFallbacks().get(locale);
+        if (configured != null) {
+            chain.addAll(configured);
+        } else {
+            String tag = locale;
+            int separator;
+            while ((separator = Math.max(tag.lastIndexOf('-'), tag.lastIndexOf('_'))) > 0) {
+                tag = tag.substring(0, separator);
+                chain.add(tag);
+            }
+        }
+
+        chain.add(properties.getDefaultLocale());
+        return List.copyOf(chain);
+    }
+
+    private Map<String, ResolvedTranslationDto> bundle(BundleKey key) {
+        Map<String, ResolvedTranslationDto> cached = bundles.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long observed;
+        synchronized (this) {
+            observed = generation;
+        }
+
+        List<String> chain = resolveChain(key.locale());
+        Map<String, ResolvedTranslationDto> resolved = resolve(chain,
+                translationStore.findByLocales(key.project(), chain));
+
+        synchronized (this) {
+            // A write that raced with the query may not be reflected in it, so only cache clean results.
+            if (generation == observed) {
+                bundles.asMap().putIfAbsent(key, resolved);
+            }
+        }
+        log.debug("Resolved bundle for {} in {} over {} ({} keys)", key.locale(), key.project(), chain, resolved.size());
+        return resolved;
+    }
+
+    private static Map<String, ResolvedTranslationDto> resolve(List<String> chain, List<Translation> translations) {
+        Map<String, Translation> winners = new HashMap<>();
+        for (Translation translation : translations) {
+            winners.merge(translation.getKey(), translation, (current, candidate) ->
+                    chain.indexOf(candidate.getLocale()) < chain.indexOf(current.getLocale()) ? candidate : current);
+        }
+
+        Map<String, ResolvedTranslationDto> resolved = new TreeMap<>();
+        winners.forEach((key, translation) ->
+                resolved.put(key, new ResolvedTranslationDto(translation.getContent(), translation.getLocale())));
+        return Collections.unmodifiableMap(resolved);
+    }
+}
@@ -0,0 +1,142 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.DeadlineProperties;
+import com.digitaltolk.translationservice.deadline.RequestDeadline;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads: the first caller for a key runs the query on its own thread and every
+ * caller arriving while it runs waits for and shares its result, or its exception. Nothing is kept once the
+ * query completes, so this only collapses bursts; caching is {@link com.digitaltolk.translationservice.cache.TranslationCache}'s job.
+ * <p>
+ * An invalidation detaches the queries in flight for its projects, so a read issued after a write never shares a
+ * query that started before it.
+ * <p>
+ * Waiting is bounded by the caller's {@link RequestDeadline} and {@code translation.deadline.shared-query-wait}:
+ * a caller whose deadline passes fails as if its own query had, and one that runs out of patience otherwise runs
+ * its own query. A leader that fails by running out of its own time is not shared either: callers with time left
+ * try again, the first of them leading the next query.
+ */
+@Component
+public class SingleFlight {
+
+    private record Key(String operation, String projectId, List<?> arguments) {
+    }
+
+    /**
+     * The leader's query ran past its deadline or timed out.
+     */
+    private static final class LeaderTimedOutException extends Exception {
+
+        LeaderTimedOutException(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long maxWaitMillis;
+
+    public SingleFlight(MeterRegistry meterRegistry, DeadlineProperties deadlineProperties) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitMillis = deadlineProperties.getSharedQueryWait().toMillis();
+        Gauge.builder("translation.singleflight.inflight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code query}, or joins the identical one already running. {@code arguments} must already be
+     * normalized and, together with {@code operation} and {@code projectId}, identify the result completely.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String projectId, List<?> arguments, Supplier<T> query) {
+        Key key = new Key(operation, projectId, arguments);
+        while (true) {
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> leader = inFlight.putIfAbsent(key, flight);
+            if (leader == null) {
+                return lead(key, flight, operation, query);
+            }
+
+            counter(operation, "shared").increment();
+            try {
+                return (T) await(leader);
+            } catch (TimeoutException ex) {
+                // The leader is slower than this caller is willing to wait; it runs its own query, uncoalesced.
+                counter(operation, "abandoned").increment();
+                return query.get();
+            } catch (LeaderTimedOutException ex) {
+                // The leader's time is not this caller's: fail only if its own deadline has passed too.
+                RequestDeadline.check();
+                counter(operation, "retried").increment();
+            }
+        }
+    }
+
+    private <T> T lead(Key key, CompletableFuture<Object> flight, String operation, Supplier<T> query) {
+        counter(operation, "executed").increment();
+        T result;
+        try {
+            result = query.get();
+        } catch (RuntimeException | Error ex) {
+            // Detached before completing, so callers that try again after a timeout do not find this flight.
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        inFlight.keySet().removeIf(key -> event.affectsProject(key.projectId()));
+    }
+
+    private Object await(CompletableFuture<Object> leader) throws TimeoutException, LeaderTimedOutException {
+        RequestDeadline deadline = RequestDeadline.current();
+        long timeout = deadline == null ? maxWaitMillis : Math.min(maxWaitMillis, deadline.remainingMillis());
+        try {
+            return leader.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Throws DeadlineExceededException if it was the deadline that ran out.
+            if (deadline != null) {
+                deadline.remainingMillis();
+            }
+            throw ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shared query", ex);
+        } catch (ExecutionException ex) {
+            if (RequestDeadline.isTimeout(ex.getCause())) {
+                throw new LeaderTimedOutException(ex.getCause());
+            }
+            // Waiters see the leader's own exception, not a wrapper.
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return meterRegistry.counter("translation.singleflight.calls", "operation", operation, "outcome", outcome);
+    }
+}
@@ -0,0 +1,95 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.TombstoneProperties;
+import com.digitaltolk.translationservice.dto.TombstoneDto;
+import com.digitaltolk.translationservice.migration.IndexContributor;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Records deleted translations in {@value #COLLECTION} so consumers that sync incrementally (by
+ * {@code updatedAt}) also learn about deletes. A tombstone holds only what identifies the translation; tombstones
+ * older than the configured retention are compacted away.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TombstoneService implements IndexContributor {
+
+    public static final String COLLECTION = "translation_tombstones";
+
+    private final MongoTemplate mongoTemplate;
+    private final TombstoneProperties properties;
+
+    public void record(Collection<Translation> deleted, LocalDateTime deletedAt) {
+        if (deleted.isEmpty()) {
+            return;
+        }
+        Date at = toDate(deletedAt);
+        List<Document> tombstones = deleted.stream()
+                .map(translation -> new Document("projectId", ProjectContext.orDefault(translation.getProjectId()))
+                        .append("translationId", translation.getId())
+                        .append("key", translation.getKey())
+                        .append("locale", translation.getLocale())
+                        .append("deletedAt", at))
+                .toList();
+        mongoTemplate.insert(tombstones, COLLECTION);
+    }
+
+    /**
+     * Deletes in the current project at or after {@code since}, oldest first.
+     */
+    public List<TombstoneDto> since(LocalDateTime since) {
+        Query query = Query.query(Criteria.where("projectId").is(ProjectContext.current())
+                        .and("deletedAt").gte(toDate(since)))
+                .with(Sort.by("deletedAt"));
+        return mongoTemplate.find(query, Document.class, COLLECTION).stream()
+                .map(tombstone -> new TombstoneDto(tombstone.getString("translationId"), tombstone.getString("key"),
+                        tombstone.getString("locale"),
+                        LocalDateTime.ofInstant(tombstone.getDate("deletedAt").toInstant(), ZoneId.systemDefault())))
+                .toList();
+    }
+
+    @Scheduled(initialDelayString = "${translation.tombstones.compaction-interval:1h}",
+            fixedDelayString = "${translation.tombstones.compaction-interval:1h}")
+    public void compact() {
+        try {
+            // Idempotent, so every node may run it.
+            Date cutoff = toDate(LocalDateTime.now().minus(properties.getRetention()));
+            long removed = mongoTemplate.remove(Query.query(Criteria.where("deletedAt").lt(cutoff)), COLLECTION)
+                    .getDeletedCount();
+            if (removed > 0) {
+                log.info("Compacted {} tombstones older than {}", removed, properties.getRetention());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to compact tombstones: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps(COLLECTION).createIndex(new Index()
+                .on("projectId", Sort.Direction.ASC).on("deletedAt", Sort.Direction.ASC));
+        mongoTemplate.indexOps(COLLECTION).createIndex(new Index().on("deletedAt", Sort.Direction.ASC));
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
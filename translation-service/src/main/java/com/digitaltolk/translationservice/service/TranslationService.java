@@ -1,78 +1,204 @@
 package com.digitaltolk.translationservice.service;
 
+import com.digitaltolk.translationservice.cache.TranslationCache;
 import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.exception.ConcurrentUpdateException;
 import com.digitaltolk.translationservice.exception.ResourceNotFoundException;
+import com.digitaltolk.translationservice.history.RevisionHistoryService;
 import com.digitaltolk.translationservice.model.Translation;
-import com.digitaltolk.translationservice.repository.TranslationRepository;
+import com.digitaltolk.translationservice.profiling.TranslationQueryEvent;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
 import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+/**
+ * Translation reads and writes, always scoped to the project of the current request
+ * (see {@link ProjectContext}). Every public method is a span of the request's trace.
+ */
 @Slf4j
 @Service
+@Observed(name = "translation.service")
 @RequiredArgsConstructor
 public class TranslationService {
 
-    private final TranslationRepository translationRepository;
+    /**
+     * Keeps each delete command's id list far below the 16 MB command limit.
+     */
+    static final int DELETE_BATCH_SIZE = 1000;
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final TranslationStore translationStore;
     private final ModelMapperWrapper modelMapperWrapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TranslationCache translationCache;
+    private final GroupCommitWriter groupCommitWriter;
+    private final TombstoneService tombstoneService;
+    private final RevisionHistoryService revisionHistoryService;
+    private final SingleFlight singleFlight;
 
     public TranslationDto createTranslation(TranslationDto translation) {
 
         Translation entity = modelMapperWrapper.map(translation, Translation.class);
+        entity.setProjectId(ProjectContext.current());
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
-        return modelMapperWrapper.map(translationRepository.save(entity), TranslationDto.class);
+        // Never the client's id, which may be another project's translation. The create revision is keyed by it, so
+        // it is assigned before the revision is staged.
+        entity.setId(new ObjectId().toHexString());
+        revisionHistoryService.stage(null, entity);
+
+        if (groupCommitWriter.isEnabled()) {
+            // The writer publishes one change event per batch.
+            return modelMapperWrapper.map(groupCommitWriter.write(entity), TranslationDto.class);
+        }
+
+        Translation saved = translationStore.insert(entity);
+        eventPublisher.publishEvent(TranslationChangedEvent.of(null, saved));
+        return modelMapperWrapper.map(saved, TranslationDto.class);
     }
 
+    /**
+     * Applies the update to the stored translation if no other write got in between reading and saving it, so every
+     * revision number is used once; otherwise it is applied again to what that write left.
+     */
     public TranslationDto updateTranslation(String id, TranslationDto updated) {
-        Optional<Translation> optional = translationRepository.findById(id);
-        if (optional.isEmpty()) {
-            throw new ResourceNotFoundException("Translation not found with id: " + id);
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            Translation existing = translationStore.findById(ProjectContext.current(), id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Translation not found with id: " + id));
+            Translation previous = snapshot(existing);
+            modelMapperWrapper.map(updated, existing);
+            existing.setUpdatedAt(LocalDateTime.now());
+            revisionHistoryService.stage(previous, existing);
+
+            if (translationStore.replace(existing, previous.getRevision())) {
+                eventPublisher.publishEvent(TranslationChangedEvent.of(previous, existing));
+                return modelMapperWrapper.map(existing, TranslationDto.class);
+            }
         }
+        throw new ConcurrentUpdateException("Translation " + id + " is being changed concurrently, retry later");
+    }
 
-        Translation existing = optional.get();
-        modelMapperWrapper.map(updated, existing);
-        existing.setUpdatedAt(LocalDateTime.now());
+    public void deleteTranslation(String id) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            Translation existing = translationStore.findById(ProjectContext.current(), id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Translation not found with id: " + id));
+            if (deleteBatch(List.of(existing)) == 1) {
+                return;
+            }
+        }
+        throw new ConcurrentUpdateException("Translation " + id + " is being changed concurrently, retry later");
+    }
 
-        return modelMapperWrapper.map(translationRepository.save(existing), TranslationDto.class);
+    /**
+     * Deletes every translation of the current project matching all given filters. At least one filter is
+     * required. Matches are read lazily and deleted in batches, each with its tombstones and change event, so
+     * neither memory nor the size of a delete command grows with the number of matches.
+     */
+    public long deleteTranslations(String keyPrefix, String tag, String locale) {
+        if (!StringUtils.hasText(keyPrefix) && !StringUtils.hasText(tag) && !StringUtils.hasText(locale)) {
+            throw new IllegalArgumentException("At least one of keyPrefix, tag or locale is required");
+        }
+
+        long deleted = 0;
+        List<Translation> batch = new ArrayList<>(DELETE_BATCH_SIZE);
+        try (Stream<Translation> matching = translationStore.streamMatching(ProjectContext.current(),
+                StringUtils.hasText(keyPrefix) ? keyPrefix : null,
+                StringUtils.hasText(tag) ? tag : null,
+                StringUtils.hasText(locale) ? locale : null)) {
+            Iterator<Translation> iterator = matching.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == DELETE_BATCH_SIZE || !iterator.hasNext()) {
+                    deleted += deleteBatch(batch);
+                    batch = new ArrayList<>(DELETE_BATCH_SIZE);
+                }
+            }
+        }
+        log.info("Deleted {} translations (keyPrefix={}, tag={}, locale={})", deleted, keyPrefix, tag, locale);
+        return deleted;
     }
 
+    private long deleteBatch(List<Translation> batch) {
+        // Deletes exactly the translations read, unless changed since, so every deleted translation gets a tombstone
+        // and a change event numbered after its last revision.
+        List<Translation> deleted = translationStore.deleteAll(batch);
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+        tombstoneService.record(deleted, LocalDateTime.now());
+
+        List<TranslationChange> changes = deleted.stream()
+                .map(translation -> new TranslationChange(translation, null))
+                .toList();
+        eventPublisher.publishEvent(new TranslationChangedEvent(changes));
+        return deleted.size();
+    }
+
+    // Reads without a cache of their own are coalesced; getByLocale and getById already are, by their cache.
 
     public List<TranslationDto> getAllTranslations() {
-        List<Translation> translations = translationRepository.findAll();
-        return modelMapperWrapper.mapList(translations, TranslationDto.class);
+        String project = ProjectContext.current();
+        return singleFlight.execute("all", project, List.of(),
+                () -> query("all", project, "projectId",
+                        () -> translationStore.findByProject(project)));
     }
 
     public List<TranslationDto> searchByKey(String key) {
-        List<Translation> translations = translationRepository.findByKeyContainingIgnoreCase(key);
-        return modelMapperWrapper.mapList(translations, TranslationDto.class);
+        String project = ProjectContext.current();
+        return singleFlight.execute("searchByKey", project, List.of(key.toLowerCase(Locale.ROOT)),
+                () -> query("searchByKey", project, "projectId, key ~i",
+                        () -> translationStore.findByKeyContaining(project, key)));
     }
 
     public List<TranslationDto> searchByContent(String content) {
-        List<Translation> translations = translationRepository.findByContentContainingIgnoreCase(content);
-        return modelMapperWrapper.mapList(translations, TranslationDto.class);
+        String project = ProjectContext.current();
+        return singleFlight.execute("searchByContent", project, List.of(content.toLowerCase(Locale.ROOT)),
+                () -> query("searchByContent", project, "projectId, content ~i",
+                        () -> translationStore.findByContentContaining(project, content)));
     }
 
     public List<TranslationDto> searchByTags(Collection<String> tags) {
-        List<Translation> translations = translationRepository.findByTagsIn(tags);
-        return modelMapperWrapper.mapList(translations, TranslationDto.class);
+        String project = ProjectContext.current();
+        return singleFlight.execute("searchByTags", project, List.of(new TreeSet<>(tags)),
+                () -> query("searchByTags", project, "projectId, tags $in[" + tags.size() + "]",
+                        () -> translationStore.findByTags(project, tags)));
     }
 
     public List<TranslationDto> getByLocale(String locale) {
-        List<Translation> translations = translationRepository.findByLocale(locale);
-        return modelMapperWrapper.mapList(translations, TranslationDto.class);
+        String project = ProjectContext.current();
+        return translationCache.getByLocale(project, locale, key -> query("getByLocale", project, "projectId, locale",
+                () -> translationStore.findByLocale(project, key)));
     }
 
     public Optional<TranslationDto> getById(String id) {
-        return translationRepository.findById(id)
-                .map(translation -> modelMapperWrapper.map(translation, TranslationDto.class));
+        String project = ProjectContext.current();
+        return translationCache.getById(project, id, key -> {
+            TranslationQueryEvent event = new TranslationQueryEvent("getById", project, "_id, projectId");
+            event.begin();
+            Optional<Translation> translation = translationStore.findById(project, key);
+            event.finish(translation.isPresent() ? 1 : 0);
+            return translation.map(found -> modelMapperWrapper.map(found, TranslationDto.class));
+        });
     }
 
     public void createSeedTranslations() {
+        String project = ProjectContext.current();
         int total = 100_000;
         int batchSize = 1000;
 
@@ -80,6 +206,7 @@ public class TranslationService {
 
         for (int i = 1; i <= total; i++) {
             Translation translation = new Translation();
+            translation.setProjectId(project);
             translation.setKey("key_" + i);
             translation.setLocale(i % 2 == 0 ? "en" : "fr");
             translation.setContent("Sample content for translation " + i);
@@ -95,18 +222,38 @@ public class TranslationService {
             batch.add(translation);
 
             if (batch.size() == batchSize) {
-                translationRepository.saveAll(batch);
+                translationStore.saveAll(batch);
                 batch.clear();
                 log.info("Inserted {} records...", i);
             }
         }
 
         if (!batch.isEmpty()) {
-            translationRepository.saveAll(batch);
+            translationStore.saveAll(batch);
         }
 
         log.info("Finished inserting {} records.", total);
+        eventPublisher.publishEvent(new TranslationCatalogChangedEvent("seed"));
+    }
+
+    /**
+     * Runs {@code query} as a {@link TranslationQueryEvent}. The result is shared between coalesced callers, so
+     * read-only.
+     */
+    private List<TranslationDto> query(String operation, String project, String shape, Supplier<List<Translation>> query) {
+        TranslationQueryEvent event = new TranslationQueryEvent(operation, project, shape);
+        event.begin();
+        List<Translation> translations = query.get();
+        event.finish(translations.size());
+        return Collections.unmodifiableList(modelMapperWrapper.mapList(translations, TranslationDto.class));
     }
 
+    private static Translation snapshot(Translation translation) {
+        Translation copy = translation.toBuilder().build();
+        if (translation.getTags() != null) {
+            copy.setTags(new HashSet<>(translation.getTags()));
+        }
+        return copy;
+    }
 
 }
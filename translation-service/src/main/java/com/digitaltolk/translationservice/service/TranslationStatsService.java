@@ -0,0 +1,282 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.StatsProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.dto.TranslationStatsDto;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.migration.IndexContributor;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Keeps translation counts per project, locale and tag in {@value #COLLECTION}, one small document per counter.
+ * Writes adjust the counters with {@code $inc}; a periodic reconciliation recomputes them from the
+ * translations to correct drift from failed increments or bulk loads. With the {@code document-per-locale} layout
+ * it aggregates the {@code translations} collection; other layouts are read through {@link TranslationStore}.
+ */
+@Slf4j
+@Service
+public class TranslationStatsService implements IndexContributor {
+
+    static final String COLLECTION = "translation_stats";
+    static final String TOTAL = "total";
+    static final String LOCALE = "locale";
+    static final String TAG = "tag";
+    private static final String LEASE = "reconcile-lease";
+
+    /**
+     * Identifies one counter; {@code value} is {@code null} for the project total.
+     */
+    private record CounterId(String project, String dimension, String value) {
+
+        String id() {
+            // Project ids never contain ':' (see ProjectContext#isValid), so the id is unambiguous.
+            return value == null ? project + ":" + dimension : project + ":" + dimension + ":" + value;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final TranslationStore translationStore;
+    private final StorageProperties storageProperties;
+    private final StatsProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Timer reconcileTimer;
+    private final Counter drift;
+    private final Counter incrementFailures;
+
+    public TranslationStatsService(MongoTemplate mongoTemplate, TranslationStore translationStore,
+                                   StorageProperties storageProperties, StatsProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.translationStore = translationStore;
+        this.storageProperties = storageProperties;
+        this.properties = properties;
+        this.reconcileTimer = meterRegistry.timer("translation.stats.reconcile");
+        this.drift = meterRegistry.counter("translation.stats.drift");
+        this.incrementFailures = meterRegistry.counter("translation.stats.increment.failures");
+    }
+
+    public TranslationStatsDto getStats() {
+        long total = 0;
+        Map<String, Long> locales = new TreeMap<>();
+        Map<String, Long> tags = new TreeMap<>();
+        Date reconciledAt = null;
+
+        Query query = Query.query(Criteria.where("projectId").is(ProjectContext.current()));
+        for (Document counter : mongoTemplate.find(query, Document.class, COLLECTION)) {
+            String dimension = counter.getString("dimension");
+            long count = counter.get("count", Number.class) == null ? 0 : counter.get("count", Number.class).longValue();
+            if (TOTAL.equals(dimension)) {
+                total = count;
+                reconciledAt = counter.getDate("reconciledAt");
+            } else if (count > 0 && LOCALE.equals(dimension)) {
+                locales.put(counter.getString("value"), count);
+            } else if (count > 0 && TAG.equals(dimension)) {
+                tags.put(counter.getString("value"), count);
+            }
+        }
+        return new TranslationStatsDto(total, locales, tags, reconciledAt);
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        Map<CounterId, Long> deltas = new HashMap<>();
+        for (TranslationChange change : event.changes()) {
+            count(change.previous(), -1, deltas);
+            count(change.current(), 1, deltas);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        deltas.forEach((id, delta) -> {
+            Update update = new Update()
+                    .inc("count", delta)
+                    .setOnInsert("projectId", id.project())
+                    .setOnInsert("dimension", id.dimension());
+            if (id.value() != null) {
+                update.setOnInsert("value", id.value());
+            }
+            bulk.upsert(Query.query(Criteria.where("_id").is(id.id())), update);
+        });
+        try {
+            bulk.execute();
+        } catch (RuntimeException ex) {
+            // The translation itself is saved; the next reconciliation corrects the counters.
+            incrementFailures.increment();
+            log.warn("Failed to update translation stats: {}", ex.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(TranslationCatalogChangedEvent event) {
+        Thread.ofVirtual().name("stats-reconcile").start(() -> reconcile(true));
+    }
+
+    @Scheduled(initialDelayString = "${translation.stats.reconcile-interval:15m}",
+            fixedDelayString = "${translation.stats.reconcile-interval:15m}")
+    public void scheduledReconcile() {
+        reconcile(false);
+    }
+
+    /**
+     * Recomputes every counter and overwrites the stored values. Increments that land between the recount and
+     * the overwrite are lost until the next run.
+     */
+    public void reconcile(boolean force) {
+        try {
+            if (!force && !acquireLease()) {
+                return;
+            }
+            reconcileTimer.record(this::recompute);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to reconcile translation stats: {}", ex.getMessage());
+        }
+    }
+
+    private void recompute() {
+        Date started = new Date();
+        Map<String, Long> stored = new HashMap<>();
+        for (Document counter : mongoTemplate.find(Query.query(Criteria.where("dimension").exists(true)), Document.class, COLLECTION)) {
+            Number count = counter.get("count", Number.class);
+            stored.put(counter.getString("_id"), count == null ? 0 : count.longValue());
+        }
+
+        Map<CounterId, Long> counts = storageProperties.getLayout() == StorageProperties.Layout.DOCUMENT_PER_LOCALE
+                ? aggregateCounts()
+                : streamCounts();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        long[] corrections = new long[1];
+        counts.forEach((id, count) -> corrections[0] += set(bulk, id, count, started, stored));
+        if (!counts.isEmpty()) {
+            bulk.execute();
+        }
+
+        // Counters not seen by this run have no translations left; those created by $inc since keep no timestamp.
+        Query gone = Query.query(Criteria.where("dimension").in(TOTAL, LOCALE, TAG).and("reconciledAt").lt(started));
+        long removed = mongoTemplate.remove(gone, COLLECTION).getDeletedCount();
+
+        drift.increment(corrections[0] + removed);
+        log.info("Reconciled translation stats: {} counters corrected, {} removed", corrections[0], removed);
+    }
+
+    private Map<CounterId, Long> aggregateCounts() {
+        AggregationOptions options = AggregationOptions.builder().allowDiskUse(true).build();
+        Map<CounterId, Long> counts = new HashMap<>();
+
+        try (Stream<Document> totals = mongoTemplate.aggregateStream(Aggregation.newAggregation(
+                Aggregation.group("projectId").count().as("count")).withOptions(options), Translation.class, Document.class)) {
+            totals.forEach(group -> counts.put(new CounterId(ProjectContext.orDefault(group.getString("_id")), TOTAL, null),
+                    group.get("count", Number.class).longValue()));
+        }
+
+        try (Stream<Document> locales = mongoTemplate.aggregateStream(Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("locale").ne(null)),
+                Aggregation.group("projectId", "locale").count().as("count")).withOptions(options), Translation.class, Document.class)) {
+            locales.forEach(group -> counts.put(counterId(group, LOCALE, "locale"), group.get("count", Number.class).longValue()));
+        }
+
+        try (Stream<Document> tags = mongoTemplate.aggregateStream(Aggregation.newAggregation(
+                Aggregation.unwind("tags"),
+                Aggregation.match(Criteria.where("tags").ne(null)),
+                Aggregation.group("projectId", "tags").count().as("count")).withOptions(options), Translation.class, Document.class)) {
+            tags.forEach(group -> counts.put(counterId(group, TAG, "tags"), group.get("count", Number.class).longValue()));
+        }
+        return counts;
+    }
+
+    /**
+     * Counts in memory while streaming every translation; there is one counter per project, locale and tag, so
+     * the map stays small however large the catalog is.
+     */
+    private Map<CounterId, Long> streamCounts() {
+        Map<CounterId, Long> counts = new HashMap<>();
+        try (Stream<Translation> translations = translationStore.streamAll()) {
+            translations.forEach(translation -> count(translation, 1, counts));
+        }
+        return counts;
+    }
+
+    private boolean acquireLease() {
+        Date now = new Date();
+        Date until = new Date(now.getTime() + properties.getReconcileInterval().toMillis() / 2);
+        try {
+            mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(LEASE).and("until").lt(now)),
+                    new Update().set("owner", nodeId).set("until", until),
+                    FindAndModifyOptions.options().upsert(true),
+                    Document.class,
+                    COLLECTION);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            // Another node holds the lease for this interval.
+            return false;
+        }
+    }
+
+    @Override
+    public void ensureIndexes(MongoTemplate mongoTemplate) {
+        mongoTemplate.indexOps(COLLECTION).createIndex(new Index().on("projectId", Sort.Direction.ASC));
+    }
+
+    private static long set(BulkOperations bulk, CounterId id, long count, Date reconciledAt, Map<String, Long> stored) {
+        Update update = new Update()
+                .set("projectId", id.project())
+                .set("dimension", id.dimension())
+                .set("count", count)
+                .set("reconciledAt", reconciledAt);
+        if (id.value() != null) {
+            update.set("value", id.value());
+        }
+        bulk.upsert(Query.query(Criteria.where("_id").is(id.id())), update);
+        return Objects.equals(stored.get(id.id()), count) ? 0 : 1;
+    }
+
+    private static CounterId counterId(Document group, String dimension, String field) {
+        Document id = group.get("_id", Document.class);
+        return new CounterId(ProjectContext.orDefault(id.getString("projectId")), dimension, id.getString(field));
+    }
+
+    private static void count(Translation translation, long delta, Map<CounterId, Long> deltas) {
+        if (translation == null) {
+            return;
+        }
+        String project = ProjectContext.orDefault(translation.getProjectId());
+        deltas.merge(new CounterId(project, TOTAL, null), delta, Long::sum);
+        if (translation.getLocale() != null) {
+            deltas.merge(new CounterId(project, LOCALE, translation.getLocale()), delta, Long::sum);
+        }
+        if (translation.getTags() != null) {
+            translation.getTags().forEach(tag -> deltas.merge(new CounterId(project, TAG, tag), delta, Long::sum));
+        }
+    }
+}
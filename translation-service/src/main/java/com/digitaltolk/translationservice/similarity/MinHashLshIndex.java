@@ -0,0 +1,385 @@
+package com.digitaltolk.translationservice.similarity;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-duplicate index over short texts: character shingles, a MinHash signature of
+ * {@code bands * rows} values and one LSH bucket table per band. Two texts land in the same bucket of a band
+ * when all {@code rows} MinHash values of that band agree, which happens with probability {@code J^rows}
+ * for Jaccard similarity {@code J}. Every entry belongs to a partition, such as a locale, and lookups only
+ * match entries of their own partition.
+ * <p>
+ * Storage is kept in flat primitive arrays addressed by an entry ordinal so that a million entries fit in a
+ * few hundred megabytes: the band hashes of each entry, and per band an open-addressing table from band hash
+ * to the first ordinal of the bucket, with the rest of the bucket chained through {@link #next}. Signatures
+ * themselves are not retained; callers re-rank candidates with {@link #jaccard(int[], int[])}.
+ */
+public class MinHashLshIndex {
+
+    public record Candidate(String id, int matchingBands) {
+    }
+
+    private static final int NONE = -1;
+
+    private final int bands;
+    private final int rows;
+    private final int shingleSize;
+    private final int maxBucketScan;
+    private final int[] seeds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final BucketTable[] tables;
+
+    private String[] ids;
+    private String[] partitions;
+    private int[] bandHashes;
+    private int[] next;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int allocated;
+
+    public MinHashLshIndex(int bands, int rows, int shingleSize, int maxBucketScan) {
+        this.bands = bands;
+        this.rows = rows;
+        this.shingleSize = shingleSize;
+        this.maxBucketScan = maxBucketScan;
+
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        this.seeds = new int[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextInt();
+        }
+
+        this.tables = new BucketTable[bands];
+        for (int band = 0; band < bands; band++) {
+            tables[band] = new BucketTable(1024);
+        }
+        resize(1024);
+    }
+
+    public void put(String id, String partition, String content) {
+        int[] hashes = bandHashes(shingles(content), partition);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (hashes == null) {
+                return;
+            }
+
+            int ordinal = allocate();
+            ids[ordinal] = id;
+            partitions[ordinal] = partition;
+            ordinals.put(id, ordinal);
+
+            for (int band = 0; band < bands; band++) {
+                int slot = ordinal * bands + band;
+                bandHashes[slot] = hashes[band];
+                next[slot] = tables[band].head(hashes[band]);
+                tables[band].setHead(hashes[band], ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns entries of {@code partition} sharing at least one band with {@code text}, most shared bands first.
+     */
+    public List<Candidate> candidates(String text, String partition, int limit) {
+        int[] hashes = bandHashes(shingles(text), partition);
+        if (hashes == null) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> matches = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int band = 0; band < bands; band++) {
+                int ordinal = tables[band].head(hashes[band]);
+                for (int scanned = 0; ordinal != NONE && scanned < maxBucketScan; scanned++) {
+                    if (partition.equals(partitions[ordinal])) {
+                        matches.merge(ordinal, 1, Integer::sum);
+                    }
+                    ordinal = next[ordinal * bands + band];
+                }
+            }
+
+            List<Candidate> candidates = new ArrayList<>(matches.size());
+            matches.forEach((ordinal, count) -> candidates.add(new Candidate(ids[ordinal], count)));
+            candidates.sort(Comparator.comparingInt(Candidate::matchingBands).reversed());
+            return candidates.size() > limit ? List.copyOf(candidates.subList(0, limit)) : candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorted, de-duplicated hashes of the character shingles of the normalized text.
+     */
+    public int[] shingles(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return new int[0];
+        }
+
+        int count = Math.max(1, normalized.length() - shingleSize + 1);
+        int[] shingles = new int[count];
+        for (int start = 0; start < count; start++) {
+            int hash = 0x811C9DC5;
+            int end = Math.min(normalized.length(), start + shingleSize);
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ normalized.charAt(i)) * 0x01000193;
+            }
+            shingles[start] = hash;
+        }
+
+        Arrays.sort(shingles);
+        int unique = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[unique++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, unique);
+    }
+
+    public static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 1.0;
+        }
+        int i = 0;
+        int j = 0;
+        int intersection = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) intersection / (a.length + b.length - intersection);
+    }
+
+    /**
+     * Approximate heap footprint of the index structures, excluding the id strings themselves.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) ids.length * 8 * 2 + (long) bandHashes.length * 4 * 2 + (long) free.length * 4;
+            for (BucketTable table : tables) {
+                bytes += (long) table.keys.length * 8;
+            }
+            // HashMap node, boxed ordinal and table slot per entry.
+            bytes += (long) ordinals.size() * 64;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] bandHashes(int[] shingles, String partition) {
+        if (shingles.length == 0) {
+            return null;
+        }
+
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                int value = mix(shingle ^ seeds[i]);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+
+        int partitionHash = partition == null ? 0 : partition.hashCode();
+        int[] hashes = new int[bands];
+        for (int band = 0; band < bands; band++) {
+            int hash = band * 0x9E3779B9 + partitionHash;
+            for (int row = 0; row < rows; row++) {
+                hash = hash * 31 + signature[band * rows + row];
+            }
+            hashes[band] = mix(hash);
+        }
+        return hashes;
+    }
+
+    private void removeInternal(String id) {
+        Integer existing = ordinals.remove(id);
+        if (existing == null) {
+            return;
+        }
+
+        int ordinal = existing;
+        for (int band = 0; band < bands; band++) {
+            int slot = ordinal * bands + band;
+            BucketTable table = tables[band];
+            int head = table.head(bandHashes[slot]);
+            if (head == ordinal) {
+                table.setHead(bandHashes[slot], next[slot]);
+            } else {
+                int previous = head;
+                while (next[previous * bands + band] != ordinal) {
+                    previous = next[previous * bands + band];
+                }
+                next[previous * bands + band] = next[slot];
+            }
+        }
+
+        ids[ordinal] = null;
+        partitions[ordinal] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = ordinal;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (allocated == ids.length) {
+            resize(ids.length * 2);
+        }
+        return allocated++;
+    }
+
+    private void resize(int capacity) {
+        ids = ids == null ? new String[capacity] : Arrays.copyOf(ids, capacity);
+        partitions = partitions == null ? new String[capacity] : Arrays.copyOf(partitions, capacity);
+        bandHashes = bandHashes == null ? new int[capacity * bands] : Arrays.copyOf(bandHashes, capacity * bands);
+        next = next == null ? new int[capacity * bands] : Arrays.copyOf(next, capacity * bands);
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Open-addressing map from band hash to the first ordinal of its bucket. Keys whose bucket became empty
+     * keep their slot (head {@link #NONE}) until the next resize.
+     */
+    private static final class BucketTable {
+
+        private static final int UNUSED = Integer.MIN_VALUE;
+
+        private int[] keys;
+        private int[] heads;
+        private int used;
+
+        BucketTable(int capacity) {
+            keys = new int[capacity];
+            heads = new int[capacity];
+            Arrays.fill(heads, UNUSED);
+        }
+
+        int head(int key) {
+            int slot = slot(key);
+            return heads[slot] == UNUSED ? NONE : heads[slot];
+        }
+
+        void setHead(int key, int head) {
+            int slot = slot(key);
+            if (heads[slot] == UNUSED) {
+                if (head == NONE) {
+                    return;
+                }
+                keys[slot] = key;
+                used++;
+            }
+            heads[slot] = head;
+
+            if (used * 4 >= keys.length * 3) {
+                rehash();
+            }
+        }
+
+        private int slot(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (heads[slot] != UNUSED && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void rehash() {
+            int[] oldKeys = keys;
+            int[] oldHeads = heads;
+
+            int live = 0;
+            for (int head : oldHeads) {
+                if (head != UNUSED && head != NONE) {
+                    live++;
+                }
+            }
+            int capacity = Integer.highestOneBit(Math.max(16, live * 2)) * 2;
+
+            keys = new int[capacity];
+            heads = new int[capacity];
+            Arrays.fill(heads, UNUSED);
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldHeads[i] != UNUSED && oldHeads[i] != NONE) {
+                    int slot = slot(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    heads[slot] = oldHeads[i];
+                    used++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.digitaltolk.translationservice.similarity;
+
+import com.digitaltolk.translationservice.config.SimilarityProperties;
+import com.digitaltolk.translationservice.dto.SimilarTranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a {@link MinHashLshIndex} over all translation contents in memory and answers "similar text"
+ * lookups from it. The index is built once after startup and then patched from write events; entries
+ * changed on other nodes are re-read by id. Entries are partitioned by project and locale, so lookups only
+ * ever match translations of the caller's project.
+ */
+@Slf4j
+@Service
+public class TranslationMemoryService {
+
+    private final TranslationStore translationStore;
+    private final SimilarityProperties properties;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Map<String, Map<String, String>> partitions = new ConcurrentHashMap<>();
+
+    private volatile MinHashLshIndex index;
+    private volatile MinHashLshIndex building;
+
+    public TranslationMemoryService(TranslationStore translationStore,
+                                    SimilarityProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.translationStore = translationStore;
+        this.properties = properties;
+        this.index = newIndex();
+
+        Gauge.builder("translation.similarity.index.size", this, service -> service.index.size())
+                .register(meterRegistry);
+        Gauge.builder("translation.similarity.index.bytes", this, service -> service.index.estimatedBytes())
+                .register(meterRegistry);
+    }
+
+    public List<SimilarTranslationDto> findSimilar(String text, String locale, int limit) {
+        int size = Math.min(Math.max(1, limit), properties.getMaxResults());
+        String project = ProjectContext.current();
+        MinHashLshIndex current = index;
+
+        List<MinHashLshIndex.Candidate> candidates = current.candidates(text, partition(project, locale),
+                size * properties.getCandidateFactor());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        int[] query = current.shingles(text);
+        List<SimilarTranslationDto> results = new ArrayList<>();
+        for (Translation translation : translationStore.findAllById(
+                candidates.stream().map(MinHashLshIndex.Candidate::id).toList())) {
+            if (!locale.equals(translation.getLocale())
+                    || !project.equals(ProjectContext.orDefault(translation.getProjectId()))) {
+                continue;
+            }
+            double score = MinHashLshIndex.jaccard(query, current.shingles(translation.getContent()));
+            if (score >= properties.getMinScore()) {
+                results.add(new SimilarTranslationDto(translation.getId(), translation.getKey(),
+                        translation.getLocale(), translation.getContent(), score));
+            }
+        }
+
+        results.sort(Comparator.comparingDouble(SimilarTranslationDto::getScore).reversed());
+        return results.size() > size ? results.subList(0, size) : results;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (TranslationChange change : event.changes()) {
+            if (change.current() != null) {
+                put(change.current());
+            } else if (change.previous() != null) {
+                apply(index -> index.remove(change.previous().getId()));
+            }
+        }
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.all()) {
+            rebuildAsync();
+        } else if (event.remote() && !event.ids().isEmpty()) {
+            Set<String> missing = new HashSet<>(event.ids());
+            for (Translation translation : translationStore.findAllById(event.ids())) {
+                missing.remove(translation.getId());
+                put(translation);
+            }
+            missing.forEach(id -> apply(index -> index.remove(id)));
+        }
+    }
+
+    private void rebuildAsync() {
+        if (properties.isEnabled() && rebuilding.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("similarity-index-build").start(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        MinHashLshIndex fresh = newIndex();
+        building = fresh;
+        try {
+            try (Stream<Translation> translations = translationStore.streamAll()) {
+                translations.forEach(translation -> fresh.put(translation.getId(),
+                        partition(ProjectContext.orDefault(translation.getProjectId()), translation.getLocale()),
+                        translation.getContent()));
+            }
+            index = fresh;
+            log.info("Built similarity index with {} entries (~{} MB) in {} ms", fresh.size(),
+                    fresh.estimatedBytes() / (1024 * 1024), System.currentTimeMillis() - start);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to build similarity index: {}", ex.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private void put(Translation translation) {
+        String partition = partition(ProjectContext.orDefault(translation.getProjectId()), translation.getLocale());
+        apply(index -> index.put(translation.getId(), partition, translation.getContent()));
+    }
+
+    /**
+     * One shared instance per project and locale, so the index does not hold a partition string per entry.
+     */
+    private String partition(String project, String locale) {
+        if (locale == null) {
+            return null;
+        }
+        return partitions.computeIfAbsent(project, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(locale, key -> project + ":" + key);
+    }
+
+    /**
+     * Applies a change to the live index and to an index being rebuilt, so writes during a rebuild are kept.
+     */
+    private void apply(Consumer<MinHashLshIndex> change) {
+        change.accept(index);
+        MinHashLshIndex pending = building;
+        if (pending != null) {
+            change.accept(pending);
+        }
+    }
+
+    private MinHashLshIndex newIndex() {
+        return new MinHashLshIndex(properties.getBands(), properties.getRows(),
+                properties.getShingleSize(), properties.getMaxBucketScan());
+    }
+}
@@ -0,0 +1,412 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.model.TranslationKey.LocaleEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.digitaltolk.translationservice.store.KeyDocuments.*;
+
+/**
+ * The {@code document-per-key} layout: one {@link TranslationKey} per key holding all its locales, so a catalog of
+ * N keys in L locales has N documents instead of N × L, with the key and shared tags stored once.
+ * <p>
+ * Reads fetch key documents and flatten the matching locale entries; per-locale reads trim the other locales on
+ * the server. A write reads the key document and replaces its locale entries if its version is unchanged,
+ * retrying otherwise, so it costs an extra read compared to the per-locale layout.
+ * <p>
+ * Features that work on the {@code translations} collection directly do not see this layout yet: group commit
+ * (refused at startup) and the revision outbox (revisions are still written through the queue, just not retried
+ * after a crash).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "translation.storage", name = "layout", havingValue = "document-per-key")
+public class DocumentPerKeyStore implements TranslationStore {
+
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final MongoTemplate mongoTemplate;
+
+    public DocumentPerKeyStore(MongoTemplate mongoTemplate, GroupCommitProperties groupCommitProperties) {
+        if (groupCommitProperties.isEnabled()) {
+            throw new IllegalStateException("translation.group-commit requires the document-per-locale storage layout");
+        }
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Translation> findById(String projectId, String id) {
+        TranslationKey document = mongoTemplate.findOne(
+                Query.query(Criteria.where("projectId").is(projectId).and("locales.id").is(id)), TranslationKey.class);
+        return document == null ? Optional.empty()
+                : flatten(List.of(document), entry -> id.equals(entry.getId())).stream().findFirst();
+    }
+
+    @Override
+    public List<Translation> findAllById(Collection<String> ids) {
+        Set<String> wanted = new HashSet<>(ids);
+        return flatten(mongoTemplate.find(Query.query(Criteria.where("locales.id").in(wanted)), TranslationKey.class),
+                entry -> wanted.contains(entry.getId()));
+    }
+
+    @Override
+    public List<Translation> findByProject(String projectId) {
+        return flatten(mongoTemplate.find(Query.query(Criteria.where("projectId").is(projectId)), TranslationKey.class),
+                entry -> true);
+    }
+
+    @Override
+    public List<Translation> findByKeyContaining(String projectId, String key) {
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("key").regex(Pattern.quote(key), "i"));
+        return flatten(mongoTemplate.find(query, TranslationKey.class), entry -> true);
+    }
+
+    @Override
+    public List<Translation> findByContentContaining(String projectId, String content) {
+        Pattern pattern = Pattern.compile(Pattern.quote(content), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        Query query = Query.query(Criteria.where("projectId").is(projectId)
+                .and("locales.content").regex(Pattern.quote(content), "i"));
+        return flatten(mongoTemplate.find(query, TranslationKey.class),
+                entry -> entry.getContent() != null && pattern.matcher(entry.getContent()).find());
+    }
+
+    @Override
+    public List<Translation> findByTags(String projectId, Collection<String> tags) {
+        Query query = Query.query(Criteria.where("projectId").is(projectId).orOperator(
+                Criteria.where("tags").in(tags), Criteria.where("locales.tags").in(tags)));
+        return mongoTemplate.find(query, TranslationKey.class).stream()
+                .flatMap(document -> document.getLocales().stream()
+                        .filter(entry -> !Collections.disjoint(effectiveTags(document, entry), tags))
+                        .map(entry -> toTranslation(document, entry)))
+                .toList();
+    }
+
+    @Override
+    public List<Translation> findByLocale(String projectId, String locale) {
+        return findByLocales(projectId, List.of(locale));
+    }
+
+    @Override
+    public List<Translation> findByLocales(String projectId, Collection<String> locales) {
+        return findLocales(Criteria.where("projectId").is(projectId).and("locales.locale").in(locales), locales);
+    }
+
+    @Override
+    public List<Translation> findByLocalesAndKeys(String projectId, Collection<String> locales, Collection<String> keys) {
+        return findLocales(Criteria.where("projectId").is(projectId).and("key").in(keys)
+                .and("locales.locale").in(locales), locales);
+    }
+
+    @Override
+    public Stream<Translation> streamMatching(String projectId, String keyPrefix, String tag, String locale) {
+        Criteria criteria = Criteria.where("projectId").is(projectId);
+        if (keyPrefix != null) {
+            criteria.and("key").regex(KeyPrefix.regex(keyPrefix));
+        }
+        if (locale != null) {
+            criteria.and("locales.locale").is(locale);
+        }
+        if (tag != null) {
+            criteria.orOperator(Criteria.where("tags").is(tag), Criteria.where("locales.tags").is(tag));
+        }
+        return mongoTemplate.stream(Query.query(criteria), TranslationKey.class)
+                .flatMap(document -> document.getLocales().stream()
+                        .filter(entry -> locale == null || locale.equals(entry.getLocale()))
+                        .filter(entry -> tag == null || effectiveTags(document, entry).contains(tag))
+                        .map(entry -> toTranslation(document, entry)));
+    }
+
+    @Override
+    public Stream<Translation> streamAll() {
+        return mongoTemplate.stream(new Query(), TranslationKey.class)
+                .flatMap(document -> document.getLocales().stream().map(entry -> toTranslation(document, entry)));
+    }
+
+    @Override
+    public Stream<Translation> streamUpdatedSince(String projectId, LocalDateTime since) {
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("locales.updatedAt").gte(since));
+        return mongoTemplate.stream(query, TranslationKey.class)
+                .flatMap(document -> document.getLocales().stream()
+                        .filter(entry -> entry.getUpdatedAt() != null && !entry.getUpdatedAt().isBefore(since))
+                        .map(entry -> toTranslation(document, entry)));
+    }
+
+    @Override
+    public Stream<Translation> streamByLocales(String projectId, Collection<String> locales) {
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("locales.locale").in(locales))
+                .with(Sort.by("key"));
+        return mongoTemplate.stream(query, TranslationKey.class)
+                .flatMap(document -> document.getLocales().stream()
+                        .filter(entry -> locales.contains(entry.getLocale()))
+                        .map(entry -> toTranslation(document, entry)));
+    }
+
+    @Override
+    public Translation insert(Translation translation) {
+        if (translation.getId() == null) {
+            translation.setId(new ObjectId().toHexString());
+        } else if (mongoTemplate.exists(Query.query(Criteria.where("locales.id").is(translation.getId())),
+                TranslationKey.class)) {
+            throw new DuplicateKeyException("Translation " + translation.getId() + " already exists");
+        }
+        writeRetrying(translation);
+        return translation;
+    }
+
+    @Override
+    public Translation save(Translation translation) {
+        boolean update = translation.getId() != null;
+        if (!update) {
+            translation.setId(new ObjectId().toHexString());
+        }
+
+        writeRetrying(translation);
+        if (update) {
+            // The key may have changed; take the entry out of the document it was in.
+            removeEntries(translation.getProjectId(), Criteria.where("key").ne(translation.getKey()),
+                    Set.of(translation.getId()));
+        }
+        return translation;
+    }
+
+    /**
+     * Appends new translations to their key documents with one bulk write; translations that already have an id
+     * are saved one by one.
+     */
+    @Override
+    public void saveAll(List<Translation> translations) {
+        List<Translation> created = new ArrayList<>();
+        for (Translation translation : translations) {
+            if (translation.getId() == null) {
+                created.add(translation);
+            } else {
+                save(translation);
+            }
+        }
+        if (created.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TranslationKey.class);
+        Map<String, Map<String, List<Translation>>> byProject = created.stream()
+                .collect(Collectors.groupingBy(Translation::getProjectId,
+                        Collectors.groupingBy(Translation::getKey, LinkedHashMap::new, Collectors.toList())));
+
+        byProject.forEach((projectId, byKey) -> {
+            Map<String, TranslationKey> existing = mongoTemplate.find(Query.query(Criteria.where("projectId").is(projectId)
+                            .and("key").in(byKey.keySet())), TranslationKey.class).stream()
+                    .collect(Collectors.toMap(TranslationKey::getKey, Function.identity()));
+
+            byKey.forEach((key, group) -> {
+                group.forEach(translation -> translation.setId(new ObjectId().toHexString()));
+                TranslationKey document = existing.get(key);
+                if (document == null) {
+                    bulk.insert(newDocument(projectId, key, group));
+                } else {
+                    List<LocaleEntry> entries = group.stream().map(translation -> toEntry(translation, document.getTags())).toList();
+                    bulk.updateOne(Query.query(Criteria.where("_id").is(document.getId())),
+                            new Update().push("locales").each(entries.toArray()).inc("version", 1));
+                }
+            });
+        });
+        bulk.execute();
+    }
+
+    /**
+     * Replaces the entry in place when the key is unchanged. A new key moves the entry: it is written to its new
+     * document first and only then taken out of the old one, which is undone if the old entry changed meanwhile.
+     */
+    @Override
+    public boolean replace(Translation translation, Long expectedRevision) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            TranslationKey holder = mongoTemplate.findOne(Query.query(Criteria.where("projectId")
+                    .is(translation.getProjectId()).and("locales.id").is(translation.getId())), TranslationKey.class);
+            LocaleEntry stored = holder == null ? null : holder.getLocales().stream()
+                    .filter(entry -> translation.getId().equals(entry.getId()))
+                    .findFirst()
+                    .orElse(null);
+            if (stored == null || !Objects.equals(stored.getRevision(), expectedRevision)) {
+                return false;
+            }
+
+            List<LocaleEntry> entries = new ArrayList<>(holder.getLocales());
+            entries.remove(stored);
+            if (holder.getKey().equals(translation.getKey())) {
+                entries.add(toEntry(translation, holder.getTags()));
+                if (replaceEntries(holder, entries)) {
+                    return true;
+                }
+            } else if (write(translation)) {
+                if (replaceEntries(holder, entries)) {
+                    return true;
+                }
+                removeEntries(translation.getProjectId(), Criteria.where("key").is(translation.getKey()),
+                        Set.of(translation.getId()));
+            }
+        }
+        throw new IllegalStateException("Could not replace translation " + translation.getId()
+                + " after " + MAX_ATTEMPTS + " concurrent modifications of key " + translation.getKey());
+    }
+
+    @Override
+    public List<Translation> deleteAll(Collection<Translation> translations) {
+        Map<String, Translation> pending = new LinkedHashMap<>();
+        translations.forEach(translation -> pending.put(translation.getId(), translation));
+        List<Translation> deleted = new ArrayList<>();
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            List<TranslationKey> documents = mongoTemplate.find(
+                    Query.query(Criteria.where("locales.id").in(pending.keySet())), TranslationKey.class);
+            Set<String> stored = new HashSet<>();
+            for (TranslationKey document : documents) {
+                List<LocaleEntry> remaining = new ArrayList<>();
+                List<Translation> removed = new ArrayList<>();
+                for (LocaleEntry entry : document.getLocales()) {
+                    Translation read = pending.get(entry.getId());
+                    if (read == null) {
+                        remaining.add(entry);
+                    } else if (Objects.equals(read.getRevision(), entry.getRevision())) {
+                        stored.add(entry.getId());
+                        removed.add(read);
+                    } else {
+                        // Changed since it was read: kept.
+                        remaining.add(entry);
+                        pending.remove(entry.getId());
+                    }
+                }
+                if (!removed.isEmpty() && replaceEntries(document, remaining)) {
+                    deleted.addAll(removed);
+                    removed.forEach(read -> pending.remove(read.getId()));
+                }
+            }
+            // Stored nowhere: deleted by someone else.
+            pending.keySet().retainAll(stored);
+        }
+        if (!pending.isEmpty()) {
+            throw new IllegalStateException("Could not delete " + pending.size() + " translations after "
+                    + MAX_ATTEMPTS + " concurrent modifications of their keys");
+        }
+        return deleted;
+    }
+
+    private void writeRetrying(Translation translation) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (write(translation)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Could not save translation " + translation.getId()
+                + " after " + MAX_ATTEMPTS + " concurrent modifications of key " + translation.getKey());
+    }
+
+    /**
+     * Places the translation in its key document. Returns false if the document changed concurrently.
+     */
+    private boolean write(Translation translation) {
+        Query byKey = Query.query(Criteria.where("projectId").is(translation.getProjectId()).and("key").is(translation.getKey()));
+        TranslationKey document = mongoTemplate.findOne(byKey, TranslationKey.class);
+
+        if (document == null) {
+            try {
+                mongoTemplate.insert(newDocument(translation.getProjectId(), translation.getKey(), List.of(translation)));
+                return true;
+            } catch (DuplicateKeyException ex) {
+                return false;
+            }
+        }
+
+        List<LocaleEntry> entries = new ArrayList<>(document.getLocales());
+        entries.removeIf(entry -> translation.getId().equals(entry.getId()));
+        entries.add(toEntry(translation, document.getTags()));
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(document.getId()).and("version").is(document.getVersion())),
+                new Update().set("locales", entries).inc("version", 1),
+                TranslationKey.class).getModifiedCount() == 1;
+    }
+
+    /**
+     * Sets the document's entries, or drops it when none are left, if its version is unchanged.
+     */
+    private boolean replaceEntries(TranslationKey document, List<LocaleEntry> entries) {
+        Query unchanged = Query.query(Criteria.where("_id").is(document.getId()).and("version").is(document.getVersion()));
+        if (entries.isEmpty()) {
+            return mongoTemplate.remove(unchanged, TranslationKey.class).getDeletedCount() == 1;
+        }
+        return mongoTemplate.updateFirst(unchanged, new Update().set("locales", entries).inc("version", 1),
+                TranslationKey.class).getModifiedCount() == 1;
+    }
+
+    /**
+     * Pulls the entries with these ids from the project's documents matching {@code criteria}, then drops documents
+     * left without locales. Returns the number of entries removed.
+     */
+    private long removeEntries(String projectId, Criteria criteria, Set<String> ids) {
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("locales.id").in(ids)
+                .andOperator(criteria));
+        List<TranslationKey> documents = mongoTemplate.find(query, TranslationKey.class);
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        long removed = documents.stream()
+                .flatMap(document -> document.getLocales().stream())
+                .filter(entry -> ids.contains(entry.getId()))
+                .count();
+
+        List<String> documentIds = documents.stream().map(TranslationKey::getId).toList();
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(documentIds)),
+                new Update().pull("locales", new Document("id", new Document("$in", ids))).inc("version", 1),
+                TranslationKey.class);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(documentIds).and("locales").size(0)), TranslationKey.class);
+        return removed;
+    }
+
+    private List<Translation> findLocales(Criteria criteria, Collection<String> locales) {
+        // Trims the other locales on the server; a 20-locale key would otherwise send 19 unused entries.
+        List<String> wanted = List.copyOf(locales);
+        AggregationOperation trim = context -> new Document("$project", new Document("projectId", 1)
+                .append("key", 1)
+                .append("tags", 1)
+                .append("version", 1)
+                .append("locales", new Document("$filter", new Document("input", "$locales")
+                        .append("as", "entry")
+                        .append("cond", new Document("$in", List.of("$$entry.locale", wanted))))));
+        List<TranslationKey> documents = mongoTemplate.aggregate(
+                Aggregation.newAggregation(Aggregation.match(criteria), trim), TranslationKey.class, TranslationKey.class)
+                .getMappedResults();
+        return flatten(documents, entry -> true);
+    }
+
+    private static List<Translation> flatten(List<TranslationKey> documents, Predicate<LocaleEntry> filter) {
+        List<Translation> translations = new ArrayList<>();
+        for (TranslationKey document : documents) {
+            for (LocaleEntry entry : document.getLocales()) {
+                if (filter.test(entry)) {
+                    translations.add(toTranslation(document, entry));
+                }
+            }
+        }
+        return translations;
+    }
+}
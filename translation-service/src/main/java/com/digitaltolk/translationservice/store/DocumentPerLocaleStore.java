@@ -0,0 +1,154 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.repository.TranslationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The original layout: one {@code translations} document per key and locale.
+ */
+@Component
+@ConditionalOnProperty(prefix = "translation.storage", name = "layout", havingValue = "document-per-locale", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DocumentPerLocaleStore implements TranslationStore {
+
+    private final TranslationRepository translationRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Translation> findById(String projectId, String id) {
+        return translationRepository.findByIdAndProjectId(id, projectId);
+    }
+
+    @Override
+    public List<Translation> findAllById(Collection<String> ids) {
+        return translationRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Translation> findByProject(String projectId) {
+        return translationRepository.findByProjectId(projectId);
+    }
+
+    @Override
+    public List<Translation> findByKeyContaining(String projectId, String key) {
+        return translationRepository.findByProjectIdAndKeyContainingIgnoreCase(projectId, key);
+    }
+
+    @Override
+    public List<Translation> findByContentContaining(String projectId, String content) {
+        return translationRepository.findByProjectIdAndContentContainingIgnoreCase(projectId, content);
+    }
+
+    @Override
+    public List<Translation> findByTags(String projectId, Collection<String> tags) {
+        return translationRepository.findByProjectIdAndTagsIn(projectId, tags);
+    }
+
+    @Override
+    public List<Translation> findByLocale(String projectId, String locale) {
+        return translationRepository.findByProjectIdAndLocale(projectId, locale);
+    }
+
+    @Override
+    public List<Translation> findByLocales(String projectId, Collection<String> locales) {
+        return translationRepository.findByProjectIdAndLocaleIn(projectId, locales);
+    }
+
+    @Override
+    public List<Translation> findByLocalesAndKeys(String projectId, Collection<String> locales, Collection<String> keys) {
+        return translationRepository.findByProjectIdAndLocaleInAndKeyIn(projectId, locales, keys);
+    }
+
+    @Override
+    public Stream<Translation> streamMatching(String projectId, String keyPrefix, String tag, String locale) {
+        Criteria criteria = Criteria.where("projectId").is(projectId);
+        if (keyPrefix != null) {
+            criteria.and("key").regex(KeyPrefix.regex(keyPrefix));
+        }
+        if (tag != null) {
+            criteria.and("tags").is(tag);
+        }
+        if (locale != null) {
+            criteria.and("locale").is(locale);
+        }
+        return mongoTemplate.stream(Query.query(criteria), Translation.class);
+    }
+
+    @Override
+    public Stream<Translation> streamAll() {
+        return mongoTemplate.stream(new Query(), Translation.class);
+    }
+
+    @Override
+    public Stream<Translation> streamUpdatedSince(String projectId, LocalDateTime since) {
+        return mongoTemplate.stream(Query.query(Criteria.where("projectId").is(projectId).and("updatedAt").gte(since)),
+                Translation.class);
+    }
+
+    @Override
+    public Stream<Translation> streamByLocales(String projectId, Collection<String> locales) {
+        // Served by the project/locale/key index as a merge of one sorted range per locale.
+        Query query = Query.query(Criteria.where("projectId").is(projectId).and("locale").in(locales))
+                .with(Sort.by("key"));
+        return mongoTemplate.stream(query, Translation.class);
+    }
+
+    @Override
+    public Translation insert(Translation translation) {
+        return mongoTemplate.insert(translation);
+    }
+
+    @Override
+    public Translation save(Translation translation) {
+        return translationRepository.save(translation);
+    }
+
+    @Override
+    public void saveAll(List<Translation> translations) {
+        translationRepository.saveAll(translations);
+    }
+
+    @Override
+    public boolean replace(Translation translation, Long expectedRevision) {
+        Query query = Query.query(Criteria.where("_id").is(translation.getId()).and("revision").is(expectedRevision));
+        return mongoTemplate.replace(query, translation).getMatchedCount() == 1;
+    }
+
+    @Override
+    public List<Translation> deleteAll(Collection<Translation> translations) {
+        if (translations.isEmpty()) {
+            return List.of();
+        }
+        List<Criteria> asRead = translations.stream()
+                .map(translation -> Criteria.where("_id").is(translation.getId()).and("revision").is(translation.getRevision()))
+                .toList();
+        long deleted = mongoTemplate.remove(Query.query(new Criteria().orOperator(asRead)), Translation.class)
+                .getDeletedCount();
+        if (deleted == translations.size()) {
+            return List.copyOf(translations);
+        }
+
+        // Those still stored were changed meanwhile; the others are gone, whoever deleted them.
+        Query stored = Query.query(Criteria.where("_id").in(translations.stream().map(Translation::getId).toList()));
+        stored.fields().include("_id");
+        Set<String> kept = mongoTemplate.find(stored, Translation.class).stream()
+                .map(Translation::getId)
+                .collect(Collectors.toSet());
+        return translations.stream().filter(translation -> !kept.contains(translation.getId())).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.model.TranslationKey.LocaleEntry;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Conversions between {@link Translation}s and {@link TranslationKey} documents, shared by
+ * {@link DocumentPerKeyStore} and the layout migration.
+ */
+public final class KeyDocuments {
+
+    private KeyDocuments() {
+    }
+
+    /**
+     * A new key document for translations of one key; the tags most of them have become the shared tags.
+     */
+    public static TranslationKey newDocument(String projectId, String key, List<Translation> translations) {
+        Set<String> shared = mostCommonTags(translations);
+        return TranslationKey.builder()
+                .projectId(projectId)
+                .key(key)
+                .tags(shared)
+                .locales(translations.stream().map(translation -> toEntry(translation, shared))
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .version(0)
+                .build();
+    }
+
+    public static Translation toTranslation(TranslationKey document, LocaleEntry entry) {
+        Set<String> tags = effectiveTags(document, entry);
+        return Translation.builder()
+                .id(entry.getId())
+                .projectId(document.getProjectId())
+                .key(document.getKey())
+                .locale(entry.getLocale())
+                .content(entry.getContent())
+                .tags(tags.isEmpty() && entry.getTags() == null ? null : new HashSet<>(tags))
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .revision(entry.getRevision())
+                .build();
+    }
+
+    /**
+     * Stores the translation's tags only if they differ from the document's.
+     */
+    public static LocaleEntry toEntry(Translation translation, Set<String> documentTags) {
+        Set<String> tags = translation.getTags() == null ? Set.of() : translation.getTags();
+        Set<String> shared = documentTags == null ? Set.of() : documentTags;
+        return LocaleEntry.builder()
+                .id(translation.getId())
+                .locale(translation.getLocale())
+                .content(translation.getContent())
+                .tags(tags.equals(shared) ? null : new HashSet<>(tags))
+                .createdAt(translation.getCreatedAt())
+                .updatedAt(translation.getUpdatedAt())
+                .revision(translation.getRevision())
+                .build();
+    }
+
+    public static Set<String> effectiveTags(TranslationKey document, LocaleEntry entry) {
+        if (entry.getTags() != null) {
+            return entry.getTags();
+        }
+        return document.getTags() == null ? Set.of() : document.getTags();
+    }
+
+    static Set<String> mostCommonTags(List<Translation> translations) {
+        return translations.stream()
+                .map(translation -> translation.getTags() == null ? Set.<String>of() : translation.getTags())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .filter(tags -> !tags.isEmpty())
+                .map(tags -> (Set<String>) new HashSet<>(tags))
+                .orElse(null);
+    }
+}
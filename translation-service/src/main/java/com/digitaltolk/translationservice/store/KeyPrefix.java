@@ -0,0 +1,25 @@
+package com.digitaltolk.translationservice.store;
+
+/**
+ * Anchored regex for a key prefix, with metacharacters escaped one by one. MongoDB turns such a regex into tight
+ * bounds on the key index, which it does not reliably do for a {@code \Q...\E} quoted one.
+ */
+final class KeyPrefix {
+
+    private static final String METACHARACTERS = "\\.^$|?*+()[]{}";
+
+    private KeyPrefix() {
+    }
+
+    static String regex(String prefix) {
+        StringBuilder regex = new StringBuilder(prefix.length() + 8).append('^');
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (METACHARACTERS.indexOf(c) >= 0) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,828 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code embedded} layout: translations in append-only log files under
+ * {@code translation.storage.embedded.directory}, for edge deployments and tests without MongoDB.
+ * <p>
+ * Every write appends records, puts or deletes, to the active segment. An in-memory index maps each id to its
+ * latest record and keeps project, key, locale, tags and update time, so every query except content search is
+ * answered from memory and only reads the records it returns. On startup the segments are replayed to rebuild the
+ * index; a torn record at the end of the last segment, left by a crash mid-write, is cut off.
+ * <p>
+ * Writers take the append lock, which covers their revision checks, the append and the fsync; the index is only
+ * write-locked to apply records already on disk, so reads never wait for the disk. Everything that changes the
+ * index or the segment list holds both locks, append lock first, so writers can read them under the append lock.
+ * <p>
+ * Compaction starts a new active segment, copies the live records of all older ones into one segment flagged as
+ * compacted and swaps it in. Replay skips segments older than the newest compacted one, so a crash at any point
+ * leaves either the old segments or the compacted one in effect. Reads and writes continue while records are copied.
+ * <p>
+ * A segment starts with magic, format version and flags. A record is its payload length, the CRC32 of type and
+ * payload, the type, then the payload: the translation as Smile, or the deleted id.
+ * <p>
+ * Users, tombstones, revision history, statistics and coverage still live in MongoDB; like
+ * {@link DocumentPerKeyStore}, this store does not support group commit or the revision outbox.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "translation.storage", name = "layout", havingValue = "embedded")
+public class LogStructuredStore implements TranslationStore {
+
+    static final int MAGIC = 0x54534c47; // "TSLG"
+    static final byte FORMAT_VERSION = 1;
+    static final int SEGMENT_HEADER = 6;
+    static final int RECORD_HEADER = 9;
+
+    private static final byte FLAG_COMPACTED = 1;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int MAX_PAYLOAD = 16 * 1024 * 1024;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.log");
+    private static final Comparator<Location> BY_POSITION =
+            Comparator.comparingLong((Location location) -> location.segment().number).thenComparingLong(Location::offset);
+
+    /**
+     * Where the latest record of a translation is, plus everything queries filter on except content.
+     */
+    private record Location(String id, Segment segment, long offset, int length, String projectId, String key,
+                            String locale, Set<String> tags, LocalDateTime updatedAt, Long revision) {
+
+        int size() {
+            return RECORD_HEADER + length;
+        }
+
+        Location movedTo(Segment target, long targetOffset) {
+            return new Location(id, target, targetOffset, length, projectId, key, locale, tags, updatedAt, revision);
+        }
+    }
+
+    private static final class Segment {
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+        private final boolean compacted;
+        private long size;
+
+        Segment(long number, Path path, FileChannel channel, boolean compacted, long size) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.compacted = compacted;
+            this.size = size;
+        }
+    }
+
+    private static final class ProjectIndex {
+        private final Set<String> ids = new LinkedHashSet<>();
+        private final NavigableMap<String, Set<String>> idsByKey = new TreeMap<>();
+        private final Map<String, Set<String>> idsByLocale = new HashMap<>();
+    }
+
+    private final StorageProperties.Embedded properties;
+    private final Path directory;
+    private final ObjectMapper smile;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Location> index = new HashMap<>();
+    private final Map<String, ProjectIndex> projects = new HashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private long totalBytes;
+    private long liveBytes;
+
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+
+    public LogStructuredStore(StorageProperties properties,
+                              GroupCommitProperties groupCommitProperties,
+                              Jackson2ObjectMapperBuilder objectMapperBuilder,
+                              MeterRegistry meterRegistry) {
+        if (groupCommitProperties.isEnabled()) {
+            throw new IllegalStateException("translation.group-commit requires the document-per-locale storage layout");
+        }
+        this.properties = properties.getEmbedded();
+        this.directory = this.properties.getDirectory();
+        this.smile = objectMapperBuilder.factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        open();
+
+        Gauge.builder("translation.store.embedded.bytes", this, store -> store.totalBytes).register(meterRegistry);
+        Gauge.builder("translation.store.embedded.live.bytes", this, store -> store.liveBytes).register(meterRegistry);
+    }
+
+    // Queries
+
+    @Override
+    public Optional<Translation> findById(String projectId, String id) {
+        return read(() -> {
+            Location location = index.get(id);
+            return location != null && projectId.equals(location.projectId()) ? List.of(location) : List.of();
+        }).stream().findFirst();
+    }
+
+    @Override
+    public List<Translation> findAllById(Collection<String> ids) {
+        return read(() -> new LinkedHashSet<>(ids).stream().map(index::get).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public List<Translation> findByProject(String projectId) {
+        return read(() -> locations(project(projectId).ids));
+    }
+
+    @Override
+    public List<Translation> findByKeyContaining(String projectId, String key) {
+        String needle = key.toLowerCase(Locale.ROOT);
+        return read(() -> project(projectId).idsByKey.entrySet().stream()
+                .filter(entry -> entry.getKey().toLowerCase(Locale.ROOT).contains(needle))
+                .flatMap(entry -> entry.getValue().stream())
+                .map(index::get)
+                .toList());
+    }
+
+    /**
+     * The only query that reads every record of the project: content is not indexed.
+     */
+    @Override
+    public List<Translation> findByContentContaining(String projectId, String content) {
+        Pattern pattern = Pattern.compile(Pattern.quote(content), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        return findByProject(projectId).stream()
+                .filter(translation -> translation.getContent() != null && pattern.matcher(translation.getContent()).find())
+                .toList();
+    }
+
+    @Override
+    public List<Translation> findByTags(String projectId, Collection<String> tags) {
+        return read(() -> locations(project(projectId).ids).stream()
+                .filter(location -> location.tags() != null && !Collections.disjoint(location.tags(), tags))
+                .toList());
+    }
+
+    @Override
+    public List<Translation> findByLocale(String projectId, String locale) {
+        return findByLocales(projectId, List.of(locale));
+    }
+
+    @Override
+    public List<Translation> findByLocales(String projectId, Collection<String> locales) {
+        return read(() -> {
+            ProjectIndex project = project(projectId);
+            List<Location> result = new ArrayList<>();
+            for (String locale : new LinkedHashSet<>(locales)) {
+                result.addAll(locations(project.idsByLocale.getOrDefault(locale, Set.of())));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public List<Translation> findByLocalesAndKeys(String projectId, Collection<String> locales, Collection<String> keys) {
+        Set<String> wanted = new HashSet<>(locales);
+        return read(() -> {
+            ProjectIndex project = project(projectId);
+            return new LinkedHashSet<>(keys).stream()
+                    .flatMap(key -> locations(project.idsByKey.getOrDefault(key, Set.of())).stream())
+                    .filter(location -> wanted.contains(location.locale()))
+                    .toList();
+        });
+    }
+
+    @Override
+    public Stream<Translation> streamMatching(String projectId, String keyPrefix, String tag, String locale) {
+        return stream(() -> {
+            ProjectIndex project = project(projectId);
+            Collection<String> candidates = keyPrefix == null ? project.ids
+                    : project.idsByKey.tailMap(keyPrefix, true).entrySet().stream()
+                    .takeWhile(entry -> entry.getKey().startsWith(keyPrefix))
+                    .flatMap(entry -> entry.getValue().stream())
+                    .toList();
+            return locations(candidates).stream()
+                    .filter(location -> tag == null || (location.tags() != null && location.tags().contains(tag)))
+                    .filter(location -> locale == null || locale.equals(location.locale()))
+                    .sorted(BY_POSITION);
+        });
+    }
+
+    /**
+     * Reads each translation's latest record when the stream reaches it; translations deleted meanwhile are skipped.
+     */
+    @Override
+    public Stream<Translation> streamAll() {
+        return stream(() -> index.values().stream().sorted(BY_POSITION));
+    }
+
+    @Override
+    public Stream<Translation> streamUpdatedSince(String projectId, LocalDateTime since) {
+        return stream(() -> locations(project(projectId).ids).stream()
+                .filter(location -> location.updatedAt() != null && !location.updatedAt().isBefore(since))
+                .sorted(BY_POSITION));
+    }
+
+    @Override
+    public Stream<Translation> streamByLocales(String projectId, Collection<String> locales) {
+        Set<String> wanted = Set.copyOf(locales);
+        return stream(() -> project(projectId).idsByKey.values().stream()
+                .flatMap(ids -> locations(ids).stream())
+                .filter(location -> wanted.contains(location.locale())));
+    }
+
+    // Writes
+
+    @Override
+    public Translation insert(Translation translation) {
+        if (translation.getId() == null) {
+            translation.setId(new ObjectId().toHexString());
+        }
+        byte[] payload = serialize(translation);
+        appendLock.lock();
+        try {
+            if (index.get(translation.getId()) != null) {
+                throw new DuplicateKeyException("Translation " + translation.getId() + " already exists");
+            }
+            write(List.of(translation), List.of(payload));
+            return translation;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public Translation save(Translation translation) {
+        saveAll(List.of(translation));
+        return translation;
+    }
+
+    @Override
+    public void saveAll(List<Translation> translations) {
+        if (translations.isEmpty()) {
+            return;
+        }
+        List<byte[]> payloads = new ArrayList<>(translations.size());
+        for (Translation translation : translations) {
+            if (translation.getId() == null) {
+                translation.setId(new ObjectId().toHexString());
+            }
+            payloads.add(serialize(translation));
+        }
+
+        appendLock.lock();
+        try {
+            write(translations, payloads);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replace(Translation translation, Long expectedRevision) {
+        byte[] payload = serialize(translation);
+        appendLock.lock();
+        try {
+            Location stored = index.get(translation.getId());
+            if (stored == null || !Objects.equals(stored.revision(), expectedRevision)) {
+                return false;
+            }
+            write(List.of(translation), List.of(payload));
+            return true;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Translation> deleteAll(Collection<Translation> translations) {
+        appendLock.lock();
+        try {
+            Map<String, Translation> deleted = new LinkedHashMap<>();
+            for (Translation translation : translations) {
+                Location stored = index.get(translation.getId());
+                if (stored != null && Objects.equals(stored.revision(), translation.getRevision())) {
+                    deleted.putIfAbsent(translation.getId(), translation);
+                }
+            }
+            if (deleted.isEmpty()) {
+                return List.of();
+            }
+            Segment active = segments.getLast();
+            long offset = append(active, DELETE, deleted.keySet().stream()
+                    .map(id -> id.getBytes(StandardCharsets.UTF_8))
+                    .toList());
+            lock.writeLock().lock();
+            try {
+                totalBytes += active.size - offset;
+                deleted.keySet().forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return List.copyOf(deleted.values());
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the records and then indexes them. Called under the append lock.
+     */
+    private void write(List<Translation> translations, List<byte[]> payloads) {
+        Segment active = segments.getLast();
+        long offset = append(active, PUT, payloads);
+        lock.writeLock().lock();
+        try {
+            totalBytes += active.size - offset;
+            for (int i = 0; i < translations.size(); i++) {
+                put(location(translations.get(i), active, offset, payloads.get(i).length));
+                offset += RECORD_HEADER + payloads.get(i).length;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Compaction
+
+    @Scheduled(initialDelayString = "${translation.storage.embedded.compaction-interval:10m}",
+            fixedDelayString = "${translation.storage.embedded.compaction-interval:10m}")
+    public void scheduledCompaction() {
+        try {
+            if (garbageRatio() >= properties.getCompactionThreshold()) {
+                compact();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Compaction of the translation store failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Share of the log taken by overwritten and deleted records.
+     */
+    public double garbageRatio() {
+        lock.readLock().lock();
+        try {
+            return totalBytes == 0 ? 0 : 1 - (double) liveBytes / totalBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public synchronized void compact() throws IOException {
+        long start = System.currentTimeMillis();
+        List<Segment> sealed;
+        List<Location> live;
+        long before;
+
+        appendLock.lock();
+        lock.writeLock().lock();
+        try {
+            if (totalBytes == liveBytes) {
+                return;
+            }
+            sealed = List.copyOf(segments);
+            before = totalBytes;
+            segments.add(createSegment(sealed.getLast().number + 1));
+            Set<Segment> old = Collections.newSetFromMap(new IdentityHashMap<>());
+            old.addAll(sealed);
+            live = index.values().stream()
+                    .filter(location -> old.contains(location.segment()))
+                    .sorted(BY_POSITION)
+                    .toList();
+        } finally {
+            lock.writeLock().unlock();
+            appendLock.unlock();
+        }
+
+        long number = sealed.getLast().number;
+        Path target = segmentPath(number);
+        Path temporary = directory.resolve(target.getFileName() + ".compacting");
+        FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean swapped = false;
+        try {
+            writeFully(channel, segmentHeader(FLAG_COMPACTED), 0);
+            long[] offsets = new long[live.size()];
+            long position = SEGMENT_HEADER;
+            for (int i = 0; i < live.size(); i++) {
+                Location location = live.get(i);
+                offsets[i] = position;
+                position += transfer(location.segment().channel, location.offset(), location.size(), channel, position);
+            }
+            channel.force(true);
+
+            appendLock.lock();
+            lock.writeLock().lock();
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                syncDirectory();
+                Segment compacted = new Segment(number, target, channel, true, position);
+                for (int i = 0; i < live.size(); i++) {
+                    Location location = live.get(i);
+                    // Translations written while copying already point to the new active segment.
+                    if (index.get(location.id()) == location) {
+                        index.put(location.id(), location.movedTo(compacted, offsets[i]));
+                    }
+                }
+                segments.removeAll(sealed);
+                segments.addFirst(compacted);
+                swapped = true;
+
+                for (Segment segment : sealed) {
+                    segment.channel.close();
+                    if (segment.number != number) {
+                        Files.deleteIfExists(segment.path);
+                    }
+                }
+                totalBytes = segments.stream().mapToLong(segment -> segment.size - SEGMENT_HEADER).sum();
+            } finally {
+                lock.writeLock().unlock();
+                appendLock.unlock();
+            }
+            log.info("Compacted {} translation store segments from {} to {} bytes in {} ms", sealed.size(), before,
+                    position - SEGMENT_HEADER, System.currentTimeMillis() - start);
+        } finally {
+            if (!swapped) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        appendLock.lock();
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments) {
+                segment.channel.close();
+            }
+            segments.clear();
+            if (fileLock != null) {
+                fileLock.release();
+                lockChannel.close();
+                fileLock = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+            appendLock.unlock();
+        }
+    }
+
+    // Recovery
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve("LOCK"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                fileLock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException ex) {
+                fileLock = null;
+            }
+            if (fileLock == null) {
+                lockChannel.close();
+                throw new IllegalStateException("Translation store " + directory + " is already open");
+            }
+
+            long start = System.currentTimeMillis();
+            SortedMap<Long, Path> files = new TreeMap<>();
+            try (Stream<Path> listing = Files.list(directory)) {
+                for (Path file : listing.toList()) {
+                    Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        files.put(Long.parseLong(matcher.group(1)), file);
+                    } else if (file.getFileName().toString().endsWith(".compacting")) {
+                        Files.delete(file);
+                    }
+                }
+            }
+
+            // Segments older than the newest compacted one are superseded by it.
+            long first = files.isEmpty() ? 0 : files.firstKey();
+            for (Map.Entry<Long, Path> file : files.entrySet()) {
+                if (isCompacted(file.getValue())) {
+                    first = file.getKey();
+                }
+            }
+            for (Map.Entry<Long, Path> file : files.headMap(first).entrySet()) {
+                Files.delete(file.getValue());
+            }
+
+            SortedMap<Long, Path> current = files.tailMap(first);
+            for (Map.Entry<Long, Path> file : current.entrySet()) {
+                replay(file.getKey(), file.getValue(), file.getKey().equals(current.lastKey()));
+            }
+            if (segments.isEmpty() || segments.getLast().compacted) {
+                segments.add(createSegment(segments.isEmpty() ? 1 : segments.getLast().number + 1));
+            }
+            log.info("Opened translation store {} with {} translations in {} segments in {} ms", directory,
+                    index.size(), segments.size(), System.currentTimeMillis() - start);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open translation store " + directory, ex);
+        }
+    }
+
+    private void replay(long number, Path path, boolean last) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER);
+        if (channel.read(header, 0) < SEGMENT_HEADER || header.getInt(0) != MAGIC || header.get(4) != FORMAT_VERSION) {
+            channel.close();
+            throw new IllegalStateException("Not a translation store segment of format " + FORMAT_VERSION + ": " + path);
+        }
+        Segment segment = new Segment(number, path, channel, (header.get(5) & FLAG_COMPACTED) != 0, 0);
+        segments.add(segment);
+
+        long position = SEGMENT_HEADER;
+        long end = channel.size();
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER);
+        while (position < end) {
+            byte[] payload = null;
+            byte type = 0;
+            recordHeader.clear();
+            if (end - position >= RECORD_HEADER && readFully(channel, recordHeader, position)) {
+                int length = recordHeader.getInt(0);
+                type = recordHeader.get(8);
+                if (length >= 0 && length <= MAX_PAYLOAD && position + RECORD_HEADER + length <= end) {
+                    ByteBuffer buffer = ByteBuffer.allocate(length);
+                    readFully(channel, buffer, position + RECORD_HEADER);
+                    if (checksum(type, buffer.array()) == recordHeader.getInt(4) && (type == PUT || type == DELETE)) {
+                        payload = buffer.array();
+                    }
+                }
+            }
+
+            if (payload == null) {
+                if (!last) {
+                    throw new IllegalStateException("Corrupt record in " + path + " at offset " + position);
+                }
+                log.warn("Truncating {} bytes of a torn record at the end of {}", end - position, path);
+                channel.truncate(position);
+                channel.force(true);
+                end = position;
+                break;
+            }
+
+            if (type == PUT) {
+                put(location(smile.readValue(payload, Translation.class), segment, position, payload.length));
+            } else {
+                remove(new String(payload, StandardCharsets.UTF_8));
+            }
+            position += RECORD_HEADER + payload.length;
+        }
+        segment.size = end;
+        totalBytes += end - SEGMENT_HEADER;
+    }
+
+    private static boolean isCompacted(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER);
+            return channel.read(header, 0) == SEGMENT_HEADER && header.getInt(0) == MAGIC
+                    && (header.get(5) & FLAG_COMPACTED) != 0;
+        }
+    }
+
+    // Index, changed under both locks
+
+    private void put(Location location) {
+        Location previous = index.put(location.id(), location);
+        if (previous != null) {
+            unindex(previous);
+            liveBytes -= previous.size();
+        }
+        ProjectIndex project = projects.computeIfAbsent(location.projectId(), key -> new ProjectIndex());
+        project.ids.add(location.id());
+        project.idsByKey.computeIfAbsent(location.key(), key -> new LinkedHashSet<>()).add(location.id());
+        project.idsByLocale.computeIfAbsent(location.locale(), key -> new LinkedHashSet<>()).add(location.id());
+        liveBytes += location.size();
+    }
+
+    private void remove(String id) {
+        Location previous = index.remove(id);
+        if (previous != null) {
+            unindex(previous);
+            liveBytes -= previous.size();
+        }
+    }
+
+    private void unindex(Location location) {
+        ProjectIndex project = projects.get(location.projectId());
+        project.ids.remove(location.id());
+        removeFrom(project.idsByKey, location.key(), location.id());
+        removeFrom(project.idsByLocale, location.locale(), location.id());
+        if (project.ids.isEmpty()) {
+            projects.remove(location.projectId());
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<String>> ids, String key, String id) {
+        Set<String> set = ids.get(key);
+        if (set != null && set.remove(id) && set.isEmpty()) {
+            ids.remove(key);
+        }
+    }
+
+    private static Location location(Translation translation, Segment segment, long offset, int length) {
+        return new Location(translation.getId(), segment, offset, length, translation.getProjectId(),
+                translation.getKey(), translation.getLocale(),
+                translation.getTags() == null ? null : Set.copyOf(translation.getTags()), translation.getUpdatedAt(),
+                translation.getRevision());
+    }
+
+    // Reads, under the read lock
+
+    private ProjectIndex project(String projectId) {
+        return projects.getOrDefault(projectId, new ProjectIndex());
+    }
+
+    private List<Location> locations(Collection<String> ids) {
+        return ids.stream().map(index::get).toList();
+    }
+
+    private List<Translation> read(Supplier<List<Location>> query) {
+        lock.readLock().lock();
+        try {
+            // In file order, so large results are read mostly sequentially.
+            List<Location> locations = new ArrayList<>(query.get());
+            locations.sort(BY_POSITION);
+            List<Translation> translations = new ArrayList<>(locations.size());
+            for (Location location : locations) {
+                translations.add(read(location));
+            }
+            return translations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Stream<Translation> stream(Supplier<Stream<Location>> query) {
+        List<String> ids;
+        lock.readLock().lock();
+        try {
+            ids = query.get().map(Location::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids.stream().map(id -> {
+            lock.readLock().lock();
+            try {
+                Location location = index.get(id);
+                return location == null ? null : read(location);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }).filter(Objects::nonNull);
+    }
+
+    private Translation read(Location location) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(location.length());
+            readFully(location.segment().channel, buffer, location.offset() + RECORD_HEADER);
+            return smile.readValue(buffer.array(), Translation.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read translation " + location.id(), ex);
+        }
+    }
+
+    // Files
+
+    /**
+     * Writes and, with {@code sync-writes}, fsyncs the records. Called under the append lock only, so reads go on
+     * meanwhile; the records are not indexed yet, so nothing reads them.
+     */
+    private long append(Segment segment, byte type, List<byte[]> payloads) {
+        int size = payloads.stream().mapToInt(payload -> RECORD_HEADER + payload.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] payload : payloads) {
+            buffer.putInt(payload.length).putInt(checksum(type, payload)).put(type).put(payload);
+        }
+        buffer.flip();
+
+        long offset = segment.size;
+        try {
+            writeFully(segment.channel, buffer, offset);
+            if (properties.isSyncWrites()) {
+                segment.channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write to translation store " + segment.path, ex);
+        }
+        segment.size += size;
+        return offset;
+    }
+
+    private Segment createSegment(long number) {
+        Path path = segmentPath(number);
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            writeFully(channel, segmentHeader((byte) 0), 0);
+            channel.force(true);
+            syncDirectory();
+            return new Segment(number, path, channel, false, SEGMENT_HEADER);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not create translation store segment " + path, ex);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("segment-%010d.log".formatted(number));
+    }
+
+    private void syncDirectory() {
+        // Makes renames and new files durable; not every platform can open a directory.
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Could not sync directory {}: {}", directory, ex.getMessage());
+        }
+    }
+
+    private byte[] serialize(Translation translation) {
+        try {
+            // The revision outbox belongs to the MongoDB layouts.
+            return smile.writeValueAsBytes(translation.toBuilder().pendingRevisions(null).build());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not serialize translation " + translation.getId(), ex);
+        }
+    }
+
+    private static ByteBuffer segmentHeader(byte flags) {
+        return ByteBuffer.allocate(SEGMENT_HEADER).putInt(MAGIC).put(FORMAT_VERSION).put(flags).flip();
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static long transfer(FileChannel source, long offset, int length, FileChannel target, long position)
+            throws IOException {
+        long copied = 0;
+        while (copied < length) {
+            long count = source.transferTo(offset + copied, length - copied, target.position(position + copied));
+            if (count <= 0) {
+                throw new IOException("Unexpected end of segment while compacting");
+            }
+            copied += count;
+        }
+        return copied;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Returns false if the file ends first.
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.model.Translation;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage of translations, independent of where and how they are laid out. Implementations are selected by
+ * {@code translation.storage.layout}; all queries except {@link #findAllById} and {@link #streamAll} are scoped to
+ * one project. Every implementation must pass {@code TranslationStoreConformanceTest}.
+ */
+public interface TranslationStore {
+
+    Optional<Translation> findById(String projectId, String id);
+
+    /**
+     * Across projects, for listeners that only know ids.
+     */
+    List<Translation> findAllById(Collection<String> ids);
+
+    List<Translation> findByProject(String projectId);
+
+    List<Translation> findByKeyContaining(String projectId, String key);
+
+    List<Translation> findByContentContaining(String projectId, String content);
+
+    List<Translation> findByTags(String projectId, Collection<String> tags);
+
+    List<Translation> findByLocale(String projectId, String locale);
+
+    List<Translation> findByLocales(String projectId, Collection<String> locales);
+
+    List<Translation> findByLocalesAndKeys(String projectId, Collection<String> locales, Collection<String> keys);
+
+    /**
+     * Translations matching every non-null filter: key prefix, tag and locale, read lazily. Callers must close the
+     * stream.
+     */
+    Stream<Translation> streamMatching(String projectId, String keyPrefix, String tag, String locale);
+
+    /**
+     * Translations of all projects, read lazily. Callers must close the stream.
+     */
+    Stream<Translation> streamAll();
+
+    /**
+     * The project's translations last written at or after {@code since}, read lazily. Callers must close the stream.
+     */
+    Stream<Translation> streamUpdatedSince(String projectId, LocalDateTime since);
+
+    /**
+     * The project's translations in these locales ordered by key, read lazily, so all locales of a key arrive
+     * together. Callers must close the stream.
+     */
+    Stream<Translation> streamByLocales(String projectId, Collection<String> locales);
+
+    /**
+     * Inserts a new translation, assigning an id if it has none. Throws {@link
+     * org.springframework.dao.DuplicateKeyException} instead of replacing a stored translation with the same id.
+     */
+    Translation insert(Translation translation);
+
+    /**
+     * Inserts a translation without id, assigning one, or replaces the one with its id.
+     */
+    Translation save(Translation translation);
+
+    /**
+     * {@link #save} for many translations, in as few writes as the store allows.
+     */
+    void saveAll(List<Translation> translations);
+
+    /**
+     * Replaces the stored translation with the same id if its revision is still {@code expectedRevision}. Returns
+     * false, writing nothing, if it was changed or deleted since it was read.
+     */
+    boolean replace(Translation translation, Long expectedRevision);
+
+    /**
+     * Deletes these translations unless they were changed since they were read, going by their revision, and
+     * returns the ones deleted.
+     */
+    List<Translation> deleteAll(Collection<Translation> translations);
+}
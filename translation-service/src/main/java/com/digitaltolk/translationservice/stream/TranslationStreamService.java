@@ -0,0 +1,268 @@
+package com.digitaltolk.translationservice.stream;
+
+import com.digitaltolk.translationservice.config.StreamProperties;
+import com.digitaltolk.translationservice.dto.TombstoneDto;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.event.TranslationCatalogChangedEvent;
+import com.digitaltolk.translationservice.event.TranslationChange;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes translation changes to Server-Sent Events subscribers. Every change is numbered once and fanned out from
+ * here to each subscriber's bounded buffer; a subscriber whose buffer is full is disconnected rather than allowed
+ * to hold up writers or other subscribers.
+ * <p>
+ * The last {@code replaySize} events are kept so a reconnecting client can resume from its {@code Last-Event-ID}.
+ * Event ids carry an id of this process, so a client that reconnects to another node, after a restart, or too late
+ * gets a {@code reset} event and reloads. Changes made on other nodes arrive through the cache invalidation bus.
+ */
+@Slf4j
+@Service
+public class TranslationStreamService {
+
+    static final String UPSERT = "upsert";
+    static final String DELETE = "delete";
+    static final String RESET = "reset";
+
+    /**
+     * {@code project} is null for events that concern every project and {@code locales} is null when the locale is
+     * unknown; such events reach every matching subscriber. Updates list the previous locale too, so subscribers
+     * of a locale a translation moved away from see it.
+     */
+    record StreamEvent(long sequence, String name, String project, Set<String> locales, Object data) {
+    }
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(-1, null, null, null, null);
+
+    private final TranslationStore translationStore;
+    private final ModelMapperWrapper modelMapperWrapper;
+    private final StreamProperties properties;
+    private final Counter dropped;
+
+    private final String streamId = UUID.randomUUID().toString();
+    private final Object lock = new Object();
+    private final Deque<StreamEvent> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long sequence;
+
+    public TranslationStreamService(TranslationStore translationStore,
+                                    ModelMapperWrapper modelMapperWrapper,
+                                    StreamProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.translationStore = translationStore;
+        this.modelMapperWrapper = modelMapperWrapper;
+        this.properties = properties;
+        this.dropped = meterRegistry.counter("translation.stream.dropped");
+        Gauge.builder("translation.stream.subscribers", subscribers, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Collection<String> locales, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = open(ProjectContext.current(), locales, lastEventId);
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(ex -> close(subscriber));
+        subscriber.drainer = Thread.ofVirtual().name("translation-stream").start(() -> drain(subscriber, emitter));
+        return emitter;
+    }
+
+    @EventListener
+    public void onTranslationChanged(TranslationChangedEvent event) {
+        if (event.changes().size() > properties.getSubscriberBuffer()) {
+            // No subscriber could take the batch; tell them to reload instead.
+            event.changes().stream()
+                    .map(change -> change.current() != null ? change.current() : change.previous())
+                    .map(translation -> ProjectContext.orDefault(translation.getProjectId()))
+                    .distinct()
+                    .forEach(project -> publish(RESET, project, null, "bulk change"));
+            return;
+        }
+        for (TranslationChange change : event.changes()) {
+            Set<String> locales = new HashSet<>();
+            if (change.previous() != null) {
+                locales.add(change.previous().getLocale());
+            }
+            if (change.current() != null) {
+                locales.add(change.current().getLocale());
+                publish(UPSERT, project(change.current()), locales,
+                        modelMapperWrapper.map(change.current(), TranslationDto.class));
+            } else {
+                Translation previous = change.previous();
+                publish(DELETE, project(previous), locales,
+                        new TombstoneDto(previous.getId(), previous.getKey(), previous.getLocale(), LocalDateTime.now()));
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(TranslationCatalogChangedEvent event) {
+        publish(RESET, null, null, event.reason());
+    }
+
+    @EventListener
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (!event.remote()) {
+            return;
+        }
+        if (event.all()) {
+            publish(RESET, null, null, "catalog changed");
+            return;
+        }
+        if (subscribers.isEmpty() || event.ids().size() > properties.getSubscriberBuffer()
+                || event.projects().size() != 1) {
+            // Without subscribers nobody needs the documents; a later resume across this point reloads instead.
+            event.projects().forEach(project -> publish(RESET, project, null, "remote change"));
+            return;
+        }
+
+        String project = event.projects().iterator().next();
+        Set<String> missing = new HashSet<>(event.ids());
+        for (Translation translation : translationStore.findAllById(event.ids())) {
+            missing.remove(translation.getId());
+            publish(UPSERT, project, event.locales(), modelMapperWrapper.map(translation, TranslationDto.class));
+        }
+        for (String id : missing) {
+            publish(DELETE, project, event.locales(), new TombstoneDto(id, null, null, LocalDateTime.now()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${translation.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle connections and surfaces dead ones; skipped for full buffers.
+        subscribers.forEach(subscriber -> subscriber.queue.offer(HEARTBEAT));
+    }
+
+    Subscriber open(String project, Collection<String> locales, String lastEventId) {
+        Subscriber subscriber = new Subscriber(project, locales == null ? Set.of() : Set.copyOf(locales),
+                new ArrayBlockingQueue<>(properties.getSubscriberBuffer()));
+        synchronized (lock) {
+            if (lastEventId != null) {
+                List<StreamEvent> missed = missedSince(lastEventId, subscriber);
+                if (missed == null || missed.size() > properties.getSubscriberBuffer()) {
+                    subscriber.queue.offer(new StreamEvent(sequence, RESET, project, null, "cannot resume"));
+                } else {
+                    missed.forEach(subscriber.queue::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        return subscriber;
+    }
+
+    void publish(String name, String project, Set<String> locales, Object data) {
+        synchronized (lock) {
+            StreamEvent event = new StreamEvent(++sequence, name, project, locales == null ? null : Set.copyOf(locales), data);
+            replay.addLast(event);
+            if (replay.size() > properties.getReplaySize()) {
+                replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event) && !subscriber.queue.offer(event)) {
+                    log.debug("Dropping slow stream subscriber of {}", subscriber.project);
+                    dropped.increment();
+                    close(subscriber);
+                }
+            }
+        }
+    }
+
+    String eventId(StreamEvent event) {
+        return streamId + ":" + event.sequence();
+    }
+
+    /**
+     * Events after {@code lastEventId} that the subscriber accepts, or null if they are no longer all known.
+     */
+    private List<StreamEvent> missedSince(String lastEventId, Subscriber subscriber) {
+        int separator = lastEventId.lastIndexOf(':');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(streamId)) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().sequence();
+        if (last > sequence || last < oldest - 1) {
+            return null;
+        }
+        return replay.stream()
+                .filter(event -> event.sequence() > last && subscriber.accepts(event))
+                .toList();
+    }
+
+    private void drain(Subscriber subscriber, SseEmitter emitter) {
+        try {
+            while (!subscriber.closed) {
+                StreamEvent event = subscriber.queue.take();
+                if (event == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event().id(eventId(event)).name(event.name()).data(event.data()));
+                }
+            }
+        } catch (InterruptedException ex) {
+            // Closed while waiting for events.
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Stream subscriber of {} went away: {}", subscriber.project, ex.getMessage());
+        } finally {
+            close(subscriber);
+            emitter.complete();
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        Thread drainer = subscriber.drainer;
+        if (drainer != null && drainer != Thread.currentThread()) {
+            drainer.interrupt();
+        }
+    }
+
+    private static String project(Translation translation) {
+        return ProjectContext.orDefault(translation.getProjectId());
+    }
+
+    static final class Subscriber {
+
+        final String project;
+        final Set<String> locales;
+        final BlockingQueue<StreamEvent> queue;
+        volatile Thread drainer;
+        volatile boolean closed;
+
+        Subscriber(String project, Set<String> locales, BlockingQueue<StreamEvent> queue) {
+            this.project = project;
+            this.locales = locales;
+            this.queue = queue;
+        }
+
+        boolean accepts(StreamEvent event) {
+            return (event.project() == null || event.project().equals(project))
+                    && (locales.isEmpty() || event.locales() == null || event.locales().stream().anyMatch(locales::contains));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.digitaltolk.translationservice.util;
 
+import com.digitaltolk.translationservice.profiling.MappingEvent;
 import org.modelmapper.ModelMapper;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,8 +23,12 @@ public class ModelMapperWrapper {
 
 
     public <D, T> List<D> mapList(final List<T> entityList, Class<D> outClass) {
-        return entityList.stream()
+        MappingEvent event = new MappingEvent(outClass, entityList.size());
+        event.begin();
+        List<D> mapped = entityList.stream()
                 .map(entity -> map(entity, outClass))
                 .collect(Collectors.toList());
+        event.commit();
+        return mapped;
     }
 }
\ No newline at end of file
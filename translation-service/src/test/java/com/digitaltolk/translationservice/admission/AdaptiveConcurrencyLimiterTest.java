@@ -0,0 +1,67 @@
+package com.digitaltolk.translationservice.admission;
+
+import com.digitaltolk.translationservice.config.AdmissionControlProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static AdmissionControlProperties.EndpointLimit limits(int initial, int maxQueue) {
+        return new AdmissionControlProperties.EndpointLimit(
+                initial, 1, 10, maxQueue, Duration.ofMillis(20), Duration.ofMillis(100), 1);
+    }
+
+    @Test
+    void acquire_ShouldRejectImmediately_WhenQueueIsFull() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(1, 0));
+
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.ACQUIRED, limiter.acquire());
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.QUEUE_FULL, limiter.acquire());
+    }
+
+    @Test
+    void acquire_ShouldTimeOut_WhenNoSlotIsReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(1, 1));
+
+        limiter.acquire();
+
+        assertEquals(AdaptiveConcurrencyLimiter.Outcome.TIMED_OUT, limiter.acquire());
+    }
+
+    @Test
+    void release_ShouldCutLimit_WhenLatencyExceedsTarget() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(10, 0));
+
+        limiter.acquire();
+        limiter.release(Duration.ofSeconds(1).toNanos());
+
+        assertEquals(9, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_ShouldGrowLimit_WhenSaturatedAndFast() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(2, 0));
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.acquire();
+            limiter.release(Duration.ofMillis(1).toNanos());
+            limiter.release(Duration.ofMillis(1).toNanos());
+        }
+
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    void tokenBucket_ShouldReportWait_WhenEmpty() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertEquals(0, bucket.tryConsume(2, 0));
+        assertEquals(Duration.ofSeconds(1).toNanos(), bucket.tryConsume(1, 0));
+        assertEquals(0, bucket.tryConsume(1, Duration.ofSeconds(1).toNanos()));
+    }
+}
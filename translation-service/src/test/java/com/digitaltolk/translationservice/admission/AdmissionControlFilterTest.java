@@ -0,0 +1,66 @@
+package com.digitaltolk.translationservice.admission;
+
+import com.digitaltolk.translationservice.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdmissionControlFilter filter() {
+        AdmissionControlProperties properties = new AdmissionControlProperties();
+        properties.setExpensive(new AdmissionControlProperties.EndpointLimit(
+                4, 1, 16, 16, Duration.ofMillis(250), Duration.ofMillis(50), 1));
+        return new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    private double expensiveLimit() {
+        return meterRegistry.get("translation.admission.limit").tag("endpoint.class", "expensive").gauge().value();
+    }
+
+    @Test
+    void doFilter_ShouldNotCutTheLimitForASlowDownloadThatStartedQuickly() throws Exception {
+        filter().doFilter(new MockHttpServletRequest("GET", "/api/translations/export"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    res.getOutputStream().write('x');
+                    sleep(100);
+                    res.getOutputStream().write('y');
+                });
+
+        assertEquals(4, expensiveLimit());
+    }
+
+    @Test
+    void doFilter_ShouldCutTheLimitWhenTheFirstByteIsSlow() throws Exception {
+        filter().doFilter(new MockHttpServletRequest("GET", "/api/translations/export"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    sleep(100);
+                    res.getOutputStream().write('x');
+                });
+
+        assertTrue(expensiveLimit() < 4);
+    }
+
+    @Test
+    void doFilter_ShouldCountTheWholeRequestWhenNothingIsWritten() throws Exception {
+        filter().doFilter(new MockHttpServletRequest("DELETE", "/api/translations"), new MockHttpServletResponse(),
+                (req, res) -> sleep(100));
+
+        assertTrue(expensiveLimit() < 4);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.TombstoneDto;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import com.digitaltolk.translationservice.service.TombstoneService;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private LocaleBundleService localeBundleService;
+
+    @Mock
+    private TombstoneService tombstoneService;
+
+    @Mock
+    private TranslationStore translationStore;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoDatabase database;
+
+    @TempDir
+    private Path directory;
+
+    private TranslationCacheProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.getName()).thenReturn("translations");
+        properties = new TranslationCacheProperties();
+        properties.getSnapshot().setDirectory(directory);
+    }
+
+    @Test
+    void restore_ShouldLoadSnapshotAndCatchUpSinceWatermark() throws IOException {
+        LocalDateTime written = LocalDateTime.now().minusMinutes(30).truncatedTo(ChronoUnit.MILLIS);
+        TranslationCache source = new TranslationCache(properties, new SimpleMeterRegistry());
+        source.putByLocale("default", "en", List.of(dto("1", "greeting", "en", "Hello", written),
+                dto("2", "farewell", "en", "Goodbye", written)));
+        source.putByLocale("default", "fr", List.of(dto("3", "greeting", "fr", "Bonjour", written)));
+        assertTrue(service(source).write());
+
+        Translation updated = new Translation();
+        updated.setId("1");
+        updated.setKey("greeting");
+        updated.setLocale("en");
+        updated.setContent("Hi");
+        updated.setUpdatedAt(LocalDateTime.now());
+        when(translationStore.streamUpdatedSince(eq("default"), any(LocalDateTime.class))).thenReturn(Stream.of(updated));
+        when(tombstoneService.since(any())).thenReturn(List.of(new TombstoneDto("3", "greeting", "fr", LocalDateTime.now())));
+
+        TranslationCache restored = new TranslationCache(properties, new SimpleMeterRegistry());
+        assertTrue(service(restored).restore());
+
+        Map<String, List<TranslationDto>> locales = restored.localeEntries().get("default");
+        assertEquals(List.of("Goodbye", "Hi"), locales.get("en").stream().map(TranslationDto::getContent).sorted().toList());
+        assertEquals(List.of(), locales.get("fr"));
+        verify(localeBundleService).prime(eq("default"), eq("en"), any());
+        verify(tombstoneService).since(written.minus(properties.getSnapshot().getCatchUpOverlap()));
+    }
+
+    @Test
+    void restore_ShouldIgnoreCorruptSnapshot() throws IOException {
+        TranslationCache source = new TranslationCache(properties, new SimpleMeterRegistry());
+        source.putByLocale("default", "en", List.of(dto("1", "greeting", "en", "Hello", LocalDateTime.now())));
+        assertTrue(service(source).write());
+        Path file = directory.resolve(CatalogSnapshotService.FILE_NAME);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(file, bytes);
+
+        TranslationCache restored = new TranslationCache(properties, new SimpleMeterRegistry());
+
+        assertFalse(service(restored).restore());
+        assertTrue(restored.localeEntries().isEmpty());
+        verifyNoInteractions(tombstoneService);
+    }
+
+    @Test
+    void restore_ShouldIgnoreSnapshotOfAnotherDatabase() throws IOException {
+        TranslationCache source = new TranslationCache(properties, new SimpleMeterRegistry());
+        source.putByLocale("default", "en", List.of(dto("1", "greeting", "en", "Hello", LocalDateTime.now())));
+        assertTrue(service(source).write());
+        when(database.getName()).thenReturn("staging");
+
+        assertFalse(service(new TranslationCache(properties, new SimpleMeterRegistry())).restore());
+    }
+
+    private CatalogSnapshotService service(TranslationCache cache) {
+        return new CatalogSnapshotService(cache, localeBundleService, tombstoneService, translationStore, mongoTemplate,
+                new ModelMapperWrapper(new ModelMapper()), properties, new Jackson2ObjectMapperBuilder(),
+                new SimpleMeterRegistry());
+    }
+
+    private static TranslationDto dto(String id, String key, String locale, String content, LocalDateTime updatedAt) {
+        TranslationDto dto = new TranslationDto();
+        dto.setId(id);
+        dto.setKey(key);
+        dto.setLocale(locale);
+        dto.setContent(content);
+        dto.setUpdatedAt(updatedAt);
+        return dto;
+    }
+}
@@ -0,0 +1,51 @@
+package com.digitaltolk.translationservice.cache;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CatalogVersionServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    private CatalogVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        TranslationCacheProperties properties = new TranslationCacheProperties();
+        properties.setMaximumVersions(3);
+        service = new CatalogVersionService(mongoTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void current_ShouldReadEachCounterOnce() {
+        when(mongoTemplate.findById(eq("default:locale:fr"), eq(Document.class), anyString()))
+                .thenReturn(new Document("value", 7L).append("modifiedAt", new Date()));
+
+        assertEquals(7, service.current("default", "fr").version());
+        assertEquals(7, service.current("default", "fr").version());
+
+        verify(mongoTemplate, times(1)).findById(eq("default:locale:fr"), eq(Document.class), anyString());
+    }
+
+    @Test
+    void current_ShouldKeepAtMostTheMaximumNumberOfCounters() {
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(service.current("default", "zz" + i));
+        }
+
+        assertTrue(service.cachedCounters() <= 3);
+        verify(mongoTemplate, atLeast(20)).findById(anyString(), eq(Document.class), any());
+    }
+}
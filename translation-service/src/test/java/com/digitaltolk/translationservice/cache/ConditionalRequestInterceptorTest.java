@@ -0,0 +1,109 @@
+package com.digitaltolk.translationservice.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConditionalRequestInterceptorTest {
+
+    @Mock
+    private CatalogVersionService catalogVersionService;
+
+    private ConditionalRequestInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        interceptor = new ConditionalRequestInterceptor(catalogVersionService);
+    }
+
+    @Test
+    void preHandle_ShouldSetValidatorsWhenClientHasNoCopy() throws Exception {
+        when(catalogVersionService.current("default")).thenReturn(new CatalogVersion(1, 7, Instant.parse("2025-01-01T00:00:00Z")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/translations"), response, handler("catalog")));
+        assertEquals("\"1.7\"", response.getHeader("ETag"));
+        assertNotNull(response.getHeader("Last-Modified"));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void preHandle_ShouldAnswerNotModifiedForCurrentETag() throws Exception {
+        when(catalogVersionService.current("default", "fr")).thenReturn(new CatalogVersion(1, 3, Instant.EPOCH));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations/locale/fr");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("locale", "fr"));
+        request.addHeader("If-None-Match", "\"1.3\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("locale")));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void preHandle_ShouldGiveEachRepresentationItsOwnETag() throws Exception {
+        when(catalogVersionService.current("default")).thenReturn(new CatalogVersion(1, 7, Instant.EPOCH));
+
+        assertEquals("\"1.7\"", eTagFor("application/json"));
+        assertEquals("\"1.7\"", eTagFor("*/*"));
+        assertEquals("\"1.7-cbor\"", eTagFor("application/cbor"));
+        assertEquals("\"1.7-smile\"", eTagFor("application/x-jackson-smile, application/json;q=0.5"));
+    }
+
+    @Test
+    void preHandle_ShouldNotRevalidateCborRequestWithJsonETag() throws Exception {
+        when(catalogVersionService.current("default")).thenReturn(new CatalogVersion(1, 7, Instant.EPOCH));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations");
+        request.addHeader("Accept", "application/cbor");
+        request.addHeader("If-None-Match", "\"1.7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("catalog")));
+        assertEquals(200, response.getStatus());
+        assertEquals("\"1.7-cbor\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreUnannotatedHandlers() throws Exception {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/translations/1"),
+                new MockHttpServletResponse(), handler("plain")));
+        verifyNoInteractions(catalogVersionService);
+    }
+
+    private String eTagFor(String accept) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations");
+        request.addHeader("Accept", accept);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, handler("catalog"));
+        return response.getHeader("ETag");
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(name));
+    }
+
+    static class Endpoints {
+
+        @CatalogVersioned
+        public void catalog() {
+        }
+
+        @CatalogVersioned(locale = "locale")
+        public void locale() {
+        }
+
+        public void plain() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.digitaltolk.translationservice.controller;
+
+import com.digitaltolk.translationservice.config.AuthProperties;
+import com.digitaltolk.translationservice.dto.UserLoginRequest;
+import com.digitaltolk.translationservice.repository.UserRepository;
+import com.digitaltolk.translationservice.security.CustomUserDetailsService;
+import com.digitaltolk.translationservice.security.JwtUtil;
+import com.digitaltolk.translationservice.security.RefreshTokenService;
+import com.digitaltolk.translationservice.service.AuthService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthControllerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+
+    private AuthService authService;
+    private AuthController controller;
+
+    @BeforeEach
+    void setUp() {
+        AuthProperties properties = new AuthProperties();
+        properties.getPasswordHashing().setThreads(1);
+        properties.getPasswordHashing().setQueueCapacity(1);
+        properties.getPasswordHashing().setRetryAfter(Duration.ofSeconds(3));
+        // Keeps the single hashing thread busy until released.
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        authService = new AuthService(authenticationManager, mock(PasswordEncoder.class), mock(UserRepository.class),
+                mock(JwtUtil.class), mock(CustomUserDetailsService.class), mock(RefreshTokenService.class),
+                properties, new SimpleMeterRegistry());
+        controller = new AuthController(authService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        authService.shutdown();
+    }
+
+    @Test
+    void login_ShouldReturn503WithRetryAfterWhenHashingPoolIsSaturated() {
+        CompletableFuture<ResponseEntity<?>> running = controller.login(new UserLoginRequest("a", "secret"));
+        CompletableFuture<ResponseEntity<?>> queued = controller.login(new UserLoginRequest("b", "secret"));
+
+        ResponseEntity<?> rejected = controller.login(new UserLoginRequest("c", "secret")).join();
+
+        assertEquals(503, rejected.getStatusCode().value());
+        assertEquals("3", rejected.getHeaders().getFirst("Retry-After"));
+        release.countDown();
+        assertEquals(200, running.join().getStatusCode().value());
+        assertEquals(200, queued.join().getStatusCode().value());
+    }
+
+    @Test
+    void register_ShouldReturn503WithRetryAfterWhenHashingPoolIsSaturated() {
+        controller.login(new UserLoginRequest("a", "secret"));
+        controller.login(new UserLoginRequest("b", "secret"));
+
+        ResponseEntity<?> rejected = controller.register(new UserLoginRequest("c", "secret")).join();
+
+        assertEquals(503, rejected.getStatusCode().value());
+        assertEquals("3", rejected.getHeaders().getFirst("Retry-After"));
+    }
+}
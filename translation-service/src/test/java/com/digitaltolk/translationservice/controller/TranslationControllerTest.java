@@ -1,11 +1,16 @@
 package com.digitaltolk.translationservice.controller;
 
+import com.digitaltolk.translationservice.config.BinaryFormatsConfig;
 import com.digitaltolk.translationservice.config.SecurityConfig;
 import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.export.AndroidStringsFormat;
+import com.digitaltolk.translationservice.export.TranslationExportService;
 import com.digitaltolk.translationservice.security.JwtAuthenticationFilter;
 import com.digitaltolk.translationservice.security.JwtUtil;
 import com.digitaltolk.translationservice.service.TranslationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -35,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtUtil.class)
 })
 @AutoConfigureMockMvc(addFilters = false)
+@Import(BinaryFormatsConfig.class)
 class TranslationControllerTest {
 
     @Autowired
@@ -43,6 +49,9 @@ class TranslationControllerTest {
     @MockitoBean
     private TranslationService translationService;
 
+    @MockitoBean
+    private TranslationExportService translationExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -77,6 +86,53 @@ class TranslationControllerTest {
                 .andExpect(jsonPath("$.key").value("greeting"));
     }
 
+    @Test
+    void delete_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/translations/1"))
+                .andExpect(status().isNoContent());
+        Mockito.verify(translationService).deleteTranslation("1");
+    }
+
+    @Test
+    void deleteMatching_ShouldReturnDeletedCount() throws Exception {
+        when(translationService.deleteTranslations("legacy.", null, null)).thenReturn(42L);
+
+        mockMvc.perform(delete("/api/translations").param("keyPrefix", "legacy."))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(42));
+    }
+
+    @Test
+    void create_ShouldRejectInvalidMessagePattern() throws Exception {
+        TranslationDto dto = new TranslationDto();
+        dto.setKey("greeting");
+        dto.setLocale("en");
+        dto.setContent("Hello {name");
+
+        mockMvc.perform(post("/api/translations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.content").exists());
+        Mockito.verifyNoInteractions(translationService);
+    }
+
+    @Test
+    void create_ShouldAcceptSmileBody() throws Exception {
+        TranslationDto dto = new TranslationDto();
+        dto.setKey("greeting");
+        dto.setLocale("en");
+        dto.setContent("Hello");
+
+        Mockito.when(translationService.createTranslation(any(TranslationDto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        mockMvc.perform(post("/api/translations")
+                        .contentType(BinaryFormatsConfig.APPLICATION_SMILE)
+                        .content(new SmileMapper().writeValueAsBytes(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Hello"));
+    }
+
     @Test
     void getById_ShouldReturnTranslation_WhenFound() throws Exception {
         TranslationDto dto = new TranslationDto();
@@ -203,6 +259,30 @@ class TranslationControllerTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString(",,,")));
     }
 
+    @Test
+    void getAll_ShouldNegotiateCbor() throws Exception {
+        when(translationService.getAllTranslations()).thenReturn(List.of(dto));
+
+        byte[] body = mockMvc.perform(get("/api/translations").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TranslationDto[] decoded = new CBORMapper().findAndRegisterModules().readValue(body, TranslationDto[].class);
+        assertEquals("greeting", decoded[0].getKey());
+        assertEquals(dto.getCreatedAt(), decoded[0].getCreatedAt());
+    }
+
+    @Test
+    void exportTranslationsSmile_ShouldReturnSmileFile() throws Exception {
+        when(translationService.getAllTranslations()).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/api/translations/export/smile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=translations.sml"))
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE));
+    }
+
     @Test
     void exportTranslationsJson_ShouldReturnJsonFile() throws Exception {
         when(translationService.getAllTranslations()).thenReturn(List.of(dto));
@@ -214,23 +294,43 @@ class TranslationControllerTest {
                 .andExpect(content().string(org.hamcrest.Matchers.containsString("greeting")));
     }
 
+    @Test
+    void exportFiles_ShouldNameTheFileAfterFormatAndLocales() throws Exception {
+        when(translationExportService.prepare("android", List.of("fr", "de"), null)).thenReturn(
+                new TranslationExportService.Export(new AndroidStringsFormat(), "default", "en", List.of("fr", "de")));
+
+        mockMvc.perform(get("/api/translations/export").param("format", "android").param("locales", "fr,de"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=translations-android.zip"))
+                .andExpect(content().contentType("application/zip"));
+    }
+
+    @Test
+    void exportFiles_ShouldRejectUnknownFormats() throws Exception {
+        when(translationExportService.prepare("yaml", List.of("fr"), null))
+                .thenThrow(new IllegalArgumentException("Unknown export format 'yaml'"));
+
+        mockMvc.perform(get("/api/translations/export").param("format", "yaml").param("locales", "fr"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void escapeCsv_ShouldReturnEmptyString_WhenValueIsNull() {
-        TranslationController controller = new TranslationController(null);
+        TranslationController controller = new TranslationController(null, null);
         String result = controller.escapeCsv(null);
         assertEquals("", result);
     }
 
     @Test
     void escapeCsv_ShouldEscapeQuotes_WhenValueContainsQuote() {
-        TranslationController controller = new TranslationController(null);
+        TranslationController controller = new TranslationController(null, null);
         String result = controller.escapeCsv("he said \"hello\"");
         assertEquals("\"he said \"\"hello\"\"\"", result);
     }
 
     @Test
     void escapeCsv_ShouldWrapInQuotes_WhenValueContainsCommaOrNewline() {
-        TranslationController controller = new TranslationController(null);
+        TranslationController controller = new TranslationController(null, null);
         String resultWithComma = controller.escapeCsv("hello,world");
         assertEquals("\"hello,world\"", resultWithComma);
 
@@ -0,0 +1,153 @@
+package com.digitaltolk.translationservice.deadline;
+
+import com.digitaltolk.translationservice.config.DeadlineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DeadlineFilter filter(Duration deadline) {
+        DeadlineProperties properties = new DeadlineProperties();
+        properties.setEndpoints(Map.of("/api/translations/export/*", deadline));
+        return new DeadlineFilter(properties, meterRegistry);
+    }
+
+    @Test
+    void doFilter_ShouldSetDeadlineForConfiguredEndpoints() throws Exception {
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        filter(Duration.ofMinutes(1)).doFilter(new MockHttpServletRequest("GET", "/api/translations/export/csv"),
+                new MockHttpServletResponse(), (req, res) -> seen.set(RequestDeadline.current()));
+
+        assertEquals("/api/translations/export/*", seen.get().endpoint());
+        assertTrue(seen.get().remainingMillis() > 0);
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void doFilter_ShouldLeaveOtherEndpointsWithoutDeadline() throws Exception {
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>(new RequestDeadline("x", Duration.ZERO));
+
+        filter(Duration.ofMinutes(1)).doFilter(new MockHttpServletRequest("GET", "/api/translations/1"),
+                new MockHttpServletResponse(), (req, res) -> seen.set(RequestDeadline.current()));
+
+        assertNull(seen.get());
+    }
+
+    @Test
+    void doFilter_ShouldLimitTheStreamedExportOnlyUntilItStartsWriting() throws Exception {
+        DeadlineFilter filter = new DeadlineFilter(new DeadlineProperties(), meterRegistry);
+        AtomicReference<RequestDeadline> streamed = new AtomicReference<>();
+        AtomicReference<RequestDeadline> csv = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/translations/export"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    RequestDeadline deadline = RequestDeadline.current();
+                    assertTrue(deadline.remainingMillis() <= 30_000);
+                    assertFalse(deadline.isLifted());
+                    write(res);
+                    streamed.set(deadline);
+                });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/translations/export/csv"),
+                new MockHttpServletResponse(), (req, res) -> {
+                    write(res);
+                    csv.set(RequestDeadline.current());
+                });
+
+        assertEquals("/api/translations/export", streamed.get().endpoint());
+        assertTrue(streamed.get().isLifted());
+        assertEquals(Long.MAX_VALUE, streamed.get().remainingMillis());
+        assertEquals("/api/translations/export/*", csv.get().endpoint());
+        assertFalse(csv.get().isLifted());
+    }
+
+    @Test
+    void doFilter_ShouldCountRequestsPastTheirDeadline() throws Exception {
+        assertThrows(DeadlineExceededException.class, () ->
+                filter(Duration.ofMillis(1)).doFilter(new MockHttpServletRequest("GET", "/api/translations/export/csv"),
+                        new MockHttpServletResponse(), (req, res) -> {
+                            sleep(5);
+                            RequestDeadline.check();
+                        }));
+
+        assertEquals(1, meterRegistry.counter("translation.deadline.exceeded",
+                "endpoint", "/api/translations/export/*").count());
+    }
+
+    @Test
+    void doFilter_ShouldCountRequestsWhoseClientWentAway() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new DelegatingServletOutputStream(new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                });
+            }
+        };
+
+        assertThrows(IOException.class, () ->
+                filter(Duration.ofMinutes(1)).doFilter(new MockHttpServletRequest("GET", "/api/translations/export/csv"),
+                        response, (req, res) -> write(res)));
+
+        assertEquals(1, meterRegistry.counter("translation.request.cancelled",
+                "endpoint", "/api/translations/export/*").count());
+        assertEquals(0, meterRegistry.counter("translation.deadline.exceeded",
+                "endpoint", "/api/translations/export/*").count());
+    }
+
+    @Test
+    void doFilter_ShouldCountClientsThatWentAwayOnEndpointsWithoutDeadline() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new DelegatingServletOutputStream(new OutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        throw new IOException("Broken pipe");
+                    }
+                });
+            }
+        };
+
+        assertThrows(IOException.class, () ->
+                filter(Duration.ofMinutes(1)).doFilter(new MockHttpServletRequest("GET", "/api/translations/1"),
+                        response, (req, res) -> {
+                            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/translations/{id}");
+                            write(res);
+                        }));
+
+        assertEquals(1, meterRegistry.counter("translation.request.cancelled",
+                "endpoint", "/api/translations/{id}").count());
+    }
+
+    private static void write(ServletResponse response) throws IOException {
+        response.getOutputStream().write('x');
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
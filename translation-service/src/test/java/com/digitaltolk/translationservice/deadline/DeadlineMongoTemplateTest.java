@@ -0,0 +1,90 @@
+package com.digitaltolk.translationservice.deadline;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeadlineMongoTemplateTest {
+
+    private final DeadlineMongoTemplate template = new DeadlineMongoTemplate(
+            new SimpleMongoClientDatabaseFactory(mock(MongoClient.class), "test"),
+            new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void prepareCollection_ShouldLeaveCollectionAloneWithoutDeadline() {
+        assertSame(collection, template.prepareCollection(collection));
+        verify(collection, never()).withTimeout(anyLong(), any());
+    }
+
+    @Test
+    void prepareCollection_ShouldApplyTimeLeftAsTimeout() {
+        @SuppressWarnings("unchecked")
+        MongoCollection<Document> bounded = mock(MongoCollection.class);
+        when(collection.withTimeout(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(bounded);
+        RequestDeadline.set(new RequestDeadline("/search", Duration.ofSeconds(5)));
+
+        assertSame(bounded, template.prepareCollection(collection));
+        verify(collection).withTimeout(longThat(ms -> ms > 4000 && ms <= 5000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void prepareCollection_ShouldFailOncePastDeadline() {
+        RequestDeadline deadline = new RequestDeadline("/search", Duration.ZERO);
+        RequestDeadline.set(deadline);
+
+        assertThrows(DeadlineExceededException.class, () -> template.prepareCollection(collection));
+        assertTrue(deadline.isExceeded());
+    }
+
+    @Test
+    void prepareCollection_ShouldLeaveCollectionAloneOnceTheResponseStarted() {
+        RequestDeadline deadline = new RequestDeadline("/export", Duration.ofSeconds(30), true);
+        deadline.responseStarted();
+        RequestDeadline.set(deadline);
+
+        assertSame(collection, template.prepareCollection(collection));
+        verify(collection, never()).withTimeout(anyLong(), any());
+    }
+
+    @Test
+    void withTimeLeft_ShouldLimitStreamsUntilTheFirstByteByServerTime() {
+        Query query = new Query();
+        RequestDeadline.set(new RequestDeadline("/export", Duration.ofSeconds(30), true));
+
+        Query bounded = DeadlineMongoTemplate.withTimeLeft(query);
+
+        assertTrue(bounded.getMeta().getMaxTimeMsec() > 29_000 && bounded.getMeta().getMaxTimeMsec() <= 30_000);
+        assertFalse(query.getMeta().hasMaxTime());
+    }
+
+    @Test
+    void withTimeLeft_ShouldLeaveStreamsUnderATotalDeadlineToTheCollectionTimeout() {
+        Query query = new Query();
+        RequestDeadline.set(new RequestDeadline("/search", Duration.ofSeconds(5)));
+
+        assertSame(query, DeadlineMongoTemplate.withTimeLeft(query));
+    }
+}
@@ -0,0 +1,185 @@
+package com.digitaltolk.translationservice.export;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class TranslationExportServiceTest {
+
+    @Mock
+    private TranslationStore store;
+
+    private TranslationExportService service;
+
+    private final List<Translation> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new TranslationExportService(store, new LocaleFallbackProperties(), List.of(new Xliff12Format(),
+                new Xliff20Format(), new GettextFormat(), new AndroidStringsFormat(), new AppleStringsFormat()));
+        when(store.streamByLocales(eq("default"), anyCollection())).thenAnswer(invocation -> {
+            Collection<?> locales = invocation.getArgument(1);
+            return catalog.stream()
+                    .filter(translation -> locales.contains(translation.getLocale()))
+                    .sorted(Comparator.comparing(Translation::getKey));
+        });
+        add("checkout.total", "en", "Total <b>& tax</b>");
+        add("checkout.total", "fr", "Total <b>& taxes</b>");
+        add("greeting", "en", "Say \"hi\"\nto everyone");
+        add("greeting", "fr", "Dites \"salut\"\nà tous\u0007");
+        add("only english", "en", "Untranslated");
+    }
+
+    @Test
+    void xliff12_ShouldPairSourceAndTargetAndLeaveUntranslatedKeysWithoutTarget() throws Exception {
+        Element file = (Element) parse(export("xliff12", "fr")).getElementsByTagName("file").item(0);
+
+        assertEquals("en", file.getAttribute("source-language"));
+        assertEquals("fr", file.getAttribute("target-language"));
+        NodeList units = file.getElementsByTagName("trans-unit");
+        assertEquals(3, units.getLength());
+        Element total = (Element) units.item(0);
+        assertEquals("checkout.total", total.getAttribute("id"));
+        assertEquals("Total <b>& tax</b>", text(total, "source"));
+        assertEquals("Total <b>& taxes</b>", text(total, "target"));
+        assertEquals("Dites \"salut\"\nà tous", text((Element) units.item(1), "target"));
+        assertEquals(0, ((Element) units.item(2)).getElementsByTagName("target").getLength());
+    }
+
+    @Test
+    void xliff20_ShouldEscapeKeysThatAreNotValidIds() throws Exception {
+        NodeList units = parse(export("xliff20", "fr")).getElementsByTagName("unit");
+
+        Element untranslated = (Element) units.item(2);
+        assertEquals("only:20:english", untranslated.getAttribute("id"));
+        assertEquals("only english", untranslated.getAttribute("name"));
+        assertEquals("Untranslated", text(untranslated, "source"));
+        assertEquals("a:3a:b", Xliff20Format.unitId("a:b"));
+    }
+
+    @Test
+    void po_ShouldUseKeyAsContextAndSplitMultiLineStrings() throws Exception {
+        String po = export("po", "fr");
+
+        assertTrue(po.startsWith("msgid \"\"\nmsgstr \"\"\n\"Content-Type: text/plain; charset=UTF-8\\n\"\n"));
+        assertTrue(po.contains("""
+                msgctxt "greeting"
+                msgid ""
+                "Say \\"hi\\"\\n"
+                "to everyone"
+                msgstr ""
+                "Dites \\"salut\\"\\n"
+                "à tous\\007"
+                """));
+        assertTrue(po.contains("msgctxt \"only english\"\nmsgid \"Untranslated\"\nmsgstr \"\"\n"));
+    }
+
+    @Test
+    void android_ShouldEscapeValuesAndSkipUntranslatedKeys() throws Exception {
+        NodeList strings = parse(export("android", "fr")).getElementsByTagName("string");
+
+        assertEquals(2, strings.getLength());
+        Element greeting = (Element) strings.item(1);
+        assertEquals("greeting", greeting.getAttribute("name"));
+        assertEquals("Dites \\\"salut\\\"\\nà tous\\u0007", greeting.getTextContent());
+        assertEquals("\"\\@home \\'page\\' \"", AndroidStringsFormat.escape("@home 'page' "));
+        assertEquals("_1st_screen.title", AndroidStringsFormat.resourceName("1st-screen.title"));
+    }
+
+    @Test
+    void android_ShouldSkipKeysWhoseResourceNameIsTaken() throws Exception {
+        add("a b", "fr", "espace");
+        add("a-b", "fr", "tiret");
+        add("a.b", "fr", "point");
+        add("a_b", "fr", "souligné");
+        add("a_c", "fr", "autre");
+
+        NodeList strings = parse(export("android", "fr")).getElementsByTagName("string");
+
+        assertEquals(5, strings.getLength());
+        Map<String, String> byName = new HashMap<>();
+        for (int i = 0; i < strings.getLength(); i++) {
+            Element string = (Element) strings.item(i);
+            assertNull(byName.put(string.getAttribute("name"), string.getTextContent()));
+        }
+        assertEquals("espace", byName.get("a_b"));
+        assertEquals("point", byName.get("a.b"));
+        assertEquals("autre", byName.get("a_c"));
+    }
+
+    @Test
+    void strings_ShouldEscapeKeysAndValues() throws Exception {
+        assertEquals("""
+                "checkout.total" = "Total <b>& taxes</b>";
+                "greeting" = "Dites \\"salut\\"\\nà tous\\U0007";
+                """, export("strings", "fr"));
+    }
+
+    @Test
+    void write_ShouldZipOneFilePerLocale() throws Exception {
+        add("greeting", "pt-BR", "Olá");
+        add("greeting", "sr-Latn", "Zdravo");
+        TranslationExportService.Export export = service.prepare("android", List.of("fr", "pt-BR", "sr-Latn", "fr"), null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.write(export, out);
+
+        assertEquals("translations-android.zip", export.fileName());
+        Map<String, String> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                files.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("values-fr/strings.xml", "values-pt-rBR/strings.xml", "values-b+sr+Latn/strings.xml"),
+                List.copyOf(files.keySet()));
+        assertTrue(files.get("values-pt-rBR/strings.xml").contains("<string name=\"greeting\">Olá</string>"));
+    }
+
+    @Test
+    void prepare_ShouldRejectUnknownFormatsAndUnsafeLocales() {
+        assertThrows(IllegalArgumentException.class, () -> service.prepare("yaml", List.of("fr"), null));
+        assertThrows(IllegalArgumentException.class, () -> service.prepare("po", List.of("../fr"), null));
+        assertThrows(IllegalArgumentException.class, () -> service.prepare("po", List.of(), null));
+        assertEquals("translations-fr.po", service.prepare("po", List.of("fr"), null).fileName());
+    }
+
+    private String export(String format, String locale) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.write(service.prepare(format, List.of(locale), null), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static org.w3c.dom.Document parse(String xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String text(Element parent, String tag) {
+        return parent.getElementsByTagName(tag).item(0).getTextContent();
+    }
+
+    private void add(String key, String locale, String content) {
+        catalog.add(Translation.builder().projectId("default").key(key).locale(locale).content(content).build());
+    }
+}
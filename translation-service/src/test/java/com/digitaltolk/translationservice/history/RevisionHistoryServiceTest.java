@@ -0,0 +1,122 @@
+package com.digitaltolk.translationservice.history;
+
+import com.digitaltolk.translationservice.config.RevisionHistoryProperties;
+import com.digitaltolk.translationservice.dto.RevisionDto;
+import com.digitaltolk.translationservice.dto.RevisionPageDto;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationRevision;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RevisionHistoryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RevisionWriter revisionWriter;
+
+    private RevisionHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new RevisionHistoryService(mongoTemplate, revisionWriter, new ModelMapperWrapper(new ModelMapper()),
+                new RevisionHistoryProperties());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("alice", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stage_ShouldRecordOnlyChangedFieldsInTheOutbox() {
+        Translation previous = translation("Hello", Set.of("welcome"));
+        previous.setRevision(4L);
+        Translation current = previous.toBuilder().content("Hello there").build();
+
+        service.stage(previous, current);
+
+        assertEquals(5L, current.getRevision());
+        TranslationRevision revision = current.getPendingRevisions().get(0);
+        assertEquals("1:5", revision.getId());
+        assertEquals(TranslationRevision.UPDATE, revision.getType());
+        assertEquals("Hello", revision.getPreviousContent());
+        assertEquals("Hello there", revision.getContent());
+        assertNull(revision.getPreviousTags());
+        assertNull(revision.getTags());
+        assertEquals("alice", revision.getUser());
+        assertNull(previous.getPendingRevisions());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldQueueOutboxAndDeletes() {
+        Translation created = translation("Hello", null);
+        service.stage(null, created);
+        Translation deleted = translation("Bye", null);
+        deleted.setId("2");
+        deleted.setRevision(7L);
+
+        service.onTranslationChanged(TranslationChangedEvent.of(null, created));
+        service.onTranslationChanged(TranslationChangedEvent.of(deleted, null));
+
+        ArgumentCaptor<TranslationRevision> queued = ArgumentCaptor.forClass(TranslationRevision.class);
+        verify(revisionWriter, times(2)).enqueue(queued.capture());
+        assertEquals(TranslationRevision.CREATE, queued.getAllValues().get(0).getType());
+        assertEquals(1L, queued.getAllValues().get(0).getRevision());
+        assertEquals(TranslationRevision.DELETE, queued.getAllValues().get(1).getType());
+        assertEquals(8L, queued.getAllValues().get(1).getRevision());
+        assertEquals("Bye", queued.getAllValues().get(1).getPreviousContent());
+    }
+
+    @Test
+    void getHistory_ShouldPageByRevisionKeyset() {
+        List<TranslationRevision> newestFirst = LongStream.of(9, 8, 7)
+                .mapToObj(revision -> TranslationRevision.builder().translationId("1").revision(revision).build())
+                .toList();
+        when(mongoTemplate.find(any(Query.class), eq(TranslationRevision.class))).thenReturn(newestFirst);
+
+        RevisionPageDto page = service.getHistory("1", 10L, 2);
+
+        assertEquals(List.of(9L, 8L), page.getRevisions().stream().map(RevisionDto::getRevision).toList());
+        assertEquals(8L, page.getNextBefore());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(TranslationRevision.class));
+        assertEquals(3, query.getValue().getLimit());
+        assertEquals("default", query.getValue().getQueryObject().get("projectId"));
+    }
+
+    private static Translation translation(String content, Set<String> tags) {
+        Translation translation = new Translation();
+        translation.setId("1");
+        translation.setProjectId("default");
+        translation.setKey("greeting");
+        translation.setLocale("en");
+        translation.setContent(content);
+        translation.setTags(tags);
+        return translation;
+    }
+}
@@ -0,0 +1,84 @@
+package com.digitaltolk.translationservice.migration;
+
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.store.KeyDocuments;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KeyLayoutMigrationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private KeyLayoutMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        migration = new KeyLayoutMigration(mongoTemplate, new StorageProperties());
+    }
+
+    @Test
+    void merge_ShouldKeepTheNewerVersionOfEachEntry() {
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(
+                translation("1", "en", "Hello (live edit)", NOW.plusMinutes(1)),
+                translation("2", "fr", "Bonjour", NOW)));
+        document.setId("doc");
+        when(mongoTemplate.findOne(any(Query.class), eq(TranslationKey.class))).thenReturn(document);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        int changed = (int) migration.merge("default", "greeting", List.of(
+                translation("1", "en", "Hello", NOW),
+                translation("2", "fr", "Salut", NOW.plusMinutes(2))));
+
+        assertEquals(1, changed);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(TranslationKey.class));
+        List<?> locales = (List<?>) update.getValue().getUpdateObject().get("$set", Document.class).get("locales");
+        assertEquals("Hello (live edit)", ((TranslationKey.LocaleEntry) locales.get(0)).getContent());
+        assertEquals("Salut", ((TranslationKey.LocaleEntry) locales.get(1)).getContent());
+    }
+
+    @Test
+    void merge_ShouldDoNothingWhenAlreadyUpToDate() {
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(
+                translation("1", "en", "Hello", NOW)));
+        when(mongoTemplate.findOne(any(Query.class), eq(TranslationKey.class))).thenReturn(document);
+
+        assertEquals(0, migration.merge("default", "greeting", List.of(translation("1", "en", "Hello", NOW))));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class));
+    }
+
+    private static Translation translation(String id, String locale, String content, LocalDateTime updatedAt) {
+        return Translation.builder()
+                .id(id)
+                .projectId("default")
+                .key("greeting")
+                .locale(locale)
+                .content(content)
+                .createdAt(NOW)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
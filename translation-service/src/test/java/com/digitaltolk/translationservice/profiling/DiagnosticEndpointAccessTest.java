@@ -0,0 +1,49 @@
+package com.digitaltolk.translationservice.profiling;
+
+import com.digitaltolk.translationservice.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,flightrecorder,spans",
+        "translation.auth.admins=ops"})
+@AutoConfigureMockMvc
+class DiagnosticEndpointAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void flightRecorder_ShouldOnlyBeAvailableToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("someone")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/flightrecorder/dump")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("someone")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/flightrecorder")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("ops")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void spans_ShouldOnlyBeAvailableToAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/spans")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("someone")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/spans")
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken("ops")))
+                .andExpect(status().isOk());
+    }
+}
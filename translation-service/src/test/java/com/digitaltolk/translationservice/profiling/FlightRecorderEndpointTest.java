@@ -0,0 +1,80 @@
+package com.digitaltolk.translationservice.profiling;
+
+import com.digitaltolk.translationservice.config.FlightRecorderProperties;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEndpointTest {
+
+    @TempDir
+    private Path directory;
+
+    private FlightRecorderEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new FlightRecorderEndpoint(new FlightRecorderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    void dump_ShouldContainServiceEventsOfRunningRecording() throws Exception {
+        assertEquals(RecordingState.RUNNING, endpoint.start(null).get("state"));
+
+        TranslationQueryEvent event = new TranslationQueryEvent("getByLocale", "default", "projectId, locale");
+        event.begin();
+        event.finish(42);
+
+        WebEndpointResponse<Resource> response = endpoint.dump("dump");
+        assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+        Path file = directory.resolve("dump.jfr");
+        try (InputStream body = response.getBody().getInputStream()) {
+            Files.copy(body, file);
+        }
+
+        List<RecordedEvent> queries = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("com.digitaltolk.TranslationQuery"))
+                .toList();
+        assertEquals(1, queries.size());
+        assertEquals("getByLocale", queries.get(0).getString("operation"));
+        assertEquals(42, queries.get(0).getInt("resultCount"));
+        assertEquals(RecordingState.RUNNING, endpoint.status().get("state"));
+        assertTrue(RecordingFile.readAllEvents(file).stream()
+                .map(recorded -> recorded.getEventType().getName())
+                .noneMatch(name -> name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")));
+    }
+
+    @Test
+    void stop_ShouldKeepRecordingForDumpUntilNextStart() {
+        endpoint.start("profile");
+
+        assertEquals(RecordingState.STOPPED, endpoint.stop().get("state"));
+        assertEquals(WebEndpointResponse.STATUS_OK, endpoint.dump("dump").getStatus());
+        assertEquals(WebEndpointResponse.STATUS_NOT_FOUND, endpoint.dump("other").getStatus());
+    }
+
+    @Test
+    void start_ShouldRejectUnknownSettings() {
+        assertThrows(InvalidEndpointRequestException.class, () -> endpoint.start("unknown"));
+        assertEquals("NONE", endpoint.status().get("state"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.digitaltolk.translationservice.profiling;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class RequestTracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Test
+    void request_ShouldContinueIncomingTraceAndExportItsSpans() throws Exception {
+        // Sampled by the caller, so recorded even though local sampling is off.
+        mockMvc.perform(get("/actuator/health/liveness")
+                .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+
+        List<SpanData> spans = awaitSpans();
+        Set<String> names = spans.stream().map(SpanData::getName).collect(Collectors.toSet());
+        assertTrue(names.contains("translation.jwt.authentication"), names::toString);
+        assertTrue(names.contains(ResponseSerialization.OBSERVATION), names::toString);
+        SpanData server = spans.stream().filter(span -> span.getName().startsWith("http get")).findFirst().orElseThrow();
+        assertEquals("00f067aa0ba902b7", server.getParentSpanId());
+    }
+
+    private List<SpanData> awaitSpans() throws InterruptedException {
+        // Spans are exported in batches, every few seconds.
+        long deadline = System.nanoTime() + 15_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<SpanData> spans = exporter.getSpans(TRACE_ID);
+            if (spans.stream().anyMatch(span -> span.getParentSpanId().equals("00f067aa0ba902b7"))) {
+                return spans;
+            }
+            Thread.sleep(100);
+        }
+        fail("No spans exported for trace " + TRACE_ID + ": " + exporter.getSpans(null));
+        return List.of();
+    }
+}
@@ -0,0 +1,50 @@
+package com.digitaltolk.translationservice.project;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectPathFilterTest {
+
+    private final ProjectPathFilter filter = new ProjectPathFilter();
+
+    @Test
+    void doFilter_ShouldRewriteProjectPathToTranslationsApi() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/web-app/translations/locale/fr");
+        request.setServletPath("/api/projects/web-app/translations/locale/fr");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertEquals("/api/translations/locale/fr", forwarded.getRequestURI());
+        assertEquals("/api/translations/locale/fr", forwarded.getServletPath());
+        assertEquals("web-app", forwarded.getAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_ShouldLeaveOtherPathsAlone() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations/1");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        assertNull(request.getAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE));
+    }
+
+    @Test
+    void doFilter_ShouldRejectInvalidProjectIds() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/projects/a:b/translations"), response, chain);
+
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+}
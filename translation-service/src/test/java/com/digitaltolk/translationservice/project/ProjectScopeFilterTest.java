@@ -0,0 +1,74 @@
+package com.digitaltolk.translationservice.project;
+
+import com.digitaltolk.translationservice.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectScopeFilterTest {
+
+    private final ProjectScopeFilter filter = new ProjectScopeFilter();
+
+    @Test
+    void doFilter_ShouldUseTokenProjectAndClearItAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations");
+        request.setAttribute(JwtAuthenticationFilter.PROJECT_ATTRIBUTE, "mobile");
+
+        assertEquals("mobile", projectSeenBy(request, new MockHttpServletResponse()));
+        assertEquals(ProjectContext.DEFAULT, ProjectContext.current());
+    }
+
+    @Test
+    void doFilter_ShouldFallBackToDefaultProject() throws Exception {
+        assertEquals(ProjectContext.DEFAULT,
+                projectSeenBy(new MockHttpServletRequest("GET", "/api/translations"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void doFilter_ShouldRejectTokenOfAnotherProject() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/translations");
+        request.setAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE, "web");
+        request.setAttribute(JwtAuthenticationFilter.PROJECT_ATTRIBUTE, "mobile");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(projectSeenBy(request, response));
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldRejectUnscopedTokenOnAnotherProject() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/other/translations");
+        request.setAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE, "other");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(projectSeenBy(request, response));
+        assertEquals(403, response.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldLetUnscopedTokenAddressDefaultProject() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/default/translations");
+        request.setAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE, ProjectContext.DEFAULT);
+
+        assertEquals(ProjectContext.DEFAULT, projectSeenBy(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void doFilter_ShouldLetScopedTokenAddressItsProjectByPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/mobile/translations");
+        request.setAttribute(ProjectPathFilter.PROJECT_ATTRIBUTE, "mobile");
+        request.setAttribute(JwtAuthenticationFilter.PROJECT_ATTRIBUTE, "mobile");
+
+        assertEquals("mobile", projectSeenBy(request, new MockHttpServletResponse()));
+    }
+
+    private String projectSeenBy(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> seen.set(ProjectContext.current()));
+        return seen.get();
+    }
+}
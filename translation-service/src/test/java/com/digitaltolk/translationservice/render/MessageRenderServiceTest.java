@@ -0,0 +1,114 @@
+package com.digitaltolk.translationservice.render;
+
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.RenderRequestDto;
+import com.digitaltolk.translationservice.dto.RenderedMessageDto;
+import com.digitaltolk.translationservice.dto.ResolvedTranslationDto;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.service.LocaleBundleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class MessageRenderServiceTest {
+
+    private static final String ITEMS = "{count, plural, one {# article} other {# articles}}";
+
+    @Mock
+    private LocaleBundleService localeBundleService;
+
+    private MessageRenderService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new MessageRenderService(localeBundleService, new TranslationCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void render_ShouldApplyPluralRulesOfSourceLocale() {
+        when(localeBundleService.lookup(eq("fr-CA"), anyCollection()))
+                .thenReturn(Map.of("cart.items", new ResolvedTranslationDto(ITEMS, "fr")));
+
+        List<RenderedMessageDto> rendered = service.render(List.of(
+                message("cart.items", "fr-CA", Map.of("count", 0)),
+                message("cart.items", "fr-CA", Map.of("count", 3))));
+
+        // French treats zero as singular.
+        assertEquals("0 article", rendered.get(0).getText());
+        assertEquals("3 articles", rendered.get(1).getText());
+        assertEquals("fr", rendered.get(1).getSourceLocale());
+    }
+
+    @Test
+    void render_ShouldReportMissingKeysAndBadArgumentsPerMessage() {
+        when(localeBundleService.lookup(eq("en"), anyCollection()))
+                .thenReturn(Map.of("cart.items", new ResolvedTranslationDto(ITEMS, "en")));
+
+        List<RenderedMessageDto> rendered = service.render(List.of(
+                message("missing", "en", Map.of()),
+                message("cart.items", "en", Map.of("count", "many")),
+                message("cart.items", "en", Map.of("count", 1))));
+
+        assertEquals("Translation not found", rendered.get(0).getError());
+        assertNull(rendered.get(1).getText());
+        assertNotNull(rendered.get(1).getError());
+        assertEquals("1 article", rendered.get(2).getText());
+    }
+
+    @Test
+    void render_ShouldUseNewPatternAfterUpdate() {
+        when(localeBundleService.lookup(eq("en"), anyCollection()))
+                .thenReturn(Map.of("greeting", new ResolvedTranslationDto("Hello {name}", "en")));
+        assertEquals("Hello Ada", service.render(List.of(message("greeting", "en", Map.of("name", "Ada")))).get(0).getText());
+
+        when(localeBundleService.lookup(eq("en"), anyCollection()))
+                .thenReturn(Map.of("greeting", new ResolvedTranslationDto("Hi {name}", "en")));
+        service.onInvalidation(new CacheInvalidationEvent(Set.of("default"), Set.of("1"), Set.of("en"), Set.of("greeting"),
+                false, false));
+
+        assertEquals("Hi Ada", service.render(List.of(message("greeting", "en", Map.of("name", "Ada")))).get(0).getText());
+    }
+
+    @Test
+    void validMessagePattern_ShouldRejectBrokenPatterns() {
+        try (var factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+
+            assertTrue(validator.validate(translation("Hello {name}")).isEmpty());
+            assertTrue(validator.validate(translation(ITEMS)).isEmpty());
+
+            Set<ConstraintViolation<TranslationDto>> unclosed = validator.validate(translation("Hello {name"));
+            assertEquals(1, unclosed.size());
+            assertEquals("content", unclosed.iterator().next().getPropertyPath().toString());
+            assertEquals(1, validator.validate(translation("{count, plural, one {# item}}")).size());
+        }
+    }
+
+    private static RenderRequestDto.Message message(String key, String locale, Map<String, Object> arguments) {
+        return new RenderRequestDto.Message(key, locale, arguments);
+    }
+
+    private static TranslationDto translation(String content) {
+        TranslationDto dto = new TranslationDto();
+        dto.setKey("key");
+        dto.setLocale("en");
+        dto.setContent(content);
+        return dto;
+    }
+}
@@ -0,0 +1,80 @@
+package com.digitaltolk.translationservice.security;
+
+import com.digitaltolk.translationservice.model.RefreshToken;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private final Map<String, RefreshToken> stored = new HashMap<>();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final RefreshTokenService service = new RefreshTokenService(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "refreshExpirationMillis", 60_000L);
+        when(mongoTemplate.insert(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            stored.put(token.getId(), token);
+            return token;
+        });
+        // Evaluates the consume query the way the server would: by id, and only while not expired.
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(RefreshToken.class))).thenAnswer(invocation -> {
+            Document filter = invocation.<Query>getArgument(0).getQueryObject();
+            Instant now = (Instant) filter.get("expiresAt", Document.class).get("$gt");
+            RefreshToken token = stored.get(filter.getString("_id"));
+            if (token == null || !token.getExpiresAt().isAfter(now)) {
+                return null;
+            }
+            return stored.remove(token.getId());
+        });
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHash() {
+        String token = service.issue("omar");
+
+        assertEquals(1, stored.size());
+        RefreshToken saved = stored.values().iterator().next();
+        assertNotEquals(token, saved.getId());
+        assertEquals("omar", saved.getUsername());
+    }
+
+    @Test
+    void consume_ShouldAcceptTokenExactlyOnce() {
+        String token = service.issue("omar");
+
+        assertEquals(Optional.of("omar"), service.consume(token));
+        assertEquals(Optional.empty(), service.consume(token));
+    }
+
+    @Test
+    void consume_ShouldRejectUnknownTokens() {
+        service.issue("omar");
+
+        assertEquals(Optional.empty(), service.consume("forged"));
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void consume_ShouldRejectExpiredTokens() {
+        ReflectionTestUtils.setField(service, "refreshExpirationMillis", -1L);
+        String token = service.issue("omar");
+
+        assertEquals(Optional.empty(), service.consume(token));
+    }
+}
@@ -0,0 +1,106 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.AuthProperties;
+import com.digitaltolk.translationservice.dto.AuthTokenResponse;
+import com.digitaltolk.translationservice.model.User;
+import com.digitaltolk.translationservice.repository.UserRepository;
+import com.digitaltolk.translationservice.security.CustomUserDetailsService;
+import com.digitaltolk.translationservice.security.JwtUtil;
+import com.digitaltolk.translationservice.security.RefreshTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    private final AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    private AuthService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtUtil, "expirationMillis", 60_000L);
+        jwtUtil.init();
+        service = new AuthService(authenticationManager, passwordEncoder, userRepository, jwtUtil,
+                userDetailsService, refreshTokenService, new AuthProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void register_ShouldReturnFalseForTakenUsername() {
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+        when(userRepository.insert(any(User.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        assertFalse(service.register("omar", "secret").join());
+    }
+
+    @Test
+    void register_ShouldStoreEncodedPassword() {
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+
+        assertTrue(service.register("omar", "secret").join());
+        verify(userRepository).insert(argThat((User user) -> "omar".equals(user.getUsername()) && "hash".equals(user.getPassword())));
+    }
+
+    @Test
+    void login_ShouldIssueTokenBoundToUsersProject() {
+        User user = new User();
+        user.setUsername("omar");
+        user.setProjectId("mobile");
+        when(userDetailsService.findUser("omar")).thenReturn(Optional.of(user));
+        when(refreshTokenService.issue("omar")).thenReturn("refresh");
+
+        AuthTokenResponse tokens = service.login("omar", "secret").join();
+
+        assertEquals("omar", jwtUtil.extractUsername(tokens.getToken()));
+        assertEquals("mobile", jwtUtil.extractProject(tokens.getToken()));
+        assertEquals("refresh", tokens.getRefreshToken());
+    }
+
+    @Test
+    void login_ShouldFailForBadCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> service.login("omar", "wrong").join());
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void refresh_ShouldKeepProjectClaimAndRejectConsumedTokens() {
+        User user = new User();
+        user.setUsername("omar");
+        user.setProjectId("mobile");
+        when(userDetailsService.findUser("omar")).thenReturn(Optional.of(user));
+        when(refreshTokenService.consume("refresh")).thenReturn(Optional.of("omar")).thenReturn(Optional.empty());
+
+        Optional<AuthTokenResponse> first = service.refresh("refresh");
+
+        assertEquals("mobile", jwtUtil.extractProject(first.orElseThrow().getToken()));
+        assertTrue(service.refresh("refresh").isEmpty());
+    }
+}
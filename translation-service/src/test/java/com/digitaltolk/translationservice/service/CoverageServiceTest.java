@@ -0,0 +1,145 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.dto.CoverageReportDto;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.RenameCollectionOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CoverageServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TranslationStore store;
+
+    private final StorageProperties storageProperties = new StorageProperties();
+
+    private CoverageService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new CoverageService(mongoTemplate, store, storageProperties, new LocaleFallbackProperties());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldAddLocaleToKeyOnCreate() {
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("greeting", "fr", "Bonjour")));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(CoverageService.COLLECTION));
+        Document document = update.getValue().getUpdateObject();
+        assertEquals("fr", document.get("$addToSet", Document.class).get("locales"));
+        assertTrue(document.get("$max", Document.class).containsKey("contentChangedAt.fr"));
+    }
+
+    @Test
+    void onTranslationChanged_ShouldNotMarkContentChangedWhenOnlyTagsChange() {
+        Translation previous = translation("greeting", "en", "Hello");
+        Translation current = translation("greeting", "en", "Hello");
+
+        service.onTranslationChanged(TranslationChangedEvent.of(previous, current));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(CoverageService.COLLECTION));
+        Document max = update.getValue().getUpdateObject().get("$max", Document.class);
+        assertTrue(max.containsKey("updatedAt.en"));
+        assertFalse(max.containsKey("contentChangedAt.en"));
+    }
+
+    @Test
+    void onTranslationChanged_ShouldReleaseOldLocaleOnlyWhenNothingElseCoversIt() {
+        when(store.findByLocalesAndKeys("default", List.of("en"), List.of("greeting")))
+                .thenReturn(List.of(translation("greeting", "en", "Hello")))
+                .thenReturn(List.of());
+
+        service.onTranslationChanged(TranslationChangedEvent.of(translation("greeting", "en", "Hi"), translation("greeting", "de", "Hallo")));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(CoverageService.COLLECTION));
+
+        service.onTranslationChanged(TranslationChangedEvent.of(translation("greeting", "en", "Hi"), translation("greeting", "de", "Hallo")));
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(CoverageService.COLLECTION));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuild_ShouldStreamOtherLayoutsIntoAStagingCollection() {
+        storageProperties.setLayout(StorageProperties.Layout.EMBEDDED);
+        BulkOperations bulk = mock(BulkOperations.class);
+        MongoCollection<Document> staging = mock(MongoCollection.class);
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(store.streamAll()).thenReturn(Stream.of(
+                translation("greeting", "en", "Hello"), translation("greeting", "fr", "Bonjour"), translation(null, "en", "?")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CoverageService.REBUILD_COLLECTION)).thenReturn(bulk);
+        when(mongoTemplate.indexOps(anyString())).thenReturn(mock(IndexOperations.class));
+        when(mongoTemplate.getCollection(CoverageService.REBUILD_COLLECTION)).thenReturn(staging);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.getName()).thenReturn("translation_db");
+
+        service.rebuild();
+
+        verify(mongoTemplate, never()).getCollection("translations");
+        ArgumentCaptor<Query> keys = ArgumentCaptor.forClass(Query.class);
+        verify(bulk, times(2)).upsert(keys.capture(), any(Update.class));
+        assertEquals(List.of("default:greeting", "default:greeting"),
+                keys.getAllValues().stream().map(query -> query.getQueryObject().getString("_id")).toList());
+        verify(mongoTemplate, atLeastOnce()).indexOps(CoverageService.REBUILD_COLLECTION);
+        verify(staging).renameCollection(eq(new MongoNamespace("translation_db", CoverageService.COLLECTION)),
+                any(RenameCollectionOptions.class));
+    }
+
+    @Test
+    void getReport_ShouldDeriveMissingCountsFromKeySets() {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("locales"), eq(CoverageService.COLLECTION), eq(String.class)))
+                .thenReturn(List.of("en", "fr"));
+        when(mongoTemplate.count(any(Query.class), eq(CoverageService.COLLECTION))).thenAnswer(invocation -> {
+            String query = invocation.getArgument(0, Query.class).getQueryObject().toJson();
+            if (query.contains("$all")) {
+                return 6L;
+            }
+            return query.contains("\"fr\"") ? 7L : 10L;
+        });
+
+        CoverageReportDto report = service.getReport(null, null, 0, 100);
+
+        assertEquals("en", report.getSourceLocale());
+        assertEquals(10, report.getSourceKeys());
+        assertEquals(0, report.getLocales().get(0).getMissingKeys());
+        assertEquals(4, report.getLocales().get(1).getMissingKeys());
+        assertEquals(0.6, report.getLocales().get(1).getCoverage(), 1e-9);
+    }
+
+    private static Translation translation(String key, String locale, String content) {
+        Translation translation = new Translation();
+        translation.setKey(key);
+        translation.setLocale(locale);
+        translation.setContent(content);
+        translation.setUpdatedAt(LocalDateTime.now());
+        return translation;
+    }
+}
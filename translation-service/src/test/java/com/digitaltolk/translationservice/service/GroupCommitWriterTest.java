@@ -0,0 +1,113 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GroupCommitWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private GroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Translation.class))).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        GroupCommitProperties properties = new GroupCommitProperties();
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(2);
+        properties.setMaxDelay(Duration.ofMillis(50));
+        writer = new GroupCommitWriter(mongoTemplate, eventPublisher, properties, new SimpleMeterRegistry());
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void submit_ShouldInsertFullBatchWithOneBulkAndPublishOneEvent() throws Exception {
+        CompletableFuture<Translation> first = writer.submit(translation("a"));
+        CompletableFuture<Translation> second = writer.submit(translation("b"));
+
+        assertEquals("a", first.get(5, TimeUnit.SECONDS).getKey());
+        assertNotNull(second.get(5, TimeUnit.SECONDS).getId());
+        verify(bulkOperations, times(1)).execute();
+
+        ArgumentCaptor<TranslationChangedEvent> event = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().changes().size());
+    }
+
+    @Test
+    void submit_ShouldFailOnlyTheRejectedDocument() throws Exception {
+        BulkWriteError duplicate = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("failed", new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(1, 0, 0, null, List.of(), List.of()), List.of(duplicate), null, new ServerAddress(), Set.of())));
+
+        CompletableFuture<Translation> first = writer.submit(translation("a"));
+        CompletableFuture<Translation> second = writer.submit(translation("b"));
+
+        assertEquals("a", first.get(5, TimeUnit.SECONDS).getKey());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DuplicateKeyException.class, failure.getCause());
+    }
+
+    @Test
+    void submit_ShouldRejectAfterStop() {
+        writer.stop();
+
+        CompletableFuture<Translation> result = writer.submit(translation("a"));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+    }
+
+    private static Translation translation(String key) {
+        Translation translation = new Translation();
+        translation.setKey(key);
+        translation.setLocale("en");
+        translation.setContent("Hello");
+        return translation;
+    }
+}
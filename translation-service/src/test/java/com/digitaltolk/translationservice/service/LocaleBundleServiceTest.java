@@ -0,0 +1,116 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.LocaleFallbackProperties;
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
+import com.digitaltolk.translationservice.dto.LocaleBundleDto;
+import com.digitaltolk.translationservice.dto.ResolvedTranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LocaleBundleServiceTest {
+
+    @Mock
+    private TranslationStore store;
+
+    private LocaleBundleService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        LocaleFallbackProperties properties = new LocaleFallbackProperties();
+        properties.getFallbacks().put("pt-BR", List.of("pt-PT", "pt"));
+        TranslationCacheProperties cacheProperties = new TranslationCacheProperties();
+        cacheProperties.setMaximumLocales(2);
+        service = new LocaleBundleService(store, properties, cacheProperties);
+    }
+
+    @Test
+    void resolveChain_ShouldWalkParentTagsThenDefault() {
+        assertEquals(List.of("fr-CA", "fr", "en"), service.resolveChain("fr-CA"));
+        assertEquals(List.of("en"), service.resolveChain("en"));
+    }
+
+    @Test
+    void resolveChain_ShouldPreferConfiguredChain() {
+        assertEquals(List.of("pt-BR", "pt-PT", "pt", "en"), service.resolveChain("pt-BR"));
+    }
+
+    @Test
+    void getBundle_ShouldPickMostSpecificLocalePerKey() {
+        when(store.findByLocales("default", List.of("fr-CA", "fr", "en"))).thenReturn(List.of(
+                translation("greeting", "en", "Hello"),
+                translation("greeting", "fr", "Bonjour"),
+                translation("farewell", "en", "Goodbye"),
+                translation("greeting", "fr-CA", "Allo")));
+
+        LocaleBundleDto bundle = service.getBundle("fr-CA");
+
+        Map<String, ResolvedTranslationDto> translations = bundle.getTranslations();
+        assertEquals(new ResolvedTranslationDto("Allo", "fr-CA"), translations.get("greeting"));
+        assertEquals(new ResolvedTranslationDto("Goodbye", "en"), translations.get("farewell"));
+    }
+
+    @Test
+    void getBundle_ShouldBeCachedUntilMemberLocaleChanges() {
+        when(store.findByLocales(anyString(), anyCollection())).thenReturn(List.of(translation("greeting", "fr", "Bonjour")));
+
+        service.getBundle("fr-CA");
+        service.getBundle("fr-CA");
+        verify(store, times(1)).findByLocales(anyString(), anyCollection());
+
+        service.onInvalidation(localeChanged("de"));
+        service.getBundle("fr-CA");
+        verify(store, times(1)).findByLocales(anyString(), anyCollection());
+
+        service.onInvalidation(localeChanged("en"));
+        service.getBundle("fr-CA");
+        verify(store, times(2)).findByLocales(anyString(), anyCollection());
+    }
+
+    @Test
+    void getBundle_ShouldKeepAtMostTheMaximumNumberOfLocales() {
+        when(store.findByLocales(anyString(), anyCollection())).thenReturn(List.of(translation("greeting", "en", "Hello")));
+
+        for (String locale : List.of("fr", "de", "it", "es", "nl")) {
+            service.getBundle(locale);
+        }
+
+        assertTrue(service.cachedBundles() <= 2);
+    }
+
+    @Test
+    void getBundleAndLookup_ShouldRejectMalformedLocales() {
+        for (String locale : List.of("", "x", "1a", "../en", "en-", "fr-CA-" + "x".repeat(20), "a-b-c-d-e-f-g")) {
+            assertThrows(IllegalArgumentException.class, () -> service.getBundle(locale), locale);
+            assertThrows(IllegalArgumentException.class, () -> service.lookup(locale, List.of("greeting")), locale);
+        }
+
+        verifyNoInteractions(store);
+    }
+
+    private static CacheInvalidationEvent localeChanged(String locale) {
+        return new CacheInvalidationEvent(Set.of("default"), Set.of(), Set.of(locale), Set.of(), false, false);
+    }
+
+    private static Translation translation(String key, String locale, String content) {
+        Translation translation = new Translation();
+        translation.setKey(key);
+        translation.setLocale(locale);
+        translation.setContent(content);
+        return translation;
+    }
+}
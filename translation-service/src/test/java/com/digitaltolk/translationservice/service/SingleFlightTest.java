@@ -0,0 +1,195 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.DeadlineProperties;
+import com.digitaltolk.translationservice.deadline.DeadlineExceededException;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DeadlineProperties deadlineProperties = new DeadlineProperties();
+        deadlineProperties.setSharedQueryWait(Duration.ofMillis(200));
+        singleFlight = new SingleFlight(meterRegistry, deadlineProperties);
+    }
+
+    @Test
+    void execute_ShouldShareOneQueryBetweenConcurrentCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> {
+                queries.incrementAndGet();
+                await(release);
+                return "result";
+            }));
+            waitForInFlight(1);
+            List<Future<String>> followers = List.of(
+                    executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> "own")),
+                    executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> "own")));
+            waitFor(() -> shared("all") >= 2);
+            release.countDown();
+
+            assertEquals("result", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("result", follower.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1, meterRegistry.counter("translation.singleflight.calls", "operation", "all", "outcome", "executed").count());
+    }
+
+    @Test
+    void execute_ShouldPropagateLeaderExceptionToWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("query timed out");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("searchByTags", "default", List.of(Set.of("a")), () -> {
+                await(release);
+                throw failure;
+            }));
+            waitForInFlight(1);
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("searchByTags", "default", List.of(Set.of("a")), () -> "own"));
+            waitFor(() -> shared("searchByTags") >= 1);
+            release.countDown();
+
+            assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        }
+        // Failures are not remembered.
+        assertEquals("retried", singleFlight.execute("searchByTags", "default", List.of(Set.of("a")), () -> "retried"));
+    }
+
+    @Test
+    void execute_ShouldTryAgainWhenTheLeaderRanOutOfItsOwnTime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DeadlineExceededException timeout = new DeadlineExceededException("Deadline of 5000 ms for /search exceeded");
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("searchByContent", "default", List.of("a"), () -> {
+                await(release);
+                throw new UncategorizedMongoDbException("Query failed", timeout);
+            }));
+            waitForInFlight(1);
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("searchByContent", "default", List.of("a"), () -> "own"));
+            waitFor(() -> shared("searchByContent") >= 1);
+            release.countDown();
+
+            assertSame(timeout, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause().getCause());
+            assertEquals("own", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, meterRegistry.counter("translation.singleflight.calls", "operation", "searchByContent", "outcome", "retried").count());
+        assertEquals(2, meterRegistry.counter("translation.singleflight.calls", "operation", "searchByContent", "outcome", "executed").count());
+    }
+
+    @Test
+    void execute_ShouldNotShareQueryStartedBeforeInvalidation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            Future<String> stale = executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> {
+                await(release);
+                return "before write";
+            }));
+            waitForInFlight(1);
+            singleFlight.onInvalidation(CacheInvalidationEvent.everything(false));
+
+            assertEquals("after write", singleFlight.execute("all", "default", List.of(), () -> "after write"));
+            release.countDown();
+            assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void onInvalidation_ShouldOnlyDetachQueriesOfTheInvalidatedProjects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<String> mobile = executor.submit(() -> singleFlight.execute("all", "mobile", List.of(), () -> {
+                await(release);
+                return "mobile";
+            }));
+            Future<String> stale = executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> {
+                await(release);
+                return "before write";
+            }));
+            waitForInFlight(2);
+            singleFlight.onInvalidation(new CacheInvalidationEvent(Set.of("default"), Set.of(), Set.of(), Set.of(), false, false));
+
+            assertEquals("after write", singleFlight.execute("all", "default", List.of(), () -> "after write"));
+            Future<String> follower = executor.submit(() -> singleFlight.execute("all", "mobile", List.of(), () -> "own"));
+            waitFor(() -> shared("all") >= 1);
+            release.countDown();
+
+            assertEquals("mobile", follower.get(5, TimeUnit.SECONDS));
+            assertEquals("mobile", mobile.get(5, TimeUnit.SECONDS));
+            assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void execute_ShouldRunOwnQueryWhenTheLeaderTakesTooLong() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("all", "default", List.of(), () -> {
+                await(release);
+                return "slow";
+            }));
+            waitForInFlight(1);
+
+            assertEquals("own", singleFlight.execute("all", "default", List.of(), () -> "own"));
+            assertEquals(1, meterRegistry.counter("translation.singleflight.calls", "operation", "all", "outcome", "abandoned").count());
+            release.countDown();
+            assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private void waitForInFlight(int expected) throws InterruptedException {
+        waitFor(() -> meterRegistry.get("translation.singleflight.inflight").gauge().value() >= expected);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for callers");
+            Thread.sleep(1);
+        }
+    }
+
+    private double shared(String operation) {
+        return meterRegistry.counter("translation.singleflight.calls", "operation", operation, "outcome", "shared").count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -1,32 +1,66 @@
 package com.digitaltolk.translationservice.service;
 
+import com.digitaltolk.translationservice.cache.TranslationCache;
+import com.digitaltolk.translationservice.config.DeadlineProperties;
+import com.digitaltolk.translationservice.config.TranslationCacheProperties;
 import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.exception.ConcurrentUpdateException;
 import com.digitaltolk.translationservice.exception.ResourceNotFoundException;
+import com.digitaltolk.translationservice.history.RevisionHistoryService;
 import com.digitaltolk.translationservice.model.Translation;
-import com.digitaltolk.translationservice.repository.TranslationRepository;
+import com.digitaltolk.translationservice.project.ProjectContext;
+import com.digitaltolk.translationservice.store.TranslationStore;
 import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class TranslationServiceTest {
 
     @Mock
-    private TranslationRepository repository;
+    private TranslationStore store;
 
     @Mock
     private ModelMapperWrapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GroupCommitWriter groupCommitWriter;
+
+    @Mock
+    private TombstoneService tombstoneService;
+
+    @Mock
+    private RevisionHistoryService revisionHistoryService;
+
+    @Spy
+    private TranslationCache translationCache = new TranslationCache(new TranslationCacheProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), new DeadlineProperties());
+
     @InjectMocks
     private TranslationService service;
 
@@ -52,41 +86,188 @@ class TranslationServiceTest {
     }
 
     @Test
-    void createTranslation_ShouldSaveAndReturnDto() {
+    void createTranslation_ShouldInsertAndReturnDto() {
         when(mapper.map(translationDto, Translation.class)).thenReturn(translation);
-        when(repository.save(any(Translation.class))).thenReturn(translation);
+        when(store.insert(any(Translation.class))).thenReturn(translation);
         when(mapper.map(any(Translation.class), eq(TranslationDto.class))).thenReturn(translationDto);
 
         TranslationDto result = service.createTranslation(translationDto);
 
         assertEquals("greeting", result.getKey());
-        verify(repository, times(1)).save(any(Translation.class));
+        verify(store, times(1)).insert(any(Translation.class));
+        verify(eventPublisher).publishEvent(any(TranslationChangedEvent.class));
+    }
+
+    @Test
+    void createTranslation_ShouldAssignCurrentProject() {
+        when(mapper.map(translationDto, Translation.class)).thenReturn(translation);
+        when(store.insert(any(Translation.class))).thenReturn(translation);
+
+        ProjectContext.set("mobile");
+        try {
+            service.createTranslation(translationDto);
+        } finally {
+            ProjectContext.clear();
+        }
+
+        assertEquals("mobile", translation.getProjectId());
+    }
+
+    @Test
+    void createTranslation_ShouldAssignTheIdBeforeStagingTheCreateRevision() {
+        translation.setId(null);
+        when(mapper.map(translationDto, Translation.class)).thenReturn(translation);
+        when(store.insert(any(Translation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        List<String> stagedIds = new ArrayList<>();
+        doAnswer(invocation -> stagedIds.add(invocation.<Translation>getArgument(1).getId()))
+                .when(revisionHistoryService).stage(isNull(), any(Translation.class));
+
+        service.createTranslation(translationDto);
+
+        assertNotNull(translation.getId());
+        assertEquals(List.of(translation.getId()), stagedIds);
     }
 
     @Test
     void updateTranslation_ShouldUpdate_WhenFound() {
-        when(repository.findById("1")).thenReturn(Optional.of(translation));
-        when(repository.save(any())).thenReturn(translation);
+        translation.setRevision(4L);
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation));
+        when(store.replace(any(), any())).thenReturn(true);
         when(mapper.map(any(Translation.class), eq(TranslationDto.class))).thenReturn(translationDto);
 
         TranslationDto result = service.updateTranslation("1", translationDto);
 
         assertEquals("greeting", result.getKey());
-        verify(repository).save(translation);
+        verify(revisionHistoryService).stage(any(Translation.class), eq(translation));
+        verify(store).replace(translation, 4L);
+        verify(eventPublisher).publishEvent(any(TranslationChangedEvent.class));
+    }
+
+    @Test
+    void updateTranslation_ShouldReapplyOnTopOfConcurrentWrite() {
+        Translation concurrent = translation.toBuilder().revision(5L).content("Hi").build();
+        translation.setRevision(4L);
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation))
+                .thenReturn(Optional.of(concurrent));
+        when(store.replace(translation, 4L)).thenReturn(false);
+        when(store.replace(concurrent, 5L)).thenReturn(true);
+
+        service.updateTranslation("1", translationDto);
+
+        verify(revisionHistoryService, times(2)).stage(any(Translation.class), any(Translation.class));
+        ArgumentCaptor<TranslationChangedEvent> event = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(5L, event.getValue().changes().get(0).previous().getRevision());
+        assertEquals("Hi", event.getValue().changes().get(0).previous().getContent());
+    }
+
+    @Test
+    void updateTranslation_ShouldConflictWhenEveryAttemptRaces() {
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation));
+        when(store.replace(any(), any())).thenReturn(false);
+
+        assertThrows(ConcurrentUpdateException.class, () -> service.updateTranslation("1", translationDto));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void updateTranslation_ShouldThrow_WhenNotFound() {
-        when(repository.findById("1")).thenReturn(Optional.empty());
+        when(store.findById("default", "1")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
                 service.updateTranslation("1", translationDto)
         );
     }
 
+    @Test
+    void deleteTranslation_ShouldLeaveTombstoneAndPublishDelete() {
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation));
+        when(store.deleteAll(List.of(translation))).thenReturn(List.of(translation));
+
+        service.deleteTranslation("1");
+
+        verify(store).deleteAll(List.of(translation));
+        verify(tombstoneService).record(eq(List.of(translation)), any(LocalDateTime.class));
+        ArgumentCaptor<TranslationChangedEvent> event = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().changes().get(0).isDelete());
+    }
+
+    @Test
+    void deleteTranslation_ShouldRereadWhenChangedConcurrently() {
+        Translation concurrent = translation.toBuilder().revision(5L).build();
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation))
+                .thenReturn(Optional.of(concurrent));
+        when(store.deleteAll(List.of(translation))).thenReturn(List.of());
+        when(store.deleteAll(List.of(concurrent))).thenReturn(List.of(concurrent));
+
+        service.deleteTranslation("1");
+
+        verify(tombstoneService).record(eq(List.of(concurrent)), any(LocalDateTime.class));
+        verify(eventPublisher).publishEvent(any(TranslationChangedEvent.class));
+    }
+
+    @Test
+    void deleteTranslation_ShouldThrow_WhenNotFound() {
+        when(store.findById("default", "1")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteTranslation("1"));
+        verify(store, never()).deleteAll(any());
+        verifyNoInteractions(tombstoneService);
+    }
+
+    @Test
+    void deleteTranslations_ShouldRequireAFilter() {
+        assertThrows(IllegalArgumentException.class, () -> service.deleteTranslations(null, "", null));
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void deleteTranslations_ShouldDeleteExactlyTheMatches() {
+        Translation other = translation.toBuilder().id("2").key("greeting.formal").build();
+        when(store.streamMatching("default", "greeting", null, "en")).thenReturn(Stream.of(translation, other));
+        when(store.deleteAll(List.of(translation, other))).thenReturn(List.of(translation, other));
+
+        assertEquals(2, service.deleteTranslations("greeting", "", "en"));
+
+        verify(store, times(1)).deleteAll(List.of(translation, other));
+        verify(tombstoneService).record(eq(List.of(translation, other)), any(LocalDateTime.class));
+
+        ArgumentCaptor<TranslationChangedEvent> event = ArgumentCaptor.forClass(TranslationChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().changes().size());
+    }
+
+    @Test
+    void deleteTranslations_ShouldDeleteInBoundedBatches() {
+        int total = TranslationService.DELETE_BATCH_SIZE * 2 + 1;
+        when(store.streamMatching("default", null, null, "fr")).thenReturn(IntStream.range(0, total)
+                .mapToObj(i -> translation.toBuilder().id(String.valueOf(i)).locale("fr").build()));
+        when(store.deleteAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.<Collection<Translation>>getArgument(0)));
+
+        assertEquals(total, service.deleteTranslations(null, null, "fr"));
+
+        ArgumentCaptor<Collection<Translation>> batches = ArgumentCaptor.captor();
+        verify(store, times(3)).deleteAll(batches.capture());
+        assertEquals(List.of(TranslationService.DELETE_BATCH_SIZE, TranslationService.DELETE_BATCH_SIZE, 1),
+                batches.getAllValues().stream().map(Collection::size).toList());
+        verify(tombstoneService, times(3)).record(anyCollection(), any(LocalDateTime.class));
+        verify(eventPublisher, times(3)).publishEvent(any(TranslationChangedEvent.class));
+    }
+
+    @Test
+    void deleteTranslations_ShouldDoNothingWithoutMatches() {
+        when(store.streamMatching("default", "missing", null, null)).thenReturn(Stream.empty());
+
+        assertEquals(0, service.deleteTranslations("missing", null, null));
+
+        verify(store, never()).deleteAll(any());
+        verifyNoInteractions(tombstoneService, eventPublisher);
+    }
+
     @Test
     void getAllTranslations_ShouldReturnMappedList() {
-        when(repository.findAll()).thenReturn(List.of(translation));
+        when(store.findByProject("default")).thenReturn(List.of(translation));
         when(mapper.mapList(anyList(), eq(TranslationDto.class))).thenReturn(List.of(translationDto));
 
         List<TranslationDto> result = service.getAllTranslations();
@@ -96,51 +277,51 @@ class TranslationServiceTest {
 
     @Test
     void searchByKey_ShouldReturnMappedList() {
-        when(repository.findByKeyContainingIgnoreCase("hello")).thenReturn(List.of(translation));
+        when(store.findByKeyContaining("default", "hello")).thenReturn(List.of(translation));
         when(mapper.mapList(anyList(), eq(TranslationDto.class))).thenReturn(List.of(translationDto));
 
         List<TranslationDto> result = service.searchByKey("hello");
 
         assertEquals(1, result.size());
-        verify(repository).findByKeyContainingIgnoreCase("hello");
+        verify(store).findByKeyContaining("default", "hello");
     }
 
     @Test
     void searchByContent_ShouldReturnMappedList() {
-        when(repository.findByContentContainingIgnoreCase("greeting")).thenReturn(List.of(translation));
+        when(store.findByContentContaining("default", "greeting")).thenReturn(List.of(translation));
         when(mapper.mapList(anyList(), eq(TranslationDto.class))).thenReturn(List.of(translationDto));
 
         List<TranslationDto> result = service.searchByContent("greeting");
 
         assertEquals(1, result.size());
-        verify(repository).findByContentContainingIgnoreCase("greeting");
+        verify(store).findByContentContaining("default", "greeting");
     }
 
     @Test
     void searchByTags_ShouldReturnMappedList() {
-        when(repository.findByTagsIn(List.of("welcome"))).thenReturn(List.of(translation));
+        when(store.findByTags("default", List.of("welcome"))).thenReturn(List.of(translation));
         when(mapper.mapList(anyList(), eq(TranslationDto.class))).thenReturn(List.of(translationDto));
 
         List<TranslationDto> result = service.searchByTags(List.of("welcome"));
 
         assertEquals(1, result.size());
-        verify(repository).findByTagsIn(List.of("welcome"));
+        verify(store).findByTags("default", List.of("welcome"));
     }
 
     @Test
     void getByLocale_ShouldReturnMappedList() {
-        when(repository.findByLocale("en")).thenReturn(List.of(translation));
+        when(store.findByLocale("default", "en")).thenReturn(List.of(translation));
         when(mapper.mapList(anyList(), eq(TranslationDto.class))).thenReturn(List.of(translationDto));
 
         List<TranslationDto> result = service.getByLocale("en");
 
         assertEquals(1, result.size());
-        verify(repository).findByLocale("en");
+        verify(store).findByLocale("default", "en");
     }
 
     @Test
     void getById_ShouldReturnOptional_WhenFound() {
-        when(repository.findById("1")).thenReturn(Optional.of(translation));
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation));
         when(mapper.map(any(Translation.class), eq(TranslationDto.class))).thenReturn(translationDto);
 
         Optional<TranslationDto> result = service.getById("1");
@@ -149,9 +330,20 @@ class TranslationServiceTest {
         assertEquals("greeting", result.get().getKey());
     }
 
+    @Test
+    void getById_ShouldServeRepeatedReadsFromCache() {
+        when(store.findById("default", "1")).thenReturn(Optional.of(translation));
+        when(mapper.map(any(Translation.class), eq(TranslationDto.class))).thenReturn(translationDto);
+
+        service.getById("1");
+        service.getById("1");
+
+        verify(store, times(1)).findById("default", "1");
+    }
+
     @Test
     void getById_ShouldReturnEmpty_WhenNotFound() {
-        when(repository.findById("1")).thenReturn(Optional.empty());
+        when(store.findById("default", "1")).thenReturn(Optional.empty());
 
         Optional<TranslationDto> result = service.getById("1");
 
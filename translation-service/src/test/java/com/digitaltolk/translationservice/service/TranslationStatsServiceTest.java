@@ -0,0 +1,137 @@
+package com.digitaltolk.translationservice.service;
+
+import com.digitaltolk.translationservice.config.StatsProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.dto.TranslationStatsDto;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TranslationStatsServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private TranslationStore store;
+
+    private final StorageProperties storageProperties = new StorageProperties();
+
+    private TranslationStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(TranslationStatsService.COLLECTION)))
+                .thenReturn(bulkOperations);
+        service = new TranslationStatsService(mongoTemplate, store, storageProperties, new StatsProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldIncrementCountersOfCreatedTranslation() {
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("en", "web")));
+
+        assertEquals(Map.of("default:total", 1L, "default:locale:en", 1L, "default:tag:web", 1L), increments());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldOnlyTouchCountersThatChanged() {
+        service.onTranslationChanged(TranslationChangedEvent.of(
+                translation("en", "web", "mobile"), translation("en", "mobile", "desktop")));
+
+        assertEquals(Map.of("default:tag:web", -1L, "default:tag:desktop", 1L), increments());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldSkipWritesWithoutNetChange() {
+        service.onTranslationChanged(TranslationChangedEvent.of(translation("en", "web"), translation("en", "web")));
+
+        verifyNoInteractions(bulkOperations);
+    }
+
+    @Test
+    void getStats_ShouldGroupCountersByDimension() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(TranslationStatsService.COLLECTION))).thenReturn(List.of(
+                new Document("_id", "default:total").append("dimension", "total").append("count", 3L),
+                new Document("_id", "default:locale:en").append("dimension", "locale").append("value", "en").append("count", 2L),
+                new Document("_id", "default:locale:fr").append("dimension", "locale").append("value", "fr").append("count", 0L),
+                new Document("_id", "default:tag:web").append("dimension", "tag").append("value", "web").append("count", 3)));
+
+        TranslationStatsDto stats = service.getStats();
+
+        assertEquals(3, stats.getTotal());
+        assertEquals(Map.of("en", 2L), stats.getLocales());
+        assertEquals(Map.of("web", 3L), stats.getTags());
+    }
+
+    @Test
+    void reconcile_ShouldCountThroughTheStoreForOtherLayouts() {
+        storageProperties.setLayout(StorageProperties.Layout.DOCUMENT_PER_KEY);
+        Translation mobile = translation("fr");
+        mobile.setProjectId("mobile");
+        when(store.streamAll()).thenReturn(Stream.of(translation("en", "web"), translation("fr", "web"), mobile));
+        when(mongoTemplate.remove(any(Query.class), eq(TranslationStatsService.COLLECTION))).thenReturn(DeleteResult.acknowledged(0));
+
+        service.reconcile(true);
+
+        verify(mongoTemplate, never()).aggregateStream(any(), eq(Translation.class), eq(Document.class));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, atLeastOnce()).upsert(queries.capture(), updates.capture());
+        Map<String, Long> counts = new HashMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            counts.put(queries.getAllValues().get(i).getQueryObject().getString("_id"),
+                    updates.getAllValues().get(i).getUpdateObject().get("$set", Document.class).get("count", Number.class).longValue());
+        }
+        assertEquals(Map.of("default:total", 2L, "default:locale:en", 1L, "default:locale:fr", 1L, "default:tag:web", 2L,
+                "mobile:total", 1L, "mobile:locale:fr", 1L), counts);
+    }
+
+    private Map<String, Long> increments() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, atLeastOnce()).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations).execute();
+
+        Map<String, Long> increments = new HashMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            String id = queries.getAllValues().get(i).getQueryObject().getString("_id");
+            Number delta = updates.getAllValues().get(i).getUpdateObject().get("$inc", Document.class).get("count", Number.class);
+            increments.put(id, delta.longValue());
+        }
+        return increments;
+    }
+
+    private static Translation translation(String locale, String... tags) {
+        Translation translation = new Translation();
+        translation.setKey("greeting");
+        translation.setLocale(locale);
+        translation.setContent("Hello");
+        translation.setTags(new HashSet<>(Arrays.asList(tags)));
+        return translation;
+    }
+}
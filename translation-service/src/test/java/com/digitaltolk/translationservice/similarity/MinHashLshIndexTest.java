@@ -0,0 +1,62 @@
+package com.digitaltolk.translationservice.similarity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshIndexTest {
+
+    private MinHashLshIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MinHashLshIndex(16, 4, 3, 1000);
+        index.put("1", "en", "Your order has been shipped and will arrive tomorrow");
+        index.put("2", "en", "Please enter a valid email address");
+        index.put("3", "fr", "Your order has been shipped and will arrive tomorrow");
+    }
+
+    @Test
+    void candidates_ShouldFindNearDuplicate() {
+        List<MinHashLshIndex.Candidate> candidates =
+                index.candidates("Your order has been shipped and will arrive today", "en", 10);
+
+        assertEquals("1", candidates.get(0).id());
+        assertTrue(candidates.stream().noneMatch(candidate -> candidate.id().equals("2")));
+    }
+
+    @Test
+    void candidates_ShouldBeRestrictedToLocale() {
+        List<MinHashLshIndex.Candidate> candidates =
+                index.candidates("Your order has been shipped and will arrive tomorrow", "fr", 10);
+
+        assertEquals(List.of("3"), candidates.stream().map(MinHashLshIndex.Candidate::id).toList());
+    }
+
+    @Test
+    void remove_ShouldDropEntryFromBuckets() {
+        index.remove("1");
+
+        assertEquals(2, index.size());
+        assertTrue(index.candidates("Your order has been shipped and will arrive tomorrow", "en", 10).isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplaceExistingEntry() {
+        index.put("2", "en", "Your order has been shipped and will arrive tomorrow");
+
+        assertEquals(3, index.size());
+        assertEquals(2, index.candidates("Your order has been shipped and will arrive tomorrow", "en", 10).size());
+    }
+
+    @Test
+    void jaccard_ShouldCompareSortedShingleSets() {
+        int[] shingles = index.shingles("Hello  World");
+
+        assertEquals(1.0, MinHashLshIndex.jaccard(shingles, index.shingles("hello world")));
+        assertEquals(0.0, MinHashLshIndex.jaccard(shingles, index.shingles("xyz")));
+    }
+}
@@ -0,0 +1,189 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.model.TranslationKey.LocaleEntry;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DocumentPerKeyStoreTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private DocumentPerKeyStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new DocumentPerKeyStore(mongoTemplate, new GroupCommitProperties());
+    }
+
+    @Test
+    void constructor_ShouldRefuseGroupCommit() {
+        GroupCommitProperties groupCommit = new GroupCommitProperties();
+        groupCommit.setEnabled(true);
+
+        assertThrows(IllegalStateException.class, () -> new DocumentPerKeyStore(mongoTemplate, groupCommit));
+    }
+
+    @Test
+    void keyDocuments_ShouldStoreSharedTagsOnceAndKeepDifferingOnes() {
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(
+                translation("1", "en", Set.of("home")),
+                translation("2", "fr", Set.of("home")),
+                translation("3", "de", null)));
+
+        assertEquals(Set.of("home"), document.getTags());
+        assertNull(document.getLocales().get(0).getTags());
+        assertEquals(Set.of(), document.getLocales().get(2).getTags());
+
+        List<Translation> translations = document.getLocales().stream()
+                .map(entry -> KeyDocuments.toTranslation(document, entry))
+                .toList();
+        assertEquals(Set.of("home"), translations.get(1).getTags());
+        assertEquals(Set.of(), translations.get(2).getTags());
+        assertEquals("greeting", translations.get(2).getKey());
+        assertEquals("3", translations.get(2).getId());
+    }
+
+    @Test
+    void findByTags_ShouldOnlyReturnEntriesWhoseOwnTagsMatch() {
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(
+                translation("1", "en", Set.of("home")),
+                translation("2", "fr", Set.of("home")),
+                translation("3", "de", Set.of("legal"))));
+        when(mongoTemplate.find(any(Query.class), eq(TranslationKey.class))).thenReturn(List.of(document));
+
+        List<Translation> result = store.findByTags("default", List.of("home"));
+
+        assertEquals(List.of("1", "2"), result.stream().map(Translation::getId).toList());
+    }
+
+    @Test
+    void save_ShouldRetryWhenTheKeyDocumentChangedConcurrently() {
+        TranslationKey stale = KeyDocuments.newDocument("default", "greeting", List.of(translation("1", "en", null)));
+        stale.setId("doc");
+        TranslationKey current = stale.toBuilder().version(1).locales(new ArrayList<>(stale.getLocales())).build();
+        current.getLocales().add(LocaleEntry.builder().id("2").locale("fr").content("Bonjour").build());
+        when(mongoTemplate.findOne(any(Query.class), eq(TranslationKey.class))).thenReturn(stale, current);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+
+        Translation created = store.save(translation(null, "de", null));
+
+        assertNotNull(created.getId());
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(filter.capture(), update.capture(), eq(TranslationKey.class));
+        assertEquals(1L, filter.getAllValues().get(1).getQueryObject().get("version"));
+        List<?> locales = (List<?>) update.getValue().getUpdateObject().get("$set", org.bson.Document.class).get("locales");
+        assertEquals(3, locales.size());
+        // A new translation needs no clean-up in other key documents.
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(TranslationKey.class));
+    }
+
+    @Test
+    void deleteAll_ShouldReturnRemovedEntriesAndDropEmptyDocuments() {
+        TranslationKey shared = KeyDocuments.newDocument("default", "greeting", List.of(
+                translation("1", "en", null), translation("2", "fr", null)));
+        shared.setId("shared");
+        TranslationKey single = KeyDocuments.newDocument("default", "farewell", List.of(translation("3", "en", null)));
+        single.setId("single");
+        when(mongoTemplate.find(any(Query.class), eq(TranslationKey.class))).thenReturn(List.of(shared, single));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.remove(any(Query.class), eq(TranslationKey.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        List<Translation> deleted = store.deleteAll(List.of(
+                translation("1", "en", null), translation("3", "en", null), translation("9", "en", null)));
+
+        assertEquals(List.of("1", "3"), deleted.stream().map(Translation::getId).toList());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(TranslationKey.class));
+        assertEquals(1, ((List<?>) update.getValue().getUpdateObject().get("$set", org.bson.Document.class).get("locales")).size());
+        ArgumentCaptor<Query> remove = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(remove.capture(), eq(TranslationKey.class));
+        assertEquals("single", remove.getValue().getQueryObject().get("_id"));
+    }
+
+    @Test
+    void deleteAll_ShouldKeepEntriesChangedSinceTheyWereRead() {
+        Translation read = translation("1", "en", null);
+        read.setRevision(1L);
+        Translation changed = translation("1", "en", null);
+        changed.setRevision(2L);
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(changed));
+        document.setId("doc");
+        when(mongoTemplate.find(any(Query.class), eq(TranslationKey.class))).thenReturn(List.of(document));
+
+        assertTrue(store.deleteAll(List.of(read)).isEmpty());
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(TranslationKey.class));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class));
+    }
+
+    @Test
+    void replace_ShouldRefuseAStaleRevision() {
+        Translation stored = translation("1", "en", null);
+        stored.setRevision(2L);
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(stored));
+        document.setId("doc");
+        when(mongoTemplate.findOne(any(Query.class), eq(TranslationKey.class))).thenReturn(document);
+
+        assertFalse(store.replace(translation("1", "en", null), 1L));
+
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class));
+    }
+
+    @Test
+    void replace_ShouldUpdateTheEntryOnlyIfTheDocumentIsUnchanged() {
+        Translation stored = translation("1", "en", null);
+        stored.setRevision(2L);
+        TranslationKey document = KeyDocuments.newDocument("default", "greeting", List.of(stored));
+        document.setId("doc");
+        when(mongoTemplate.findOne(any(Query.class), eq(TranslationKey.class))).thenReturn(document);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(TranslationKey.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Translation updated = translation("1", "en", null);
+        updated.setRevision(3L);
+
+        assertTrue(store.replace(updated, 2L));
+
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(filter.capture(), any(Update.class), eq(TranslationKey.class));
+        assertEquals(0L, ((Number) filter.getValue().getQueryObject().get("version")).longValue());
+    }
+
+    private static Translation translation(String id, String locale, Set<String> tags) {
+        return Translation.builder()
+                .id(id)
+                .projectId("default")
+                .key("greeting")
+                .locale(locale)
+                .content("text " + locale)
+                .tags(tags)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.repository.TranslationRepository;
+import com.mongodb.client.result.DeleteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DocumentPerLocaleStoreTest {
+
+    @Mock
+    private TranslationRepository repository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private DocumentPerLocaleStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new DocumentPerLocaleStore(repository, mongoTemplate);
+    }
+
+    @Test
+    void streamMatching_ShouldOnlyFilterOnGivenFields() {
+        store.streamMatching("default", "greeting", null, "en");
+
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(filter.capture(), eq(Translation.class));
+        assertEquals("en", filter.getValue().getQueryObject().get("locale"));
+        assertEquals("default", filter.getValue().getQueryObject().get("projectId"));
+        assertFalse(filter.getValue().getQueryObject().containsKey("tags"));
+    }
+
+    @Test
+    void streamMatching_ShouldEscapeKeyPrefixForIndexBounds() {
+        store.streamMatching("default", "menu.file(1)", null, null);
+
+        ArgumentCaptor<Query> filter = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(filter.capture(), eq(Translation.class));
+        Pattern key = (Pattern) filter.getValue().getQueryObject().get("key");
+        assertEquals("^menu\\.file\\(1\\)", key.pattern());
+    }
+
+    @Test
+    void deleteAll_ShouldDeleteWithOneDeleteMany() {
+        when(mongoTemplate.remove(any(Query.class), eq(Translation.class))).thenReturn(DeleteResult.acknowledged(2));
+
+        List<Translation> deleted = store.deleteAll(List.of(
+                Translation.builder().id("1").build(), Translation.builder().id("2").build()));
+
+        assertEquals(2, deleted.size());
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq(Translation.class));
+    }
+}
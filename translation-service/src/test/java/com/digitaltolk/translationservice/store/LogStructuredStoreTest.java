@@ -0,0 +1,183 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.config.StorageProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStructuredStoreTest extends TranslationStoreConformanceTest {
+
+    @TempDir
+    private Path directory;
+
+    @Override
+    protected TranslationStore createStore() {
+        return open();
+    }
+
+    @Override
+    protected void closeStore() throws Exception {
+        ((LogStructuredStore) store).close();
+    }
+
+    @Test
+    void open_ShouldRebuildTheIndexFromTheLog() throws Exception {
+        Translation kept = store.save(translation("default", "a", "en", "A", Set.of("home")));
+        Translation deleted = store.save(translation("default", "b", "en", "B", null));
+        kept.setContent("A2");
+        store.save(kept);
+        store.deleteAll(List.of(deleted));
+
+        reopen();
+
+        assertEquals(Set.of("A2"), contents(store.findByProject("default")));
+        assertEquals(Set.of("A2"), contents(store.findByTags("default", List.of("home"))));
+        assertTrue(store.findById("default", deleted.getId()).isEmpty());
+    }
+
+    @Test
+    void open_ShouldCutOffATornRecordAtTheEndOfTheLog() throws Exception {
+        store.save(translation("default", "a", "en", "A", null));
+        closeStore();
+        Path segment = segments().getLast();
+        // A crash after writing the header of a 100-byte record but only part of its payload.
+        Files.write(segment, new byte[]{0, 0, 0, 100, 1, 2, 3, 4, 1, 'x', 'y'}, StandardOpenOption.APPEND);
+        long tornSize = Files.size(segment);
+
+        store = open();
+
+        assertEquals(Set.of("A"), contents(store.findByProject("default")));
+        assertEquals(tornSize - 11, Files.size(segment));
+        store.save(translation("default", "b", "en", "B", null));
+        reopen();
+        assertEquals(Set.of("A", "B"), contents(store.findByProject("default")));
+    }
+
+    @Test
+    void replace_ShouldLetOnlyOneOfConcurrentWritersOfARevisionWin() throws Exception {
+        Translation saved = store.save(translation("default", "a", "en", "A", null));
+        int writers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            for (int i = 0; i < writers; i++) {
+                Translation update = saved.toBuilder().content("A" + i).revision(2L).build();
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.replace(update, 1L);
+                }));
+            }
+            start.countDown();
+            int won = 0;
+            for (Future<Boolean> result : results) {
+                won += result.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, won);
+        }
+        reopen();
+        assertEquals(2L, store.findById("default", saved.getId()).orElseThrow().getRevision());
+    }
+
+    @Test
+    void open_ShouldRefuseADirectoryThatIsAlreadyOpen() {
+        assertThrows(IllegalStateException.class, this::open);
+    }
+
+    @Test
+    void compact_ShouldDropOverwrittenAndDeletedRecordsAndKeepTheRest() throws Exception {
+        LogStructuredStore logStore = (LogStructuredStore) store;
+        Translation updated = store.save(translation("default", "a", "en", "v0", null));
+        for (int i = 1; i <= 20; i++) {
+            updated.setContent("v" + i);
+            store.save(updated);
+        }
+        Translation deleted = store.save(translation("default", "b", "en", "B", null));
+        store.deleteAll(List.of(deleted));
+        Translation untouched = store.save(translation("mobile", "c", "fr", "C", Set.of("nav")));
+        assertTrue(logStore.garbageRatio() > 0.9);
+        long before = totalSize();
+
+        logStore.compact();
+
+        assertEquals(0, logStore.garbageRatio(), 0.0001);
+        assertTrue(totalSize() < before / 5);
+        assertEquals(Set.of("v20"), contents(store.findByProject("default")));
+        assertEquals("C", store.findById("mobile", untouched.getId()).orElseThrow().getContent());
+
+        store.save(translation("default", "d", "en", "D", null));
+        reopen();
+        assertEquals(Set.of("v20", "D"), contents(store.findByProject("default")));
+        assertEquals(Set.of("C"), contents(store.findByTags("mobile", List.of("nav"))));
+        try (Stream<Translation> all = store.streamAll()) {
+            assertEquals(3, all.count());
+        }
+    }
+
+    @Test
+    void open_ShouldIgnoreSegmentsSupersededByACompactedOne() throws Exception {
+        Translation deleted = store.save(translation("default", "a", "en", "A", null));
+        store.deleteAll(List.of(deleted));
+        store.save(translation("default", "b", "en", "B", null));
+        byte[] log = Files.readAllBytes(segments().getFirst());
+        int firstRecordEnd = LogStructuredStore.SEGMENT_HEADER + LogStructuredStore.RECORD_HEADER
+                + ByteBuffer.wrap(log, LogStructuredStore.SEGMENT_HEADER, 4).getInt();
+        ((LogStructuredStore) store).compact();
+        closeStore();
+        // A crash after the compacted segment was renamed but before an older segment, here one holding only the
+        // put of "a", was deleted. Replaying it would bring "a" back.
+        Path older = directory.resolve("segment-0000000000.log");
+        Files.write(older, Arrays.copyOf(log, firstRecordEnd));
+
+        store = open();
+
+        assertEquals(Set.of("B"), contents(store.findByProject("default")));
+        assertFalse(Files.exists(older));
+    }
+
+    private LogStructuredStore open() {
+        StorageProperties properties = new StorageProperties();
+        properties.getEmbedded().setDirectory(directory);
+        return new LogStructuredStore(properties, new GroupCommitProperties(), new Jackson2ObjectMapperBuilder(),
+                new SimpleMeterRegistry());
+    }
+
+    private void reopen() throws Exception {
+        closeStore();
+        store = open();
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private long totalSize() throws Exception {
+        long size = 0;
+        for (Path segment : segments()) {
+            size += Files.size(segment);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,70 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.config.GroupCommitProperties;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.model.TranslationKey;
+import com.digitaltolk.translationservice.repository.TranslationRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.util.TypeInformation;
+
+/**
+ * Runs the conformance suite against both MongoDB layouts. Needs a disposable database, e.g.
+ * {@code MONGODB_URI=mongodb://localhost:27017/translation_store_test}; its translation collections are dropped.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+class MongoStoreConformanceTest {
+
+    private static MongoTemplate emptyDatabase(SimpleMongoClientDatabaseFactory factory) {
+        MongoTemplate mongoTemplate = new MongoTemplate(factory);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (Class<?> type : new Class<?>[]{Translation.class, TranslationKey.class}) {
+            mongoTemplate.dropCollection(type);
+            mappingContext.getPersistentEntity(type);
+            resolver.resolveIndexFor(TypeInformation.of(type)).forEach(mongoTemplate.indexOps(type)::createIndex);
+        }
+        return mongoTemplate;
+    }
+
+    @Nested
+    class DocumentPerLocale extends TranslationStoreConformanceTest {
+
+        private SimpleMongoClientDatabaseFactory factory;
+
+        @Override
+        protected TranslationStore createStore() {
+            factory = new SimpleMongoClientDatabaseFactory(System.getenv("MONGODB_URI"));
+            MongoTemplate mongoTemplate = emptyDatabase(factory);
+            return new DocumentPerLocaleStore(
+                    new MongoRepositoryFactory(mongoTemplate).getRepository(TranslationRepository.class), mongoTemplate);
+        }
+
+        @Override
+        protected void closeStore() throws Exception {
+            factory.destroy();
+        }
+    }
+
+    @Nested
+    class DocumentPerKey extends TranslationStoreConformanceTest {
+
+        private SimpleMongoClientDatabaseFactory factory;
+
+        @Override
+        protected TranslationStore createStore() {
+            factory = new SimpleMongoClientDatabaseFactory(System.getenv("MONGODB_URI"));
+            return new DocumentPerKeyStore(emptyDatabase(factory), new GroupCommitProperties());
+        }
+
+        @Override
+        protected void closeStore() throws Exception {
+            factory.destroy();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.digitaltolk.translationservice.store;
+
+import com.digitaltolk.translationservice.model.Translation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The behavior every {@link TranslationStore} must have. Each implementation runs it through a subclass.
+ */
+abstract class TranslationStoreConformanceTest {
+
+    protected static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    protected TranslationStore store;
+
+    /**
+     * An empty store.
+     */
+    protected abstract TranslationStore createStore() throws Exception;
+
+    protected void closeStore() throws Exception {
+    }
+
+    @BeforeEach
+    void createEmptyStore() throws Exception {
+        store = createStore();
+    }
+
+    @AfterEach
+    void closeEmptyStore() throws Exception {
+        closeStore();
+    }
+
+    @Test
+    void save_ShouldAssignAnIdAndOnlyFindItInItsProject() {
+        Translation saved = store.save(translation("default", "greeting", "en", "Hello", Set.of("home")));
+
+        assertNotNull(saved.getId());
+        Translation found = store.findById("default", saved.getId()).orElseThrow();
+        assertEquals("greeting", found.getKey());
+        assertEquals("en", found.getLocale());
+        assertEquals("Hello", found.getContent());
+        assertEquals(Set.of("home"), found.getTags());
+        assertEquals(T0, found.getUpdatedAt());
+        assertTrue(store.findById("mobile", saved.getId()).isEmpty());
+        assertTrue(store.findByProject("mobile").isEmpty());
+    }
+
+    @Test
+    void save_ShouldReplaceTheTranslationWithTheSameId() {
+        Translation saved = store.save(translation("default", "greeting", "en", "Hello", Set.of("home")));
+        store.save(translation("default", "greeting", "fr", "Bonjour", Set.of("home")));
+
+        saved.setKey("welcome");
+        saved.setLocale("de");
+        saved.setContent("Hallo");
+        saved.setTags(Set.of("legal"));
+        saved.setUpdatedAt(T0.plusMinutes(1));
+        store.save(saved);
+
+        assertEquals("Hallo", store.findById("default", saved.getId()).orElseThrow().getContent());
+        assertEquals(Set.of("Bonjour", "Hallo"), contents(store.findByProject("default")));
+        assertTrue(store.findByLocale("default", "en").isEmpty());
+        assertEquals(Set.of("Hallo"), contents(store.findByKeyContaining("default", "welcome")));
+        assertEquals(Set.of("Bonjour"), contents(store.findByKeyContaining("default", "greeting")));
+        assertEquals(Set.of("Hallo"), contents(store.findByTags("default", List.of("legal"))));
+    }
+
+    @Test
+    void insert_ShouldAssignAnIdAndRefuseOneThatIsTaken() {
+        Translation inserted = store.insert(translation("default", "greeting", "en", "Hello", null));
+        assertNotNull(inserted.getId());
+
+        Translation foreign = translation("mobile", "welcome", "fr", "Bienvenue", null);
+        foreign.setId(inserted.getId());
+        assertThrows(DuplicateKeyException.class, () -> store.insert(foreign));
+
+        Translation stored = store.findById("default", inserted.getId()).orElseThrow();
+        assertEquals("Hello", stored.getContent());
+        assertTrue(store.findByProject("mobile").isEmpty());
+    }
+
+    @Test
+    void findByKeyAndContentContaining_ShouldIgnoreCaseAndTakeInputLiterally() {
+        store.saveAll(List.of(
+                translation("default", "checkout.Discount", "en", "50% off (today)", null),
+                translation("default", "checkout.total", "en", "Total", null),
+                translation("mobile", "checkout.discount", "en", "50% OFF (TODAY)", null)));
+
+        assertEquals(Set.of("50% off (today)"), contents(store.findByKeyContaining("default", "DISCOUNT")));
+        assertEquals(Set.of("50% off (today)"), contents(store.findByContentContaining("default", "% OFF (")));
+        assertTrue(store.findByContentContaining("default", ".*").isEmpty());
+    }
+
+    @Test
+    void findByTags_ShouldMatchAnyOfTheTags() {
+        store.saveAll(List.of(
+                translation("default", "a", "en", "A", Set.of("home", "nav")),
+                translation("default", "a", "fr", "A-fr", Set.of("home")),
+                translation("default", "b", "en", "B", Set.of("legal")),
+                translation("default", "c", "en", "C", null)));
+
+        assertEquals(Set.of("A", "A-fr", "B"), contents(store.findByTags("default", List.of("nav", "home", "legal"))));
+        assertEquals(Set.of("A"), contents(store.findByTags("default", List.of("nav"))));
+        assertTrue(store.findByTags("default", List.of("missing")).isEmpty());
+    }
+
+    @Test
+    void findByLocales_ShouldReturnOnlyTheRequestedLocalesAndKeys() {
+        store.saveAll(List.of(
+                translation("default", "a", "en", "A", null),
+                translation("default", "a", "fr", "A-fr", null),
+                translation("default", "a", "de", "A-de", null),
+                translation("default", "b", "fr", "B-fr", null),
+                translation("mobile", "a", "fr", "mobile A-fr", null)));
+
+        assertEquals(Set.of("A-fr", "B-fr"), contents(store.findByLocale("default", "fr")));
+        assertEquals(Set.of("A", "A-fr", "B-fr"), contents(store.findByLocales("default", List.of("fr", "en"))));
+        assertEquals(Set.of("A", "A-fr"), contents(store.findByLocalesAndKeys("default", List.of("fr", "en"), List.of("a", "z"))));
+    }
+
+    @Test
+    void streamMatching_ShouldApplyEveryGivenFilter() {
+        store.saveAll(List.of(
+                translation("default", "menu.file", "en", "File", Set.of("nav")),
+                translation("default", "menu.file", "fr", "Fichier", Set.of("nav")),
+                translation("default", "menu.edit", "en", "Edit", Set.of("toolbar")),
+                translation("default", "menus", "en", "Menus", Set.of("nav")),
+                translation("default", "footer", "en", "Footer", Set.of("nav"))));
+
+        assertEquals(Set.of("File", "Fichier", "Edit"), matching("default", "menu.", null, null));
+        assertEquals(Set.of("File"), matching("default", "menu.", "nav", "en"));
+        assertEquals(Set.of("File", "Fichier", "Menus", "Footer"), matching("default", null, "nav", null));
+        assertTrue(matching("mobile", null, "nav", null).isEmpty());
+        // The prefix is literal: "." does not match "s".
+        assertTrue(matching("default", "menu.*", null, null).isEmpty());
+    }
+
+    private Set<String> matching(String projectId, String keyPrefix, String tag, String locale) {
+        try (Stream<Translation> matching = store.streamMatching(projectId, keyPrefix, tag, locale)) {
+            return contents(matching.toList());
+        }
+    }
+
+    @Test
+    void findAllById_ShouldSpanProjectsAndSkipUnknownIds() {
+        Translation first = store.save(translation("default", "a", "en", "A", null));
+        Translation second = store.save(translation("mobile", "a", "en", "mobile A", null));
+
+        assertEquals(Set.of("A", "mobile A"),
+                contents(store.findAllById(List.of(first.getId(), second.getId(), "000000000000000000000000"))));
+    }
+
+    @Test
+    void saveAll_ShouldInsertNewAndReplaceExistingTranslations() {
+        Translation existing = store.save(translation("default", "a", "en", "A", null));
+        existing.setContent("A2");
+
+        store.saveAll(List.of(existing, translation("default", "b", "en", "B", null)));
+
+        assertEquals(Set.of("A2", "B"), contents(store.findByProject("default")));
+    }
+
+    @Test
+    void deleteAll_ShouldDeleteExactlyTheGivenTranslationsAndReturnThoseThatExisted() {
+        Translation a = store.save(translation("default", "a", "en", "A", null));
+        Translation aFr = store.save(translation("default", "a", "fr", "A-fr", null));
+        store.save(translation("default", "b", "en", "B", null));
+
+        assertEquals(Set.of("A", "A-fr"), contents(store.deleteAll(List.of(a, aFr))));
+        assertTrue(store.deleteAll(List.of(a)).isEmpty());
+
+        assertEquals(Set.of("B"), contents(store.findByProject("default")));
+        assertTrue(store.findById("default", a.getId()).isEmpty());
+        assertTrue(store.findByKeyContaining("default", "a").isEmpty());
+    }
+
+    @Test
+    void deleteAll_ShouldKeepTranslationsChangedSinceTheyWereRead() {
+        Translation read = store.save(translation("default", "a", "en", "A", null));
+        store.save(read.toBuilder().content("A2").revision(2L).build());
+
+        assertTrue(store.deleteAll(List.of(read)).isEmpty());
+
+        assertEquals("A2", store.findById("default", read.getId()).orElseThrow().getContent());
+    }
+
+    @Test
+    void replace_ShouldOnlyReplaceTheRevisionThatWasRead() {
+        Translation saved = store.save(translation("default", "a", "en", "A", null));
+
+        assertTrue(store.replace(saved.toBuilder().content("A2").revision(2L).build(), 1L));
+        assertFalse(store.replace(saved.toBuilder().content("A3").revision(2L).build(), 1L));
+
+        Translation found = store.findById("default", saved.getId()).orElseThrow();
+        assertEquals("A2", found.getContent());
+        assertEquals(2L, found.getRevision());
+    }
+
+    @Test
+    void replace_ShouldMoveARenamedKeyAndRefuseADeletedTranslation() {
+        Translation saved = store.save(translation("default", "a", "en", "A", null));
+
+        assertTrue(store.replace(saved.toBuilder().key("b").revision(2L).build(), 1L));
+        assertEquals(List.of("b"), store.findByProject("default").stream().map(Translation::getKey).toList());
+
+        store.deleteAll(List.of(store.findById("default", saved.getId()).orElseThrow()));
+        assertFalse(store.replace(saved.toBuilder().content("A3").revision(3L).build(), 2L));
+        assertTrue(store.findByProject("default").isEmpty());
+    }
+
+    @Test
+    void streams_ShouldReadAllAndRecentTranslations() {
+        store.saveAll(List.of(
+                translation("default", "old", "en", "Old", null),
+                translation("mobile", "other", "en", "Other", null)));
+        Translation recent = translation("default", "new", "en", "New", null);
+        recent.setUpdatedAt(T0.plusHours(1));
+        store.save(recent);
+
+        try (Stream<Translation> all = store.streamAll()) {
+            assertEquals(Set.of("Old", "Other", "New"), contents(all.toList()));
+        }
+        try (Stream<Translation> updated = store.streamUpdatedSince("default", T0.plusMinutes(30))) {
+            assertEquals(Set.of("New"), contents(updated.toList()));
+        }
+    }
+
+    @Test
+    void streamByLocales_ShouldReturnTheLocalesOfEachKeyTogetherInKeyOrder() {
+        store.saveAll(List.of(
+                translation("default", "b", "fr", "B-fr", null),
+                translation("default", "a", "de", "A-de", null),
+                translation("default", "c", "en", "C", null),
+                translation("default", "a", "fr", "A-fr", null),
+                translation("default", "b", "en", "B", null),
+                translation("default", "a", "en", "A", null),
+                translation("mobile", "a", "en", "mobile A", null)));
+
+        List<Translation> streamed;
+        try (Stream<Translation> translations = store.streamByLocales("default", List.of("en", "fr"))) {
+            streamed = translations.toList();
+        }
+
+        assertEquals(List.of("a", "a", "b", "b", "c"), streamed.stream().map(Translation::getKey).toList());
+        assertEquals(Set.of("A", "A-fr", "B", "B-fr", "C"), contents(streamed));
+    }
+
+    protected static Translation translation(String project, String key, String locale, String content, Set<String> tags) {
+        return Translation.builder()
+                .projectId(project)
+                .key(key)
+                .locale(locale)
+                .content(content)
+                .tags(tags)
+                .createdAt(T0)
+                .updatedAt(T0)
+                .revision(1L)
+                .build();
+    }
+
+    protected static Set<String> contents(Collection<Translation> translations) {
+        return translations.stream().map(Translation::getContent).collect(Collectors.toSet());
+    }
+}
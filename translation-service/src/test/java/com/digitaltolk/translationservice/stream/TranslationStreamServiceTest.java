@@ -0,0 +1,138 @@
+package com.digitaltolk.translationservice.stream;
+
+import com.digitaltolk.translationservice.config.StreamProperties;
+import com.digitaltolk.translationservice.dto.TranslationDto;
+import com.digitaltolk.translationservice.event.CacheInvalidationEvent;
+import com.digitaltolk.translationservice.event.TranslationChangedEvent;
+import com.digitaltolk.translationservice.model.Translation;
+import com.digitaltolk.translationservice.store.TranslationStore;
+import com.digitaltolk.translationservice.util.ModelMapperWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class TranslationStreamServiceTest {
+
+    @Mock
+    private TranslationStore store;
+
+    @Mock
+    private ModelMapperWrapper mapper;
+
+    private StreamProperties properties;
+    private TranslationStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mapper.map(any(Translation.class), eq(TranslationDto.class))).thenAnswer(invocation -> {
+            Translation translation = invocation.getArgument(0);
+            TranslationDto dto = new TranslationDto();
+            dto.setId(translation.getId());
+            dto.setLocale(translation.getLocale());
+            return dto;
+        });
+        properties = new StreamProperties();
+        properties.setSubscriberBuffer(4);
+        properties.setReplaySize(8);
+        service = new TranslationStreamService(store, mapper, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldReachSubscribersOfTheLocaleOnly() {
+        TranslationStreamService.Subscriber english = service.open("default", List.of("en"), null);
+        TranslationStreamService.Subscriber french = service.open("default", List.of("fr"), null);
+        TranslationStreamService.Subscriber otherProject = service.open("mobile", List.of(), null);
+
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("1", "en")));
+
+        assertEquals(TranslationStreamService.UPSERT, english.queue.poll().name());
+        assertTrue(french.queue.isEmpty());
+        assertTrue(otherProject.queue.isEmpty());
+    }
+
+    @Test
+    void onTranslationChanged_ShouldTellOldLocaleAboutMoves() {
+        TranslationStreamService.Subscriber english = service.open("default", List.of("en"), null);
+
+        service.onTranslationChanged(TranslationChangedEvent.of(translation("1", "en"), translation("1", "fr")));
+
+        TranslationDto moved = (TranslationDto) english.queue.poll().data();
+        assertEquals("fr", moved.getLocale());
+    }
+
+    @Test
+    void open_ShouldReplayEventsAfterLastEventId() {
+        TranslationStreamService.Subscriber first = service.open("default", List.of(), null);
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("1", "en")));
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("2", "en")));
+        service.onTranslationChanged(TranslationChangedEvent.of(translation("1", "en"), null));
+
+        String lastSeen = service.eventId(first.queue.poll());
+        TranslationStreamService.Subscriber resumed = service.open("default", List.of(), lastSeen);
+
+        assertEquals(List.of(TranslationStreamService.UPSERT, TranslationStreamService.DELETE),
+                resumed.queue.stream().map(TranslationStreamService.StreamEvent::name).toList());
+    }
+
+    @Test
+    void open_ShouldResetWhenPositionIsUnknownOrEvicted() {
+        TranslationStreamService.Subscriber first = service.open("default", List.of(), null);
+        service.onTranslationChanged(TranslationChangedEvent.of(null, translation("0", "en")));
+        String evicted = service.eventId(first.queue.poll());
+        for (int i = 1; i <= 10; i++) {
+            service.publish(TranslationStreamService.UPSERT, "mobile", Set.of("en"), "padding");
+        }
+
+        assertEquals(TranslationStreamService.RESET, service.open("default", List.of(), evicted).queue.poll().name());
+        assertEquals(TranslationStreamService.RESET, service.open("default", List.of(), "other-node:3").queue.poll().name());
+    }
+
+    @Test
+    void publish_ShouldDropSubscribersWhoseBufferIsFull() {
+        TranslationStreamService.Subscriber slow = service.open("default", List.of(), null);
+        TranslationStreamService.Subscriber fast = service.open("default", List.of(), null);
+
+        for (int i = 0; i < 5; i++) {
+            service.publish(TranslationStreamService.UPSERT, "default", Set.of("en"), "change " + i);
+            fast.queue.poll();
+        }
+
+        assertTrue(slow.closed);
+        assertFalse(fast.closed);
+        service.publish(TranslationStreamService.UPSERT, "default", Set.of("en"), "after drop");
+        assertEquals(4, slow.queue.size());
+        assertEquals(1, fast.queue.size());
+    }
+
+    @Test
+    void onInvalidation_ShouldLoadRemoteChangesForSubscribers() {
+        TranslationStreamService.Subscriber subscriber = service.open("default", List.of("en"), null);
+        when(store.findAllById(Set.of("1", "2"))).thenReturn(List.of(translation("1", "en")));
+
+        service.onInvalidation(new CacheInvalidationEvent(Set.of("default"), Set.of("1", "2"), Set.of("en"),
+                Set.of("greeting"), false, true));
+
+        assertEquals(Set.of(TranslationStreamService.UPSERT, TranslationStreamService.DELETE),
+                Set.of(subscriber.queue.poll().name(), subscriber.queue.poll().name()));
+    }
+
+    private static Translation translation(String id, String locale) {
+        Translation translation = new Translation();
+        translation.setId(id);
+        translation.setProjectId("default");
+        translation.setKey("greeting");
+        translation.setLocale(locale);
+        return translation;
+    }
+}